@@ -1,6 +1,10 @@
 package com.example.epicquestcardcollection;
 
 import android.app.Application;
+
+import com.example.epicquestcardcollection.data.local.InMemoryUserStore;
+import com.example.epicquestcardcollection.data.remote.HeroCatalogSync;
+import com.example.epicquestcardcollection.utils.AppExecutors;
 import com.google.firebase.FirebaseApp;
 
 public class MyApplication extends Application {
@@ -9,5 +13,16 @@ public class MyApplication extends Application {
         super.onCreate();
         // Inicializar Firebase
         FirebaseApp.initializeApp(this);
+        // Cargar el catálogo de héroes de disco y descargar (o reanudar) lo que falta
+        // para tiradas sin red; todo en diskIO, start() es quien lee el archivo
+        AppExecutors.getInstance().diskIO().execute(() -> HeroCatalogSync.getInstance(this).start());
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // Incluye TRIM_MEMORY_UI_HIDDEN (la app pasa a segundo plano):
+        // escribir los usuarios pendientes antes de que el proceso pueda morir
+        InMemoryUserStore.flushNowIfCreated();
     }
-}
\ No newline at end of file
+}
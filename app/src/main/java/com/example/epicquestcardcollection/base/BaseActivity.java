@@ -16,6 +16,10 @@ import com.example.epicquestcardcollection.utils.PermissionManager;
 
 import org.jspecify.annotations.NonNull;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
 /**
  * Clase base abstracta para todas las Activities de la aplicación.
  * Proporciona funcionalidades comunes y métodos helper para simplificar
@@ -23,6 +27,8 @@ import org.jspecify.annotations.NonNull;
  */
 public abstract class BaseActivity extends AppCompatActivity {
 
+    private final List<Future<?>> pendingRequests = new ArrayList<>();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -31,6 +37,25 @@ public abstract class BaseActivity extends AppCompatActivity {
         setupListeners();
     }
 
+    @Override
+    protected void onDestroy() {
+        // Evita que los callbacks asíncronos lleguen a una Activity destruida
+        for (Future<?> request : pendingRequests) {
+            request.cancel(false);
+        }
+        pendingRequests.clear();
+        super.onDestroy();
+    }
+
+    /**
+     * Registra una operación asíncrona para cancelarla al destruir la Activity
+     * @param request Future devuelto por el repositorio asíncrono
+     */
+    protected void trackRequest(Future<?> request) {
+        pendingRequests.removeIf(Future::isDone);
+        pendingRequests.add(request);
+    }
+
     /**
      * @return El resource ID del layout para esta Activity
      */
@@ -0,0 +1,489 @@
+package com.example.epicquestcardcollection.data.local;
+
+import android.util.Log;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.HeroCatalog;
+import com.example.epicquestcardcollection.model.OwnedCard;
+import com.example.epicquestcardcollection.model.PackedPowerStats;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.Rarity;
+import com.example.epicquestcardcollection.model.User;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codec binario versionado para HeroCard, PowerStats y User.
+ *
+ * Formato de cada registro:
+ * [MAGIC][VERSION][tipo][tabla de strings][cuerpo]
+ * - Los enteros se escriben como varints (zigzag para valores con signo).
+ * - La rareza se guarda como ordinal de {@link Rarity} en lugar de texto.
+ * - Cada string distinto se escribe una sola vez en la tabla y el cuerpo lo
+ *   referencia por índice, así los héroes repetidos, las editoriales y los
+ *   prefijos de URL de imágenes no se duplican.
+ * - Versión 2: la colección del usuario guarda una entrada por héroe con su
+ *   número de copias y la última fecha de obtención. Los registros de la
+ *   versión 1 (una carta por obtención) se siguen leyendo y se agrupan.
+ * - Versión 3: las estadísticas de poder se guardan como un solo varint con la
+ *   forma compacta de {@link PackedPowerStats} en lugar de seis varints.
+ * - Versión 4: la colección del usuario guarda solo el id de cada héroe, sus
+ *   fechas y su número de copias; los datos del héroe se resuelven en
+ *   {@link HeroCatalog}, que se guarda aparte. Un héroe sin id se escribe completo.
+ *   El catálogo se recibe en {@link #userCodec}; un héroe que falte en él queda
+ *   como entrada provisional (ver HeroCatalog.placeholder) hasta volver a descargarse.
+ */
+public final class BinaryModelCodec {
+
+    private static final String TAG = "BinaryModelCodec";
+
+    /** Primer byte de todo registro binario; un JSON siempre empieza con '{' */
+    public static final byte MAGIC = (byte) 0xEC;
+    public static final byte VERSION = 4;
+    private static final byte VERSION_CARD_LIST = 1;
+    private static final byte VERSION_SEPARATE_STATS = 2;
+    private static final byte VERSION_INLINE_CARDS = 3;
+
+    private static final byte TYPE_POWER_STATS = 1;
+    private static final byte TYPE_HERO_CARD = 2;
+    private static final byte TYPE_USER = 3;
+
+    /** La rareza se guarda como ordinal + 1 de Rarity; 0 es null y el siguiente es un texto libre */
+    private static final int RARITY_NULL = 0;
+    private static final int RARITY_CUSTOM = Rarity.count() + 1;
+
+    public static final ObjectCodec<PowerStats> POWER_STATS = new ObjectCodec<PowerStats>() {
+        @Override
+        public byte[] encode(PowerStats value) {
+            Writer writer = new Writer();
+            writePackedStats(writer, PackedPowerStats.fromStats(value));
+            return writer.toRecord(TYPE_POWER_STATS);
+        }
+
+        @Override
+        public PowerStats decode(byte[] data) throws IOException {
+            return PackedPowerStats.toStats(readPackedStats(Reader.open(data, TYPE_POWER_STATS)));
+        }
+    };
+
+    public static final ObjectCodec<HeroCard> HERO_CARD = new ObjectCodec<HeroCard>() {
+        @Override
+        public byte[] encode(HeroCard value) {
+            Writer writer = new Writer();
+            writeHeroCard(writer, value, 0);
+            return writer.toRecord(TYPE_HERO_CARD);
+        }
+
+        @Override
+        public HeroCard decode(byte[] data) throws IOException {
+            return readHeroCard(Reader.open(data, TYPE_HERO_CARD), 0);
+        }
+    };
+
+    /**
+     * Codec de usuarios que resuelve los héroes de la colección en el catálogo dado
+     * (y agrega a él los héroes de los registros anteriores a la versión 4)
+     */
+    public static ObjectCodec<User> userCodec(HeroCatalog catalog) {
+        return new ObjectCodec<User>() {
+            @Override
+            public byte[] encode(User value) {
+                Writer writer = new Writer();
+                writeUser(writer, value);
+                return writer.toRecord(TYPE_USER);
+            }
+
+            @Override
+            public User decode(byte[] data) throws IOException {
+                return readUser(Reader.open(data, TYPE_USER), catalog);
+            }
+        };
+    }
+
+    private BinaryModelCodec() {
+        // Clase no instanciable
+    }
+
+    /**
+     * Indica si los bytes corresponden a un registro de este codec
+     */
+    public static boolean isBinaryRecord(byte[] data) {
+        return data != null && data.length > 1 && data[0] == MAGIC;
+    }
+
+    // ==================== ESCRITURA DEL MODELO ====================
+
+    private static void writePackedStats(Writer writer, long packed) {
+        writer.writeVarLong(PackedPowerStats.toCompact(packed));
+    }
+
+    /**
+     * @param previousObtainedAt Marca de la carta anterior; se guarda solo la diferencia
+     */
+    private static void writeHeroCard(Writer writer, HeroCard card, long previousObtainedAt) {
+        writer.writeString(card.getId());
+        writer.writeString(card.getName());
+        writer.writeString(card.getBiography());
+        writeImageUrl(writer, card.getImageUrl());
+        writePackedStats(writer, card.getPackedStats());
+        writeRarity(writer, card);
+        writer.writeSignedVarInt(card.getTotalPower());
+        writer.writeSignedVarLong(card.getObtainedAt() - previousObtainedAt);
+    }
+
+    /**
+     * Divide la URL en directorio y archivo para que el directorio común se comparta
+     */
+    private static void writeImageUrl(Writer writer, String imageUrl) {
+        int split = imageUrl != null ? imageUrl.lastIndexOf('/') + 1 : 0;
+        writer.writeString(imageUrl != null ? imageUrl.substring(0, split) : null);
+        writer.writeString(imageUrl != null ? imageUrl.substring(split) : null);
+    }
+
+    private static void writeRarity(Writer writer, HeroCard card) {
+        Rarity rarity = card.getRarityLevel();
+        if (rarity != null) {
+            writer.writeVarInt(rarity.ordinal() + 1);
+        } else if (card.getRarity() == null) {
+            writer.writeVarInt(RARITY_NULL);
+        } else {
+            writer.writeVarInt(RARITY_CUSTOM);
+            writer.writeString(card.getRarity());
+        }
+    }
+
+    private static void writeUser(Writer writer, User user) {
+        writer.writeString(user.getUsername());
+        writer.writeString(user.getPassword());
+        writer.writeString(user.getEmail());
+        writer.writeSignedVarInt(user.getDailyOpportunities());
+        writer.writeSignedVarLong(user.getLastCardTime());
+        writer.writeSignedVarInt(user.getPlayerLevel());
+        writer.writeSignedVarLong(user.getCreatedAt());
+
+        List<String> achievements = user.getAchievements();
+        writer.writeVarInt(achievements != null ? achievements.size() : 0);
+        if (achievements != null) {
+            for (String achievement : achievements) {
+                writer.writeString(achievement);
+            }
+        }
+
+        List<OwnedCard> ownedCards = user.getOwnedCards();
+        writer.writeVarInt(ownedCards.size());
+        long previousObtainedAt = 0;
+        for (OwnedCard owned : ownedCards) {
+            // Referencia al catálogo; sin id no hay entrada compartida y va completo
+            writer.writeString(owned.getHeroId());
+            if (owned.getHeroId() == null) {
+                writeHeroCard(writer, owned.getHero(), 0);
+            }
+            writer.writeSignedVarLong(owned.getFirstObtainedAt() - previousObtainedAt);
+            writer.writeVarInt(owned.getCount());
+            writer.writeSignedVarLong(owned.getLastObtainedAt() - owned.getFirstObtainedAt());
+            previousObtainedAt = owned.getFirstObtainedAt();
+        }
+    }
+
+    // ==================== LECTURA DEL MODELO ====================
+
+    private static long readPackedStats(Reader reader) throws IOException {
+        if (reader.version <= VERSION_SEPARATE_STATS) {
+            // Versiones 1 y 2: marca de presencia y seis varints
+            if (!reader.readBoolean()) return PackedPowerStats.NONE;
+            return PackedPowerStats.pack(
+                    reader.readSignedVarInt(),
+                    reader.readSignedVarInt(),
+                    reader.readSignedVarInt(),
+                    reader.readSignedVarInt(),
+                    reader.readSignedVarInt(),
+                    reader.readSignedVarInt());
+        }
+        try {
+            return PackedPowerStats.fromCompact(reader.readVarLong());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static HeroCard readHeroCard(Reader reader, long previousObtainedAt) throws IOException {
+        HeroCard card = new HeroCard();
+        card.setId(reader.readString());
+        card.setName(reader.readString());
+        card.setBiography(reader.readString());
+        card.setImageUrl(readImageUrl(reader));
+        card.setPackedStats(readPackedStats(reader));
+        readRarity(reader, card);
+        card.setTotalPower(reader.readSignedVarInt());
+        card.setObtainedAt(previousObtainedAt + reader.readSignedVarLong());
+        return card;
+    }
+
+    private static String readImageUrl(Reader reader) throws IOException {
+        String directory = reader.readString();
+        String file = reader.readString();
+        return directory != null ? directory + file : null;
+    }
+
+    private static void readRarity(Reader reader, HeroCard card) throws IOException {
+        int ordinal = reader.readVarInt();
+        if (ordinal == RARITY_NULL) {
+            card.setRarityLevel(null);
+        } else if (ordinal == RARITY_CUSTOM) {
+            card.setRarity(reader.readString());
+        } else if (ordinal > Rarity.count()) {
+            throw new IOException("Rareza desconocida: " + ordinal);
+        } else {
+            card.setRarityLevel(Rarity.fromOrdinal(ordinal - 1));
+        }
+    }
+
+    private static User readUser(Reader reader, HeroCatalog catalog) throws IOException {
+        User user = new User();
+        user.setUsername(reader.readString());
+        user.setPassword(reader.readString());
+        user.setEmail(reader.readString());
+        user.setDailyOpportunities(reader.readSignedVarInt());
+        user.setLastCardTime(reader.readSignedVarLong());
+        user.setPlayerLevel(reader.readSignedVarInt());
+        user.setCreatedAt(reader.readSignedVarLong());
+
+        int achievementCount = reader.readCount();
+        List<String> achievements = new ArrayList<>(achievementCount);
+        for (int i = 0; i < achievementCount; i++) {
+            achievements.add(reader.readString());
+        }
+        user.setAchievements(achievements);
+
+        int cardCount = reader.readCount();
+        long previousObtainedAt = 0;
+        List<OwnedCard> ownedCards = new ArrayList<>(cardCount);
+        if (reader.version == VERSION_CARD_LIST) {
+            // Versión 1: una carta por obtención; setOwnedCards agrupa las repetidas
+            for (int i = 0; i < cardCount; i++) {
+                HeroCard card = readHeroCard(reader, previousObtainedAt);
+                previousObtainedAt = card.getObtainedAt();
+                ownedCards.add(new OwnedCard(catalog.intern(card), card.getObtainedAt(), card.getObtainedAt(), 1));
+            }
+            user.setOwnedCards(ownedCards);
+            return user;
+        }
+
+        if (reader.version <= VERSION_INLINE_CARDS) {
+            // Versiones 2 y 3: cada entrada lleva la carta completa
+            for (int i = 0; i < cardCount; i++) {
+                HeroCard card = readHeroCard(reader, previousObtainedAt);
+                previousObtainedAt = card.getObtainedAt();
+                int count = reader.readVarInt();
+                long lastObtainedAt = card.getObtainedAt() + reader.readSignedVarLong();
+                ownedCards.add(new OwnedCard(catalog.intern(card), card.getObtainedAt(), lastObtainedAt, count));
+            }
+            user.setOwnedCards(ownedCards);
+            return user;
+        }
+
+        for (int i = 0; i < cardCount; i++) {
+            String heroId = reader.readString();
+            HeroCard hero = heroId != null ? catalog.get(heroId) : catalog.intern(readHeroCard(reader, 0));
+            if (hero == null) {
+                // El catálogo se guarda antes que el shard; solo falta si se perdió su archivo.
+                // Se conserva la entrada (id, fechas, copias) y el héroe se vuelve a descargar.
+                Log.w(TAG, "Héroe " + heroId + " ausente del catálogo; se usa una entrada provisional");
+                hero = catalog.placeholder(heroId);
+            }
+            long firstObtainedAt = previousObtainedAt + reader.readSignedVarLong();
+            previousObtainedAt = firstObtainedAt;
+            int count = reader.readVarInt();
+            long lastObtainedAt = firstObtainedAt + reader.readSignedVarLong();
+            ownedCards.add(new OwnedCard(hero, firstObtainedAt, lastObtainedAt, count));
+        }
+        user.setOwnedCards(ownedCards);
+        return user;
+    }
+
+    // ==================== PRIMITIVAS ====================
+
+    /**
+     * Escribe el cuerpo en memoria mientras construye la tabla de strings
+     */
+    private static final class Writer {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+        void writeBoolean(boolean value) {
+            body.write(value ? 1 : 0);
+        }
+
+        void writeVarInt(int value) {
+            writeVarInt(body, value);
+        }
+
+        void writeSignedVarInt(int value) {
+            writeVarInt(body, (value << 1) ^ (value >> 31));
+        }
+
+        void writeSignedVarLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                body.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            body.write((int) value);
+        }
+
+        /**
+         * Escribe la referencia al string en la tabla (0 = null)
+         */
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index == null) {
+                index = strings.size();
+                strings.put(value, index);
+            }
+            writeVarInt(index + 1);
+        }
+
+        byte[] toRecord(byte type) {
+            ByteArrayOutputStream record = new ByteArrayOutputStream(body.size() + 64);
+            record.write(MAGIC);
+            record.write(VERSION);
+            record.write(type);
+            writeVarInt(record, strings.size());
+            for (String value : strings.keySet()) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(record, bytes.length);
+                record.write(bytes, 0, bytes.length);
+            }
+            byte[] bodyBytes = body.toByteArray();
+            record.write(bodyBytes, 0, bodyBytes.length);
+            return record.toByteArray();
+        }
+
+        private static void writeVarInt(ByteArrayOutputStream out, int value) {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+        private int version;
+        private String[] strings;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        /**
+         * Valida la cabecera y carga la tabla de strings
+         */
+        static Reader open(byte[] data, byte expectedType) throws IOException {
+            if (!isBinaryRecord(data) || data.length < 3) {
+                throw new IOException("No es un registro binario");
+            }
+            if (data[1] < VERSION_CARD_LIST || data[1] > VERSION) {
+                throw new IOException("Versión de codec no soportada: " + data[1]);
+            }
+            if (data[2] != expectedType) {
+                throw new IOException("Tipo de registro inesperado: " + data[2]);
+            }
+            Reader reader = new Reader(data);
+            reader.version = data[1];
+            reader.position = 3;
+
+            int count = reader.readCount();
+            reader.strings = new String[count];
+            for (int i = 0; i < count; i++) {
+                int length = reader.readCount();
+                if (reader.position + length > data.length) {
+                    throw new IOException("Tabla de strings truncada");
+                }
+                reader.strings[i] = new String(data, reader.position, length, StandardCharsets.UTF_8);
+                reader.position += length;
+            }
+            return reader;
+        }
+
+        private int readByte() throws IOException {
+            if (position >= data.length) {
+                throw new IOException("Registro truncado");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        boolean readBoolean() throws IOException {
+            return readByte() != 0;
+        }
+
+        int readVarInt() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Varint mal formado");
+        }
+
+        /**
+         * Lee un tamaño no negativo que no puede exceder los bytes restantes
+         */
+        int readCount() throws IOException {
+            int count = readVarInt();
+            if (count < 0 || count > data.length - position) {
+                throw new IOException("Tamaño inválido: " + count);
+            }
+            return count;
+        }
+
+        int readSignedVarInt() throws IOException {
+            int raw = readVarInt();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        long readSignedVarLong() throws IOException {
+            long raw = readVarLong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        long readVarLong() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Varlong mal formado");
+        }
+
+        String readString() throws IOException {
+            int reference = readVarInt();
+            if (reference == 0) return null;
+            if (reference < 0 || reference > strings.length) {
+                throw new IOException("Referencia de string inválida: " + reference);
+            }
+            return strings[reference - 1];
+        }
+    }
+}
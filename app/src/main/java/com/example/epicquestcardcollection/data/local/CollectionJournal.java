@@ -0,0 +1,217 @@
+package com.example.epicquestcardcollection.data.local;
+
+import android.util.Base64;
+import android.util.Log;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.OwnedCard;
+import com.example.epicquestcardcollection.model.User;
+import com.google.gson.Gson;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Diario de solo-anexado con los eventos de colección de un usuario
+ * (carta agregada, oportunidad consumida, reinicio de oportunidades).
+ *
+ * Cada evento ocupa una línea, por lo que registrar una carta cuesta lo mismo
+ * sin importar el tamaño de la colección. Al cargar, los eventos se reaplican
+ * sobre el último snapshot del usuario. Todos los eventos son idempotentes para
+ * que reaplicar un diario ya incluido en el snapshot no duplique datos.
+ * Las cartas se guardan con {@link BinaryModelCodec} en Base64.
+ */
+public class CollectionJournal {
+
+    private static final String TAG = "CollectionJournal";
+
+    private static final char CARD_ADDED = 'A';
+    private static final char OPPORTUNITY_CONSUMED = 'C';
+    private static final char OPPORTUNITIES_RESET = 'R';
+    private static final char SEPARATOR = '|';
+
+    private final File file;
+    private final Gson gson;
+
+    public CollectionJournal(File file, Gson gson) {
+        this.file = file;
+        this.gson = gson;
+    }
+
+    // ==================== CODIFICACIÓN DE EVENTOS ====================
+
+    public String cardAdded(HeroCard card) throws IOException {
+        byte[] encoded = BinaryModelCodec.HERO_CARD.encode(card);
+        return CARD_ADDED + String.valueOf(SEPARATOR) + Base64.encodeToString(encoded, Base64.NO_WRAP);
+    }
+
+    public String opportunityConsumed(int remainingOpportunities, long lastCardTime) {
+        return OPPORTUNITY_CONSUMED + String.valueOf(SEPARATOR)
+                + remainingOpportunities + SEPARATOR + lastCardTime;
+    }
+
+    public String opportunitiesReset(int opportunities) {
+        return OPPORTUNITIES_RESET + String.valueOf(SEPARATOR) + opportunities;
+    }
+
+    // ==================== ESCRITURA ====================
+
+    /**
+     * Anexa uno o más eventos en una sola escritura y la sincroniza a disco
+     */
+    public boolean append(String... entries) {
+        StringBuilder batch = new StringBuilder();
+        if (endsWithPartialEntry()) {
+            // Cerrar la línea truncada para no corromper el primer evento nuevo
+            batch.append('\n');
+        }
+        for (String entry : entries) {
+            batch.append(entry).append('\n');
+        }
+
+        FileOutputStream out = null;
+        try {
+            out = new FileOutputStream(file, true);
+            out.write(batch.toString().getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+            return true;
+        } catch (IOException e) {
+            Log.e(TAG, "Error anexando al diario " + file, e);
+            return false;
+        } finally {
+            closeQuietly(out);
+        }
+    }
+
+    private boolean endsWithPartialEntry() {
+        if (file.length() == 0) {
+            return false;
+        }
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            raf.seek(raf.length() - 1);
+            return raf.read() != '\n';
+        } catch (IOException e) {
+            return false;
+        } finally {
+            closeQuietly(raf);
+        }
+    }
+
+    /**
+     * Elimina el diario (después de que un snapshot lo incluye)
+     */
+    public void delete() {
+        if (file.exists() && !file.delete()) {
+            Log.w(TAG, "No se pudo eliminar el diario " + file);
+        }
+    }
+
+    // ==================== REPRODUCCIÓN ====================
+
+    /**
+     * Reaplica los eventos del diario sobre el snapshot del usuario
+     * @return Número de eventos leídos del diario
+     */
+    public int replay(User user) {
+        if (!file.exists()) {
+            return 0;
+        }
+
+        int entries = 0;
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(file), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (applyEntry(user, line)) {
+                    entries++;
+                }
+            }
+        } catch (FileNotFoundException e) {
+            return 0;
+        } catch (IOException e) {
+            Log.e(TAG, "Error leyendo el diario " + file, e);
+        } finally {
+            closeQuietly(reader);
+        }
+        return entries;
+    }
+
+    private boolean applyEntry(User user, String line) {
+        if (line.length() < 2 || line.charAt(1) != SEPARATOR) {
+            // Línea truncada por un cierre inesperado
+            if (!line.isEmpty()) {
+                Log.w(TAG, "Entrada de diario inválida ignorada");
+            }
+            return false;
+        }
+
+        try {
+            String payload = line.substring(2);
+            switch (line.charAt(0)) {
+                case CARD_ADDED:
+                    HeroCard card = decodeCard(payload);
+                    if (card != null && !isAlreadyCounted(user, card)) {
+                        user.addCardToCollection(card);
+                    }
+                    return true;
+                case OPPORTUNITY_CONSUMED:
+                    int separator = payload.indexOf(SEPARATOR);
+                    user.setDailyOpportunities(Integer.parseInt(payload.substring(0, separator)));
+                    user.setLastCardTime(Long.parseLong(payload.substring(separator + 1)));
+                    return true;
+                case OPPORTUNITIES_RESET:
+                    user.resetDailyOpportunities();
+                    user.setDailyOpportunities(Integer.parseInt(payload));
+                    return true;
+                default:
+                    Log.w(TAG, "Tipo de evento desconocido: " + line.charAt(0));
+                    return false;
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Entrada de diario corrupta ignorada", e);
+            return false;
+        }
+    }
+
+    /**
+     * Decodifica una carta; los diarios anteriores guardaban JSON
+     */
+    private HeroCard decodeCard(String payload) throws IOException {
+        if (payload.startsWith("{")) {
+            return gson.fromJson(payload, HeroCard.class);
+        }
+        return BinaryModelCodec.HERO_CARD.decode(Base64.decode(payload, Base64.NO_WRAP));
+    }
+
+    /**
+     * Los eventos son cronológicos: una copia obtenida antes o en el mismo momento
+     * que la última registrada ya está incluida en el snapshot
+     */
+    private static boolean isAlreadyCounted(User user, HeroCard card) {
+        OwnedCard owned = user.getOwnedCard(card.getId());
+        return owned != null && card.getObtainedAt() <= owned.getLastObtainedAt();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            Log.e(TAG, "Error cerrando el diario", e);
+        }
+    }
+}
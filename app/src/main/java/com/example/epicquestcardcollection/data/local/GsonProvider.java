@@ -0,0 +1,36 @@
+package com.example.epicquestcardcollection.data.local;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.SessionHeader;
+import com.example.epicquestcardcollection.model.User;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Instancia única de Gson compartida por toda la capa de datos.
+ *
+ * Registra los {@link ModelTypeAdapters} para que los modelos se (de)serialicen
+ * sin reflexión, y evita que cada helper construya y caliente su propio Gson.
+ * Gson es seguro para uso concurrente.
+ */
+public final class GsonProvider {
+
+    private static Gson gson;
+
+    private GsonProvider() {
+        // Clase de utilidades
+    }
+
+    public static synchronized Gson getGson() {
+        if (gson == null) {
+            gson = new GsonBuilder()
+                    .registerTypeAdapter(PowerStats.class, ModelTypeAdapters.POWER_STATS)
+                    .registerTypeAdapter(HeroCard.class, ModelTypeAdapters.HERO_CARD)
+                    .registerTypeAdapter(User.class, ModelTypeAdapters.USER)
+                    .registerTypeAdapter(SessionHeader.class, ModelTypeAdapters.SESSION_HEADER)
+                    .create();
+        }
+        return gson;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.epicquestcardcollection.data.local;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.HeroCatalog;
+import com.example.epicquestcardcollection.utils.AppConstants;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+/**
+ * Guarda en disco el {@link HeroCatalog} compartido por todos los usuarios.
+ *
+ * El archivo es de solo-anexado: cada héroe nuevo se agrega como un registro
+ * [longitud][HeroCard de BinaryModelCodec] y nunca se reescribe, porque los datos
+ * de la API de un héroe no cambian. Los shards de usuario solo guardan ids, por lo
+ * que el catálogo debe guardarse antes que ellos (ver UserShardStore.save).
+ *
+ * Crear la instancia lee el archivo completo: getInstance solo se llama desde los
+ * hilos de disco (HeroCatalogSync.start al arrancar la app, UserShardStore al leer o
+ * escribir shards). Quien llega mientras otro hilo carga espera a que termine.
+ */
+public class HeroCatalogStore {
+
+    private static final String TAG = "HeroCatalogStore";
+
+    private static volatile HeroCatalogStore instance;
+
+    private final File file;
+    private final HeroCatalog catalog;
+
+    private HeroCatalogStore(Context context) {
+        this(new File(context.getFilesDir(), AppConstants.HERO_CATALOG_FILE), HeroCatalog.getInstance());
+    }
+
+    /**
+     * Carga el archivo dado en el catálogo (las pruebas usan un archivo temporal)
+     */
+    HeroCatalogStore(File file, HeroCatalog catalog) {
+        this.file = file;
+        this.catalog = catalog;
+        load();
+    }
+
+    public static synchronized HeroCatalogStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new HeroCatalogStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Indica si el catálogo ya se cargó de disco, sin cargarlo ni esperar a la carga en curso
+     */
+    public static boolean isLoaded() {
+        return instance != null;
+    }
+
+    public HeroCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Anexa al archivo los héroes agregados al catálogo desde el último guardado
+     * @return true si no quedó nada pendiente
+     */
+    public synchronized boolean persist() {
+        List<HeroCard> unsaved = catalog.drainUnsaved();
+        if (unsaved.isEmpty()) {
+            return true;
+        }
+
+        FileOutputStream out = null;
+        try {
+            ByteArrayOutputStream batch = new ByteArrayOutputStream(unsaved.size() * 128);
+            DataOutputStream data = new DataOutputStream(batch);
+            for (HeroCard hero : unsaved) {
+                byte[] record = BinaryModelCodec.HERO_CARD.encode(hero);
+                data.writeInt(record.length);
+                data.write(record);
+            }
+            out = new FileOutputStream(file, true);
+            batch.writeTo(out);
+            out.getFD().sync();
+            return true;
+        } catch (IOException e) {
+            Log.e(TAG, "Error guardando el catálogo de héroes", e);
+            catalog.restoreUnsaved(unsaved);
+            return false;
+        } finally {
+            closeQuietly(out);
+        }
+    }
+
+    // ==================== CARGA ====================
+
+    /**
+     * Lee todos los registros; un registro incompleto al final (cierre inesperado
+     * durante un anexado) se descarta y se recorta para que el siguiente quede alineado.
+     * Un registro completo que no se puede decodificar se salta: su longitud sigue
+     * siendo válida, así que los siguientes se leen igual
+     */
+    private void load() {
+        long validLength = 0;
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException end) {
+                    break;
+                }
+                if (length <= 0 || validLength + 4 + length > file.length()) {
+                    throw new EOFException("Registro incompleto");
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                try {
+                    catalog.addSaved(BinaryModelCodec.HERO_CARD.decode(record));
+                } catch (IOException | RuntimeException e) {
+                    Log.w(TAG, "Registro dañado en el byte " + validLength + ", se omite", e);
+                }
+                validLength += 4 + length;
+            }
+        } catch (FileNotFoundException e) {
+            return;
+        } catch (IOException e) {
+            Log.w(TAG, "Catálogo truncado en " + validLength + " bytes", e);
+            truncate(validLength);
+        } finally {
+            closeQuietly(in);
+        }
+        Log.d(TAG, "Catálogo cargado: " + catalog.size() + " héroes");
+    }
+
+    private void truncate(long length) {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "rw");
+            raf.setLength(length);
+        } catch (IOException e) {
+            Log.e(TAG, "No se pudo recortar el catálogo", e);
+        } finally {
+            closeQuietly(raf);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            Log.e(TAG, "Error cerrando el catálogo", e);
+        }
+    }
+}
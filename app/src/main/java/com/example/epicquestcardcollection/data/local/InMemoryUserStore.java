@@ -0,0 +1,238 @@
+package com.example.epicquestcardcollection.data.local;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.User;
+import com.example.epicquestcardcollection.utils.AppConstants;
+import com.example.epicquestcardcollection.utils.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Singleton con los usuarios en memoria, compartido por todos los repositorios.
+ *
+ * Cada usuario se lee de disco una sola vez por proceso. Las actualizaciones marcan
+ * al usuario como sucio y un flusher diferido (write-behind) agrupa las ráfagas de
+ * cambios en una sola escritura de su shard. MyApplication fuerza el flush cuando el
+ * sistema pide liberar memoria o la app pasa a segundo plano.
+ *
+ * La compactación del diario de colección también pasa por aquí: cuando el diario
+ * de un usuario crece, se marca como sucio y el flush guarda el snapshot desde
+ * esta copia en memoria, la única que tiene todos los cambios.
+ *
+ * El monitor de este almacén solo protege los mapas: la escritura a disco se hace
+ * fuera de él para no bloquear a quien lee o actualiza usuarios mientras tanto.
+ * La UI sigue modificando al User compartido durante un flush; UserShardStore lo
+ * codifica dentro de su monitor (ver {@link User}), así el snapshot nunca queda a medias.
+ */
+public class InMemoryUserStore {
+
+    private static final String TAG = "InMemoryUserStore";
+
+    private static InMemoryUserStore instance;
+
+    private final UserShardStore shardStore;
+    private final ScheduledExecutorService flushExecutor;
+    private final Map<String, User> users = new HashMap<>();
+    private final Set<String> dirtyUsers = new LinkedHashSet<>();
+    private ScheduledFuture<?> pendingFlush;
+    private long flushDelayMs = AppConstants.USER_FLUSH_DELAY_MS;
+
+    private InMemoryUserStore(Context context) {
+        this.shardStore = UserShardStore.getInstance(context);
+        this.flushExecutor = AppExecutors.getInstance().diskIO();
+    }
+
+    public static synchronized InMemoryUserStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new InMemoryUserStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Adelanta la escritura pendiente sin crear el almacén: crearlo lee disco y,
+     * si nunca se creó, no hay nada que escribir
+     */
+    public static void flushNowIfCreated() {
+        InMemoryUserStore store;
+        synchronized (InMemoryUserStore.class) {
+            store = instance;
+        }
+        if (store != null) {
+            store.flushNow();
+        }
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Verifica si existe un usuario (en memoria o en disco)
+     */
+    public synchronized boolean contains(String username) {
+        return username != null && (users.containsKey(username) || shardStore.contains(username));
+    }
+
+    /**
+     * Obtiene un usuario; solo se lee su shard la primera vez
+     * @return El usuario o null si no existe
+     */
+    public synchronized User get(String username) {
+        if (username == null) {
+            return null;
+        }
+        User user = users.get(username);
+        if (user == null) {
+            user = shardStore.load(username);
+            if (user != null) {
+                users.put(username, user);
+                compactIfNeeded(username);
+            }
+        }
+        return user;
+    }
+
+    // ==================== ESCRITURA ====================
+
+    /**
+     * Actualiza un usuario en memoria y programa su escritura diferida
+     */
+    public synchronized void put(User user) {
+        if (user == null || user.getUsername() == null) {
+            return;
+        }
+        users.put(user.getUsername(), user);
+        dirtyUsers.add(user.getUsername());
+        scheduleFlush();
+    }
+
+    /**
+     * Guarda un usuario inmediatamente (p. ej. un registro nuevo).
+     * Si además estaba sucio se deja así: un put durante el guardado podría no estar incluido.
+     */
+    public boolean saveNow(User user) {
+        if (user == null || user.getUsername() == null) {
+            return false;
+        }
+        synchronized (this) {
+            users.put(user.getUsername(), user);
+        }
+        return shardStore.save(user);
+    }
+
+    /**
+     * Registra una carta obtenida en el diario del usuario (escritura O(1) inmediata)
+     */
+    public boolean recordCardObtained(User user, HeroCard card) {
+        synchronized (this) {
+            users.put(user.getUsername(), user);
+        }
+        boolean appended = shardStore.appendCardObtained(user, card);
+        compactIfNeeded(user.getUsername());
+        return appended;
+    }
+
+    /**
+     * Registra el reinicio de oportunidades en el diario del usuario
+     */
+    public boolean recordOpportunitiesReset(User user) {
+        synchronized (this) {
+            users.put(user.getUsername(), user);
+        }
+        boolean appended = shardStore.appendOpportunitiesReset(user);
+        compactIfNeeded(user.getUsername());
+        return appended;
+    }
+
+    /**
+     * Si el diario del usuario es largo, programa guardar su snapshot desde memoria;
+     * el guardado descarta el diario
+     */
+    private synchronized void compactIfNeeded(String username) {
+        if (shardStore.needsCompaction(username) && dirtyUsers.add(username)) {
+            Log.d(TAG, "Compactación del diario programada para " + username);
+            scheduleFlush();
+        }
+    }
+
+    // ==================== FLUSH ====================
+
+    /**
+     * Configura cuánto se esperan más cambios antes de escribir a disco
+     */
+    public synchronized void setFlushDelay(long delayMs) {
+        this.flushDelayMs = Math.max(0, delayMs);
+    }
+
+    /**
+     * Verifica si hay cambios pendientes de escribir
+     */
+    public synchronized boolean hasPendingWrites() {
+        return !dirtyUsers.isEmpty();
+    }
+
+    /**
+     * Adelanta la escritura de todos los usuarios sucios sin esperar el retardo
+     */
+    public synchronized void flushNow() {
+        if (dirtyUsers.isEmpty()) {
+            return;
+        }
+        if (pendingFlush != null) {
+            pendingFlush.cancel(false);
+        }
+        pendingFlush = flushExecutor.schedule(this::flush, 0, TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduleFlush() {
+        // Si ya hay un flush programado, el cambio se agrupa con él
+        if (pendingFlush == null || pendingFlush.isDone()) {
+            pendingFlush = flushExecutor.schedule(this::flush, flushDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Escribe los usuarios sucios; se ejecuta en el hilo de disco.
+     * Se toman los usuarios bajo el monitor y se guardan fuera de él. Un put que
+     * llegue mientras tanto vuelve a marcar al usuario y programa otro flush.
+     */
+    private void flush() {
+        List<User> toFlush;
+        synchronized (this) {
+            pendingFlush = null;
+            toFlush = new ArrayList<>(dirtyUsers.size());
+            for (String username : dirtyUsers) {
+                User user = users.get(username);
+                if (user != null) {
+                    toFlush.add(user);
+                }
+            }
+            dirtyUsers.clear();
+        }
+
+        List<String> failed = new ArrayList<>();
+        for (User user : toFlush) {
+            if (!shardStore.save(user)) {
+                failed.add(user.getUsername());
+            }
+        }
+
+        synchronized (this) {
+            if (!failed.isEmpty()) {
+                dirtyUsers.addAll(failed);
+                scheduleFlush();
+            }
+        }
+        Log.d(TAG, "Flush completado: " + toFlush.size() + " usuario(s), " + failed.size() + " con error");
+    }
+}
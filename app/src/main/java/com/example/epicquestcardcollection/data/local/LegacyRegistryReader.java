@@ -0,0 +1,93 @@
+package com.example.epicquestcardcollection.data.local;
+
+import com.example.epicquestcardcollection.model.User;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.function.BiConsumer;
+
+/**
+ * Lector en streaming del registro antiguo de usuarios (un JSON con la forma
+ * {"username": {...usuario...}, ...} guardado en KEY_USERS_DATA).
+ *
+ * Usa JsonReader para recorrer el registro sin construir el mapa completo:
+ * los subárboles de los demás usuarios se saltan sin reservar objetos y
+ * la verificación de existencia nunca parsea datos de cartas.
+ */
+public class LegacyRegistryReader {
+
+    private final Gson gson;
+
+    public LegacyRegistryReader(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Verifica si el username existe leyendo solo los nombres del primer nivel
+     */
+    public boolean containsUser(String registryJson, String username) throws IOException {
+        try (JsonReader reader = openRegistry(registryJson)) {
+            if (reader == null) return false;
+            while (reader.hasNext()) {
+                if (reader.nextName().equals(username) && reader.peek() != JsonToken.NULL) {
+                    return true;
+                }
+                reader.skipValue();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Busca un único usuario; solo se deserializa el subárbol que coincide
+     * @return El usuario o null si no existe
+     */
+    public User findUser(String registryJson, String username) throws IOException {
+        try (JsonReader reader = openRegistry(registryJson)) {
+            if (reader == null) return null;
+            while (reader.hasNext()) {
+                if (reader.nextName().equals(username)) {
+                    return gson.fromJson(reader, User.class);
+                }
+                reader.skipValue();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Recorre todos los usuarios de uno en uno, sin mantener el mapa en memoria
+     */
+    public void forEachUser(String registryJson, BiConsumer<String, User> consumer) throws IOException {
+        try (JsonReader reader = openRegistry(registryJson)) {
+            if (reader == null) return;
+            while (reader.hasNext()) {
+                String username = reader.nextName();
+                User user = gson.fromJson(reader, User.class);
+                if (user != null) {
+                    consumer.accept(username, user);
+                }
+            }
+        }
+    }
+
+    /**
+     * Abre el registro posicionado dentro del objeto raíz
+     * @return null si el registro está vacío o no es un objeto
+     */
+    private JsonReader openRegistry(String registryJson) throws IOException {
+        if (registryJson == null || registryJson.isEmpty()) {
+            return null;
+        }
+        JsonReader reader = new JsonReader(new StringReader(registryJson));
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.close();
+            return null;
+        }
+        reader.beginObject();
+        return reader;
+    }
+}
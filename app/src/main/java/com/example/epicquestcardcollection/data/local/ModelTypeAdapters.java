@@ -0,0 +1,326 @@
+package com.example.epicquestcardcollection.data.local;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.SessionHeader;
+import com.example.epicquestcardcollection.model.User;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TypeAdapters en streaming para los modelos, sin reflexión.
+ *
+ * Producen y aceptan exactamente el mismo JSON que el Gson reflexivo:
+ * mismos nombres de campo en el mismo orden, campos nulos omitidos,
+ * campos desconocidos ignorados y valores por defecto del constructor
+ * para los campos ausentes. Así los datos de instalaciones existentes
+ * se siguen cargando sin migración. Un número mal formado lanza
+ * JsonSyntaxException, como los adapters de primitivos de Gson.
+ */
+public final class ModelTypeAdapters {
+
+    private ModelTypeAdapters() {
+        // Clase de utilidades
+    }
+
+    // ==================== POWER STATS ====================
+
+    public static final TypeAdapter<PowerStats> POWER_STATS = new TypeAdapter<PowerStats>() {
+        @Override
+        public void write(JsonWriter out, PowerStats stats) throws IOException {
+            if (stats == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("intelligence").value(stats.getIntelligence());
+            out.name("strength").value(stats.getStrength());
+            out.name("speed").value(stats.getSpeed());
+            out.name("durability").value(stats.getDurability());
+            out.name("power").value(stats.getPower());
+            out.name("combat").value(stats.getCombat());
+            out.endObject();
+        }
+
+        @Override
+        public PowerStats read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            PowerStats stats = new PowerStats();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    // Los primitivos conservan su valor por defecto
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "intelligence": stats.setIntelligence(nextInt(in)); break;
+                    case "strength": stats.setStrength(nextInt(in)); break;
+                    case "speed": stats.setSpeed(nextInt(in)); break;
+                    case "durability": stats.setDurability(nextInt(in)); break;
+                    case "power": stats.setPower(nextInt(in)); break;
+                    case "combat": stats.setCombat(nextInt(in)); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return stats;
+        }
+    };
+
+    // ==================== HERO CARD ====================
+
+    public static final TypeAdapter<HeroCard> HERO_CARD = new TypeAdapter<HeroCard>() {
+        @Override
+        public void write(JsonWriter out, HeroCard card) throws IOException {
+            if (card == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "id", card.getId());
+            writeString(out, "name", card.getName());
+            writeString(out, "biography", card.getBiography());
+            writeString(out, "imageUrl", card.getImageUrl());
+            PowerStats stats = card.getPowerStats();
+            if (stats != null) {
+                out.name("powerStats");
+                POWER_STATS.write(out, stats);
+            }
+            writeString(out, "rarity", card.getRarity());
+            out.name("totalPower").value(card.getTotalPower());
+            out.name("obtainedAt").value(card.getObtainedAt());
+            out.endObject();
+        }
+
+        @Override
+        public HeroCard read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            HeroCard card = new HeroCard();
+            // setPowerStats recalcula rareza y poder total; se aplican al final
+            // para que los valores guardados tengan prioridad, igual que con reflexión
+            PowerStats powerStats = null;
+            String rarity = null;
+            int totalPower = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "id": card.setId(readString(in)); break;
+                    case "name": card.setName(readString(in)); break;
+                    case "biography": card.setBiography(readString(in)); break;
+                    case "imageUrl": card.setImageUrl(readString(in)); break;
+                    case "powerStats": powerStats = POWER_STATS.read(in); break;
+                    case "rarity": rarity = readString(in); break;
+                    case "totalPower": totalPower = readInt(in, totalPower); break;
+                    case "obtainedAt": card.setObtainedAt(readLong(in, card.getObtainedAt())); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            card.setPowerStats(powerStats);
+            card.setRarity(rarity);
+            card.setTotalPower(totalPower);
+            return card;
+        }
+    };
+
+    // ==================== USER ====================
+
+    public static final TypeAdapter<User> USER = new TypeAdapter<User>() {
+        @Override
+        public void write(JsonWriter out, User user) throws IOException {
+            if (user == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "username", user.getUsername());
+            writeString(out, "password", user.getPassword());
+            writeString(out, "email", user.getEmail());
+            if (user.getCollection() != null) {
+                out.name("collection").beginArray();
+                for (HeroCard card : user.getCollection()) {
+                    HERO_CARD.write(out, card);
+                }
+                out.endArray();
+            }
+            out.name("dailyOpportunities").value(user.getDailyOpportunities());
+            out.name("lastCardTime").value(user.getLastCardTime());
+            out.name("playerLevel").value(user.getPlayerLevel());
+            if (user.getAchievements() != null) {
+                out.name("achievements").beginArray();
+                for (String achievement : user.getAchievements()) {
+                    out.value(achievement);
+                }
+                out.endArray();
+            }
+            out.name("createdAt").value(user.getCreatedAt());
+            out.endObject();
+        }
+
+        @Override
+        public User read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            User user = new User();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "username": user.setUsername(readString(in)); break;
+                    case "password": user.setPassword(readString(in)); break;
+                    case "email": user.setEmail(readString(in)); break;
+                    case "collection": user.setCollection(readCards(in)); break;
+                    case "dailyOpportunities":
+                        user.setDailyOpportunities(readInt(in, user.getDailyOpportunities()));
+                        break;
+                    case "lastCardTime": user.setLastCardTime(readLong(in, user.getLastCardTime())); break;
+                    case "playerLevel": user.setPlayerLevel(readInt(in, user.getPlayerLevel())); break;
+                    case "achievements": user.setAchievements(readStrings(in)); break;
+                    case "createdAt": user.setCreatedAt(readLong(in, user.getCreatedAt())); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return user;
+        }
+    };
+
+    // ==================== SESSION HEADER ====================
+
+    public static final TypeAdapter<SessionHeader> SESSION_HEADER = new TypeAdapter<SessionHeader>() {
+        @Override
+        public void write(JsonWriter out, SessionHeader header) throws IOException {
+            if (header == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeString(out, "username", header.getUsername());
+            out.name("playerLevel").value(header.getPlayerLevel());
+            out.name("dailyOpportunities").value(header.getDailyOpportunities());
+            out.name("lastCardTime").value(header.getLastCardTime());
+            out.endObject();
+        }
+
+        @Override
+        public SessionHeader read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            SessionHeader header = new SessionHeader();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "username": header.setUsername(readString(in)); break;
+                    case "playerLevel": header.setPlayerLevel(readInt(in, header.getPlayerLevel())); break;
+                    case "dailyOpportunities":
+                        header.setDailyOpportunities(readInt(in, header.getDailyOpportunities()));
+                        break;
+                    case "lastCardTime": header.setLastCardTime(readLong(in, header.getLastCardTime())); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+            return header;
+        }
+    };
+
+    // ==================== AUXILIARES ====================
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    private static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        // Igual que Gson: los booleanos se aceptan como texto
+        return in.peek() == JsonToken.BOOLEAN ? Boolean.toString(in.nextBoolean()) : in.nextString();
+    }
+
+    private static int readInt(JsonReader in, int defaultValue) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return defaultValue;
+        }
+        return nextInt(in);
+    }
+
+    private static long readLong(JsonReader in, long defaultValue) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return defaultValue;
+        }
+        return nextLong(in);
+    }
+
+    /**
+     * Igual que Gson: un número mal formado es un error de sintaxis del JSON
+     */
+    private static int nextInt(JsonReader in) throws IOException {
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static long nextLong(JsonReader in) throws IOException {
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static List<HeroCard> readCards(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<HeroCard> cards = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            cards.add(HERO_CARD.read(in));
+        }
+        in.endArray();
+        return cards;
+    }
+
+    private static List<String> readStrings(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(readString(in));
+        }
+        in.endArray();
+        return values;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.epicquestcardcollection.data.local;
+
+import java.io.IOException;
+
+/**
+ * Contrato para convertir objetos del modelo a bytes y viceversa.
+ * Permite cambiar el formato de almacenamiento sin tocar a quien persiste.
+ */
+public interface ObjectCodec<T> {
+
+    /**
+     * Codifica el objeto en bytes
+     */
+    byte[] encode(T value) throws IOException;
+
+    /**
+     * Decodifica un objeto desde bytes
+     * @throws IOException si los datos están corruptos o la versión no es soportada
+     */
+    T decode(byte[] data) throws IOException;
+}
@@ -1,21 +1,30 @@
 package com.example.epicquestcardcollection.data.local;
 
 import android.content.Context;
+import com.example.epicquestcardcollection.model.SessionHeader;
 import com.example.epicquestcardcollection.model.User;
 import com.example.epicquestcardcollection.utils.AppConstants;
 
 /**
  * Singleton que gestiona la sesión del usuario en toda la aplicación.
  * Maneja el login, logout y estado actual de la sesión.
+ *
+ * Al arrancar solo se lee un resumen ligero de la sesión ({@link SessionHeader})
+ * de las preferencias; el almacén de usuarios (catálogo, índice de usernames,
+ * migraciones) no se abre hasta que se pide el usuario completo o se guarda uno,
+ * lo que ocurre desde el repositorio asíncrono fuera del hilo principal.
  */
 public class SessionManager {
     private static SessionManager instance;
+    private final Context context;
     private final SharedPreferencesHelper prefsHelper;
-    private User currentUser;
+    private volatile SessionHeader sessionHeader;
+    private volatile User currentUser;
 
     private SessionManager(Context context) {
+        this.context = context;
         this.prefsHelper = new SharedPreferencesHelper(context, AppConstants.PREFS_NAME);
-        loadCurrentUser();
+        loadSessionHeader();
     }
 
     public static synchronized SessionManager getInstance(Context context) {
@@ -28,65 +37,160 @@ public class SessionManager {
     // ==================== GESTIÓN DE SESIÓN ====================
 
     /**
-     * Inicia sesión con un usuario
+     * Inicia sesión con un usuario.
+     * Solo se persiste el username; los datos viven en el shard del usuario.
      */
-    public void login(User user) {
+    public synchronized void login(User user) {
         this.currentUser = user;
-        prefsHelper.putObject(AppConstants.KEY_CURRENT_USER, user);
         prefsHelper.putString(AppConstants.KEY_CURRENT_SESSION, user.getUsername());
+        updateSessionHeader(user);
+    }
+
+    /**
+     * Actualiza el resumen de la sesión tras un cambio del usuario actual
+     */
+    public void updateSessionHeader(User user) {
+        SessionHeader header = SessionHeader.from(user);
+        this.sessionHeader = header;
+        prefsHelper.putObject(AppConstants.KEY_SESSION_HEADER, header);
     }
 
     /**
      * Cierra la sesión actual preservando los datos del usuario
      */
-    public void logout() {
-        // Preservar los datos del usuario antes de cerrar sesión
+    public synchronized void logout() {
+        // Preservar los datos del usuario antes de cerrar sesión (solo si se llegó a cargar)
         if (currentUser != null) {
             saveUserData(currentUser);
         }
 
         this.currentUser = null;
-        prefsHelper.remove(AppConstants.KEY_CURRENT_USER);
+        this.sessionHeader = null;
         prefsHelper.remove(AppConstants.KEY_CURRENT_SESSION);
+        prefsHelper.remove(AppConstants.KEY_SESSION_HEADER);
     }
 
     /**
-     * Verifica si hay una sesión activa
+     * Verifica si hay una sesión activa (no carga la colección)
      */
     public boolean isLoggedIn() {
-        return currentUser != null;
+        return sessionHeader != null;
     }
 
     /**
-     * Obtiene el usuario actual
+     * Obtiene el resumen de la sesión actual sin cargar la colección
+     * @return El resumen o null si no hay sesión
      */
-    public User getCurrentUser() {
+    public SessionHeader getSessionHeader() {
+        return sessionHeader;
+    }
+
+    /**
+     * Verifica si el username corresponde a la sesión actual (no carga la colección)
+     */
+    public boolean isCurrentUser(String username) {
+        SessionHeader header = sessionHeader;
+        return header != null && header.getUsername() != null && header.getUsername().equals(username);
+    }
+
+    /**
+     * Obtiene el usuario actual completo.
+     * La primera llamada lee su shard, por lo que no debe hacerse en el hilo principal.
+     */
+    public synchronized User getCurrentUser() {
+        if (currentUser == null && sessionHeader != null) {
+            loadCurrentUser(sessionHeader.getUsername());
+        }
         return currentUser;
     }
 
     // ==================== GESTIÓN DE USUARIOS ====================
 
     /**
-     * Guarda los datos de un usuario en el registro de usuarios
+     * Guarda los datos de un usuario (escritura diferida a su shard)
      */
     public void saveUserData(User user) {
-        // TODO: En la siguiente iteración implementaremos el registro múltiple
-        // Por ahora solo guardamos el usuario actual
-        prefsHelper.putObject(user.getUsername(), user);
+        userStore().put(user);
     }
 
     /**
-     * Carga el usuario actual desde SharedPreferences
+     * El almacén lee disco al crearse: solo se pide desde operaciones que ya corren
+     * fuera del hilo principal
      */
-    private void loadCurrentUser() {
+    private InMemoryUserStore userStore() {
+        return InMemoryUserStore.getInstance(context);
+    }
+
+    /**
+     * Lee el resumen de la sesión guardado en preferencias.
+     * Las sesiones anteriores al resumen solo guardaban el username o el objeto
+     * completo; para ellas se crea un resumen provisional que se completa al cargar
+     * al usuario. La sesión en el formato más antiguo se migra a su shard al cargar
+     * al usuario, no aquí.
+     */
+    private void loadSessionHeader() {
+        SessionHeader header = prefsHelper.getObject(AppConstants.KEY_SESSION_HEADER, SessionHeader.class, null);
+        if (header != null && header.getUsername() != null) {
+            this.sessionHeader = header;
+            return;
+        }
+
         String currentUsername = prefsHelper.getString(AppConstants.KEY_CURRENT_SESSION, null);
         if (currentUsername != null) {
-            this.currentUser = prefsHelper.getObject(currentUsername, User.class, null);
+            this.sessionHeader = new SessionHeader(currentUsername, 1, AppConstants.DAILY_OPPORTUNITIES, 0);
+        } else if (prefsHelper.contains(AppConstants.KEY_CURRENT_USER)) {
+            // Formato más antiguo (el User completo): el resumen toma username, nivel y
+            // oportunidades del mismo JSON y se salta la colección
+            SessionHeader legacy = prefsHelper.getObject(AppConstants.KEY_CURRENT_USER, SessionHeader.class, null);
+            if (legacy != null && legacy.getUsername() != null) {
+                this.sessionHeader = legacy;
+            } else {
+                prefsHelper.remove(AppConstants.KEY_CURRENT_USER);
+            }
+        }
+    }
+
+    /**
+     * Carga el usuario actual desde su shard y refresca el resumen de la sesión
+     */
+    private void loadCurrentUser(String currentUsername) {
+        if (currentUsername != null) {
+            this.currentUser = userStore().get(currentUsername);
         }
 
-        // Fallback: cargar directamente si no se encuentra por username
+        // Fallback: sesiones guardadas con el formato antiguo (objeto completo en prefs)
         if (this.currentUser == null) {
-            this.currentUser = prefsHelper.getObject(AppConstants.KEY_CURRENT_USER, User.class, null);
+            migrateLegacySession(currentUsername);
+        }
+
+        if (this.currentUser != null) {
+            updateSessionHeader(this.currentUser);
+        } else {
+            // La sesión apunta a un usuario que ya no existe
+            this.sessionHeader = null;
+            prefsHelper.remove(AppConstants.KEY_CURRENT_SESSION);
+            prefsHelper.remove(AppConstants.KEY_SESSION_HEADER);
+        }
+    }
+
+    /**
+     * Recupera la sesión del formato antiguo, la pasa a su shard y limpia las claves viejas
+     */
+    private void migrateLegacySession(String currentUsername) {
+        User legacyUser = null;
+        if (currentUsername != null) {
+            legacyUser = prefsHelper.getObject(currentUsername, User.class, null);
+            prefsHelper.remove(currentUsername);
+        }
+        if (legacyUser == null) {
+            legacyUser = prefsHelper.getObject(AppConstants.KEY_CURRENT_USER, User.class, null);
+        }
+        prefsHelper.remove(AppConstants.KEY_CURRENT_USER);
+
+        if (legacyUser != null && legacyUser.getUsername() != null) {
+            userStore().saveNow(legacyUser);
+            prefsHelper.putString(AppConstants.KEY_CURRENT_SESSION, legacyUser.getUsername());
+            this.currentUser = legacyUser;
         }
     }
 
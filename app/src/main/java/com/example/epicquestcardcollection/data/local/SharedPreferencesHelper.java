@@ -2,6 +2,7 @@ package com.example.epicquestcardcollection.data.local;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.util.Base64;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
@@ -17,7 +18,7 @@ public class SharedPreferencesHelper {
 
     public SharedPreferencesHelper(Context context, String prefsName) {
         this.sharedPreferences = context.getSharedPreferences(prefsName, Context.MODE_PRIVATE);
-        this.gson = new Gson();
+        this.gson = GsonProvider.getGson();
     }
 
     // ==================== MÉTODOS BÁSICOS ====================
@@ -100,6 +101,41 @@ public class SharedPreferencesHelper {
         }
     }
 
+    /**
+     * Guarda un objeto con un codec binario (almacenado como Base64)
+     */
+    public <T> void putObject(String key, T object, ObjectCodec<T> codec) {
+        if (object == null) {
+            sharedPreferences.edit().remove(key).apply();
+            return;
+        }
+        try {
+            putString(key, Base64.encodeToString(codec.encode(object), Base64.NO_WRAP));
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Recupera un objeto guardado con un codec binario.
+     * Si el valor es un JSON del formato anterior se lee con Gson.
+     */
+    public <T> T getObject(String key, Class<T> classOfT, ObjectCodec<T> codec, T defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            if (value.startsWith("{")) {
+                return gson.fromJson(value, classOfT);
+            }
+            return codec.decode(Base64.decode(value, Base64.NO_WRAP));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return defaultValue;
+        }
+    }
+
     // ==================== MÉTODOS UTILITARIOS ====================
 
     public boolean contains(String key) {
@@ -0,0 +1,443 @@
+package com.example.epicquestcardcollection.data.local;
+
+import android.content.Context;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.HeroCatalog;
+import com.example.epicquestcardcollection.model.User;
+import com.example.epicquestcardcollection.utils.AppConstants;
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Almacenamiento de usuarios fragmentado: cada usuario vive en su propio archivo
+ * (shard) y un {@link UsernameIndex} guarda los usernames registrados.
+ * Una escritura solo toca el shard del usuario afectado y una búsqueda solo lee un shard.
+ *
+ * Los cambios pequeños de la colección (obtener una carta, reiniciar oportunidades)
+ * se anexan a un {@link CollectionJournal} por usuario en lugar de reescribir el shard.
+ * Cuando el diario crece, {@link #needsCompaction} lo indica y {@link InMemoryUserStore}
+ * lo pliega guardando su copia en memoria, que es la más reciente.
+ *
+ * Los shards se codifican con {@link BinaryModelCodec}; los shards JSON de versiones
+ * anteriores se siguen leyendo y se reescriben en binario en el siguiente guardado.
+ * Los shards solo referencian a los héroes por id: sus datos viven en el catálogo
+ * compartido ({@link HeroCatalogStore}), que se guarda antes que cada shard.
+ * El catálogo no se carga al crear el almacén sino al leer o escribir el primer
+ * shard, siempre en un hilo de fondo; si la carga ya está en curso se espera a ella.
+ */
+public class UserShardStore {
+
+    private static final String TAG = "UserShardStore";
+    private static final String SHARD_EXTENSION = ".user";
+    private static final String LEGACY_SHARD_EXTENSION = ".json";
+    private static final String JOURNAL_EXTENSION = ".journal";
+    private static final String INDEX_FILE = "usernames.idx";
+    private static final String LEGACY_INDEX_FILE = "index.json";
+
+    private static UserShardStore instance;
+
+    private final Context context;
+    private final File shardsDir;
+    private final Gson gson;
+    private final ObjectCodec<User> userCodec;
+    private final UsernameIndex usernames;
+    private final Map<String, Integer> journalSizes = new HashMap<>();
+    private final SharedPreferencesHelper legacyPrefs;
+    private final LegacyRegistryReader legacyReader;
+    private boolean legacyRegistryPending;
+
+    private UserShardStore(Context context) {
+        this.context = context;
+        this.shardsDir = new File(context.getFilesDir(), AppConstants.USER_SHARDS_DIR);
+        if (!shardsDir.exists() && !shardsDir.mkdirs()) {
+            Log.e(TAG, "No se pudo crear el directorio de shards: " + shardsDir);
+        }
+        this.gson = GsonProvider.getGson();
+        this.userCodec = BinaryModelCodec.userCodec(HeroCatalog.getInstance());
+        this.usernames = loadIndex();
+        this.legacyPrefs = new SharedPreferencesHelper(context, AppConstants.PREFS_NAME);
+        this.legacyReader = new LegacyRegistryReader(gson);
+
+        migrateLegacyRegistry();
+    }
+
+    public static synchronized UserShardStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new UserShardStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    // ==================== OPERACIONES PÚBLICAS ====================
+
+    /**
+     * Verifica si existe un usuario sin leer su shard
+     */
+    public synchronized boolean contains(String username) {
+        if (username == null) {
+            return false;
+        }
+        if (usernames.contains(username)) {
+            return true;
+        }
+        // Mientras quede registro antiguo sin migrar, se consulta en streaming
+        return legacyRegistryPending && legacyContains(username);
+    }
+
+    /**
+     * Carga un usuario leyendo su shard y reaplicando su diario de colección
+     * @return El usuario o null si no existe
+     */
+    public synchronized User load(String username) {
+        if (username == null) {
+            return null;
+        }
+        if (!usernames.contains(username)) {
+            return legacyRegistryPending ? migrateLegacyUser(username) : null;
+        }
+        byte[] data = readShard(username);
+        if (data == null) {
+            return null;
+        }
+        // Los héroes del shard se resuelven en el catálogo: debe estar cargado antes de decodificar
+        heroCatalog();
+        User user;
+        try {
+            user = BinaryModelCodec.isBinaryRecord(data)
+                    ? userCodec.decode(data)
+                    : gson.fromJson(new String(data, StandardCharsets.UTF_8), User.class);
+        } catch (Exception e) {
+            Log.e(TAG, "Shard corrupto para " + username, e);
+            return null;
+        }
+        if (user != null) {
+            journalSizes.put(username, journalFor(username).replay(user));
+        }
+        return user;
+    }
+
+    /**
+     * Guarda un usuario reescribiendo solo su shard.
+     * El snapshot incluye todo lo anexado al diario, por lo que este se descarta.
+     * El índice solo se reescribe cuando el usuario es nuevo.
+     */
+    public synchronized boolean save(User user) {
+        if (user == null || user.getUsername() == null) {
+            return false;
+        }
+        if (!writeShard(user)) {
+            return false;
+        }
+        journalFor(user.getUsername()).delete();
+        journalSizes.remove(user.getUsername());
+        usernames.add(user.getUsername());
+        return true;
+    }
+
+    /**
+     * Registra una carta obtenida y la oportunidad consumida anexando al diario.
+     * El costo en bytes es el de una sola carta, sin importar el tamaño de la colección.
+     */
+    public synchronized boolean appendCardObtained(User user, HeroCard card) {
+        if (!contains(user.getUsername())) {
+            return save(user);
+        }
+        CollectionJournal journal = journalFor(user.getUsername());
+        String opportunityEntry;
+        synchronized (user) {
+            opportunityEntry = journal.opportunityConsumed(user.getDailyOpportunities(), user.getLastCardTime());
+        }
+        boolean appended;
+        try {
+            appended = journal.append(opportunityEntry, journal.cardAdded(card));
+        } catch (IOException e) {
+            Log.e(TAG, "Error codificando carta para el diario", e);
+            return false;
+        }
+        if (appended) {
+            onJournalAppended(user.getUsername(), 2);
+        }
+        return appended;
+    }
+
+    /**
+     * Registra el reinicio de oportunidades anexando al diario
+     */
+    public synchronized boolean appendOpportunitiesReset(User user) {
+        if (!contains(user.getUsername())) {
+            return save(user);
+        }
+        CollectionJournal journal = journalFor(user.getUsername());
+        String resetEntry;
+        synchronized (user) {
+            resetEntry = journal.opportunitiesReset(user.getDailyOpportunities());
+        }
+        boolean appended = journal.append(resetEntry);
+        if (appended) {
+            onJournalAppended(user.getUsername(), 1);
+        }
+        return appended;
+    }
+
+    /**
+     * Obtiene los usernames registrados
+     */
+    public synchronized Set<String> getUsernames() {
+        return usernames.getUsernames();
+    }
+
+    // ==================== DIARIO Y COMPACTACIÓN ====================
+
+    private CollectionJournal journalFor(String username) {
+        return new CollectionJournal(new File(shardsDir, shardName(username) + JOURNAL_EXTENSION), gson);
+    }
+
+    /**
+     * Indica si el diario del usuario ya es lo bastante largo para plegarlo en un snapshot.
+     * No se compacta aquí recargando el shard: la copia en memoria puede tener cambios
+     * que aún no están en disco, así que la compactación es guardar esa copia con save().
+     */
+    public synchronized boolean needsCompaction(String username) {
+        Integer size = journalSizes.get(username);
+        return size != null && size >= AppConstants.JOURNAL_COMPACTION_THRESHOLD;
+    }
+
+    private void onJournalAppended(String username, int entries) {
+        Integer current = journalSizes.get(username);
+        journalSizes.put(username, (current != null ? current : 0) + entries);
+    }
+
+    // ==================== SHARDS ====================
+
+    private AtomicFile shardFile(String username) {
+        return new AtomicFile(new File(shardsDir, shardName(username) + SHARD_EXTENSION));
+    }
+
+    private File legacyShardFile(String username) {
+        return new File(shardsDir, shardName(username) + LEGACY_SHARD_EXTENSION);
+    }
+
+    /**
+     * Nombre de archivo seguro para cualquier username (hex de sus bytes UTF-8)
+     */
+    private static String shardName(String username) {
+        byte[] bytes = username.getBytes(StandardCharsets.UTF_8);
+        StringBuilder name = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            name.append(Character.forDigit((b >> 4) & 0xF, 16));
+            name.append(Character.forDigit(b & 0xF, 16));
+        }
+        return name.toString();
+    }
+
+    private byte[] readShard(String username) {
+        try {
+            AtomicFile shard = shardFile(username);
+            if (!shard.getBaseFile().exists() && legacyShardFile(username).exists()) {
+                shard = new AtomicFile(legacyShardFile(username));
+            }
+            return shard.readFully();
+        } catch (FileNotFoundException e) {
+            Log.w(TAG, "Shard no encontrado para " + username);
+            return null;
+        } catch (IOException e) {
+            Log.e(TAG, "Error leyendo shard de " + username, e);
+            return null;
+        }
+    }
+
+    /**
+     * Codifica al usuario y escribe su shard. Los héroes del catálogo se guardan
+     * después de codificar y antes de escribir: así cualquier héroe que el snapshot
+     * referencie ya está en disco, aunque la UI haya agregado cartas mientras tanto.
+     */
+    private boolean writeShard(User user) {
+        byte[] data;
+        try {
+            // Snapshot consistente: las modificaciones de User se sincronizan sobre la instancia
+            synchronized (user) {
+                data = userCodec.encode(user);
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error codificando a " + user.getUsername(), e);
+            return false;
+        }
+        if (!heroCatalog().persist()) {
+            // Sin los héroes en disco el shard quedaría con ids sin resolver
+            return false;
+        }
+        if (!writeAtomically(shardFile(user.getUsername()), data)) {
+            return false;
+        }
+        File legacyShard = legacyShardFile(user.getUsername());
+        if (legacyShard.exists() && !legacyShard.delete()) {
+            Log.w(TAG, "No se pudo eliminar el shard JSON de " + user.getUsername());
+        }
+        return true;
+    }
+
+    /**
+     * Catálogo compartido; la primera llamada lo carga de disco
+     */
+    private HeroCatalogStore heroCatalog() {
+        return HeroCatalogStore.getInstance(context);
+    }
+
+    private boolean writeAtomically(AtomicFile file, byte[] data) {
+        FileOutputStream out = null;
+        try {
+            out = file.startWrite();
+            out.write(data);
+            file.finishWrite(out);
+            return true;
+        } catch (IOException e) {
+            Log.e(TAG, "Error escribiendo " + file.getBaseFile(), e);
+            if (out != null) {
+                file.failWrite(out);
+            }
+            return false;
+        }
+    }
+
+    // ==================== ÍNDICE ====================
+
+    private UsernameIndex loadIndex() {
+        File legacyIndex = new File(shardsDir, LEGACY_INDEX_FILE);
+        if (legacyIndex.exists() && !legacyIndex.delete()) {
+            Log.w(TAG, "No se pudo eliminar el índice JSON anterior");
+        }
+        return new UsernameIndex(new AtomicFile(new File(shardsDir, INDEX_FILE)),
+                listShardNames().size(), this::scanShardUsernames);
+    }
+
+    /**
+     * Nombres base (sin extensión) de los shards presentes en disco
+     */
+    private Set<String> listShardNames() {
+        Set<String> names = new HashSet<>();
+        String[] files = shardsDir.list();
+        if (files == null) {
+            return names;
+        }
+        for (String file : files) {
+            if (file.endsWith(SHARD_EXTENSION)) {
+                names.add(file.substring(0, file.length() - SHARD_EXTENSION.length()));
+            } else if (file.endsWith(LEGACY_SHARD_EXTENSION) && !file.equals(LEGACY_INDEX_FILE)) {
+                names.add(file.substring(0, file.length() - LEGACY_SHARD_EXTENSION.length()));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Reconstruye los usernames decodificando los nombres de archivo de los shards
+     */
+    private Set<String> scanShardUsernames() {
+        Set<String> result = new HashSet<>();
+        for (String name : listShardNames()) {
+            String username = usernameFromShardName(name);
+            if (username != null) {
+                result.add(username);
+            }
+        }
+        return result;
+    }
+
+    private static String usernameFromShardName(String name) {
+        if (name.length() % 2 != 0) {
+            return null;
+        }
+        byte[] bytes = new byte[name.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(name.charAt(i * 2), 16);
+            int low = Character.digit(name.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ==================== MIGRACIÓN ====================
+
+    /**
+     * Migra el registro antiguo (un único JSON con todos los usuarios en
+     * KEY_USERS_DATA) a shards individuales. Solo se ejecuta una vez.
+     * El registro se recorre en streaming, así que en memoria solo vive un usuario a la vez.
+     */
+    private void migrateLegacyRegistry() {
+        String registryJson = legacyPrefs.getString(AppConstants.KEY_USERS_DATA, null);
+        if (registryJson == null) {
+            return;
+        }
+
+        boolean[] migrated = {true};
+        Set<String> migratedUsernames = new HashSet<>();
+        try {
+            legacyReader.forEachUser(registryJson, (username, user) -> {
+                if (usernames.contains(username)) {
+                    return;
+                }
+                user.setUsername(username);
+                if (writeShard(user)) {
+                    migratedUsernames.add(username);
+                } else {
+                    migrated[0] = false;
+                }
+            });
+        } catch (Exception e) {
+            Log.e(TAG, "Registro antiguo corrupto, migración parcial", e);
+            migrated[0] = false;
+        }
+        usernames.addAll(migratedUsernames);
+
+        // Solo se elimina el registro antiguo si todos los shards se escribieron
+        if (migrated[0]) {
+            legacyPrefs.remove(AppConstants.KEY_USERS_DATA);
+            Log.d(TAG, "Migrados " + migratedUsernames.size() + " usuarios a shards");
+        } else {
+            legacyRegistryPending = true;
+        }
+    }
+
+    private boolean legacyContains(String username) {
+        try {
+            return legacyReader.containsUser(
+                    legacyPrefs.getString(AppConstants.KEY_USERS_DATA, null), username);
+        } catch (Exception e) {
+            Log.e(TAG, "Error consultando el registro antiguo", e);
+            return false;
+        }
+    }
+
+    /**
+     * Lee un único usuario del registro antiguo y lo pasa a su shard
+     */
+    private User migrateLegacyUser(String username) {
+        try {
+            User user = legacyReader.findUser(
+                    legacyPrefs.getString(AppConstants.KEY_USERS_DATA, null), username);
+            if (user != null) {
+                user.setUsername(username);
+                save(user);
+            }
+            return user;
+        } catch (Exception e) {
+            Log.e(TAG, "Error leyendo " + username + " del registro antiguo", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.epicquestcardcollection.data.local;
+
+import android.util.AtomicFile;
+import android.util.Log;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Índice persistente de usernames registrados con un filtro de Bloom delante.
+ *
+ * Verificar si un username existe es una consulta en memoria de tiempo constante:
+ * el filtro de Bloom descarta la mayoría de los nombres libres sin tocar el set y
+ * solo los posibles positivos se confirman en el set.
+ *
+ * El archivo lleva un CRC32; si está corrupto o no coincide con los shards en disco
+ * (p. ej. un cierre entre escribir un shard y el índice), se reconstruye.
+ */
+public class UsernameIndex {
+
+    private static final String TAG = "UsernameIndex";
+
+    private static final int MAGIC = 0x45515549; // "EQUI"
+    private static final int VERSION = 1;
+    private static final int BITS_PER_NAME = 10;
+    private static final int HASH_FUNCTIONS = 7;
+    private static final int MIN_CAPACITY = 64;
+
+    private final AtomicFile file;
+    private final Set<String> usernames = new HashSet<>();
+    private long[] bloomBits;
+    private int bloomCapacity;
+
+    /**
+     * Carga el índice desde disco y lo valida
+     * @param expectedCount Número de shards presentes en disco
+     * @param rebuild Reconstruye el set de usernames a partir de los shards
+     */
+    public UsernameIndex(AtomicFile file, int expectedCount, Supplier<Set<String>> rebuild) {
+        this.file = file;
+
+        boolean valid = read();
+        if (!valid || usernames.size() != expectedCount) {
+            Log.w(TAG, valid ? "Índice desactualizado, reconstruyendo" : "Índice ilegible, reconstruyendo");
+            usernames.clear();
+            usernames.addAll(rebuild.get());
+            rebuildBloom();
+            save();
+        }
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * Verifica si el username está registrado
+     */
+    public boolean contains(String username) {
+        if (username == null || !mightContain(username)) {
+            return false;
+        }
+        return usernames.contains(username);
+    }
+
+    public int size() {
+        return usernames.size();
+    }
+
+    public Set<String> getUsernames() {
+        return Collections.unmodifiableSet(new HashSet<>(usernames));
+    }
+
+    // ==================== MODIFICACIONES ====================
+
+    /**
+     * Agrega un username y persiste el índice
+     * @return true si el username era nuevo
+     */
+    public boolean add(String username) {
+        if (!usernames.add(username)) {
+            return false;
+        }
+        if (usernames.size() > bloomCapacity) {
+            rebuildBloom();
+        } else {
+            addToBloom(username);
+        }
+        save();
+        return true;
+    }
+
+    /**
+     * Agrega varios usernames persistiendo el índice una sola vez
+     */
+    public void addAll(Collection<String> newUsernames) {
+        if (usernames.addAll(newUsernames)) {
+            rebuildBloom();
+            save();
+        }
+    }
+
+    // ==================== FILTRO DE BLOOM ====================
+
+    private boolean mightContain(String username) {
+        int hash1 = username.hashCode();
+        int hash2 = secondaryHash(username);
+        int bitCount = bloomBits.length * 64;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bloomBits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addToBloom(String username) {
+        int hash1 = username.hashCode();
+        int hash2 = secondaryHash(username);
+        int bitCount = bloomBits.length * 64;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            bloomBits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Dimensiona el filtro para el doble de los usernames actuales y lo vuelve a llenar
+     */
+    private void rebuildBloom() {
+        bloomCapacity = Math.max(MIN_CAPACITY, usernames.size() * 2);
+        bloomBits = new long[(bloomCapacity * BITS_PER_NAME + 63) / 64];
+        for (String username : usernames) {
+            addToBloom(username);
+        }
+    }
+
+    /**
+     * FNV-1a sobre los caracteres; independiente de String.hashCode
+     */
+    private static int secondaryHash(String value) {
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x01000193;
+        }
+        return hash | 1;
+    }
+
+    // ==================== PERSISTENCIA ====================
+
+    /**
+     * Formato: MAGIC, VERSION, capacidad, cantidad, usernames, bits del filtro, CRC32
+     */
+    private void save() {
+        FileOutputStream out = null;
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            DataOutputStream data = new DataOutputStream(buffer);
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            data.writeInt(bloomCapacity);
+            data.writeInt(usernames.size());
+            for (String username : usernames) {
+                data.writeUTF(username);
+            }
+            data.writeInt(bloomBits.length);
+            for (long word : bloomBits) {
+                data.writeLong(word);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.toByteArray());
+            data.writeLong(crc.getValue());
+            data.flush();
+
+            out = file.startWrite();
+            buffer.writeTo(out);
+            file.finishWrite(out);
+        } catch (IOException e) {
+            Log.e(TAG, "Error guardando el índice de usernames", e);
+            if (out != null) {
+                file.failWrite(out);
+            }
+        }
+    }
+
+    /**
+     * @return false si el archivo no existe o está corrupto
+     */
+    private boolean read() {
+        byte[] bytes;
+        try {
+            bytes = file.readFully();
+        } catch (FileNotFoundException e) {
+            return false;
+        } catch (IOException e) {
+            Log.e(TAG, "Error leyendo el índice de usernames", e);
+            return false;
+        }
+
+        try {
+            if (bytes.length < Long.BYTES) {
+                return false;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length - Long.BYTES);
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+                return false;
+            }
+            int capacity = data.readInt();
+            int count = data.readInt();
+            for (int i = 0; i < count; i++) {
+                usernames.add(data.readUTF());
+            }
+            int words = data.readInt();
+            if (words <= 0 || words > bytes.length / Long.BYTES) {
+                usernames.clear();
+                return false;
+            }
+            long[] bits = new long[words];
+            for (int i = 0; i < bits.length; i++) {
+                bits[i] = data.readLong();
+            }
+            if (data.readLong() != crc.getValue()) {
+                usernames.clear();
+                return false;
+            }
+            bloomCapacity = capacity;
+            bloomBits = bits;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Índice de usernames corrupto", e);
+            usernames.clear();
+            return false;
+        }
+    }
+}
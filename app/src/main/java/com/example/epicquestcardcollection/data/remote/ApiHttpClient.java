@@ -0,0 +1,56 @@
+package com.example.epicquestcardcollection.data.remote;
+
+import com.example.epicquestcardcollection.utils.AppConstants;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+
+/**
+ * Cliente HTTP compartido para la SuperHero API.
+ *
+ * Un solo OkHttpClient para todo el proceso mantiene un pool de conexiones
+ * keep-alive: las tiradas seguidas reutilizan el socket y la sesión TLS en
+ * lugar de repetir DNS, conexión y handshake. OkHttp negocia HTTP/2 por ALPN
+ * cuando el servidor lo soporta y pide/descomprime gzip de forma transparente.
+ */
+public class ApiHttpClient {
+
+    private static final int TIMING_HISTORY = 32;
+
+    private static ApiHttpClient instance;
+
+    private final OkHttpClient client;
+    private final HttpTimingStats timingStats;
+
+    private ApiHttpClient() {
+        this.timingStats = new HttpTimingStats(TIMING_HISTORY);
+        this.client = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(
+                        AppConstants.HTTP_MAX_IDLE_CONNECTIONS,
+                        AppConstants.HTTP_KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .connectTimeout(AppConstants.API_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .readTimeout(AppConstants.API_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .eventListenerFactory(HttpTimingListener.factory(timingStats))
+                .build();
+    }
+
+    public static synchronized ApiHttpClient getInstance() {
+        if (instance == null) {
+            instance = new ApiHttpClient();
+        }
+        return instance;
+    }
+
+    public OkHttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * Tiempos de las últimas llamadas (DNS, conexión, TLS, primer byte)
+     */
+    public HttpTimingStats getTimingStats() {
+        return timingStats;
+    }
+}
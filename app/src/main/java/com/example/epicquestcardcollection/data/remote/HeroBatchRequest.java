@@ -0,0 +1,182 @@
+package com.example.epicquestcardcollection.data.remote;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Descarga de varios héroes con un abanico paralelo acotado.
+ *
+ * Mantiene como mucho {@code maxConcurrent} peticiones individuales de
+ * {@link HeroFetchEngine} en curso y lanza la siguiente cuando termina una,
+ * respetando opcionalmente una separación mínima entre lanzamientos.
+ * Cada héroe se entrega en cuanto llega (hilo principal) y al final se
+ * entrega el resultado con los héroes obtenidos y los ids que fallaron.
+ *
+ * Cancelar el handle cancela las peticiones en curso, no lanza más y suelta el callback.
+ */
+class HeroBatchRequest extends CompletableFuture<Void> {
+
+    interface Launcher {
+        Future<?> launch(int heroId, SuperHeroAPI.HeroCallback callback);
+    }
+
+    private final int[] heroIds;
+    private final int maxConcurrent;
+    private final long minIntervalMs;
+    private final Launcher launcher;
+    private final ScheduledExecutorService scheduler;
+    private final Executor mainExecutor;
+
+    private volatile SuperHeroAPI.BatchCallback callback;
+    /** Peticiones en curso por posición en heroIds (un id puede repetirse) */
+    private final Map<Integer, Future<?>> children = new HashMap<>();
+    /** Posiciones cuya petición ya terminó, aunque el resultado llegara antes que su Future */
+    private final BitSet answered = new BitSet();
+    private final Map<Integer, HeroCard> heroes = new LinkedHashMap<>();
+    private final Map<Integer, String> failures = new LinkedHashMap<>();
+    private int next;
+    private int inFlight;
+    private long lastLaunch;
+    private boolean pumpScheduled;
+
+    HeroBatchRequest(int[] heroIds, int maxConcurrent, long minIntervalMs, Launcher launcher,
+                     ScheduledExecutorService scheduler, Executor mainExecutor,
+                     SuperHeroAPI.BatchCallback callback) {
+        this.heroIds = heroIds.clone();
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.minIntervalMs = minIntervalMs;
+        this.launcher = launcher;
+        this.scheduler = scheduler;
+        this.mainExecutor = mainExecutor;
+        this.callback = callback;
+    }
+
+    void start() {
+        pump();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            callback = null;
+            List<Future<?>> running;
+            synchronized (this) {
+                running = new ArrayList<>(children.values());
+                children.clear();
+            }
+            for (Future<?> child : running) {
+                child.cancel(mayInterruptIfRunning);
+            }
+        }
+        return cancelled;
+    }
+
+    // ==================== ABANICO ====================
+
+    /**
+     * Lanza peticiones hasta llenar los huecos libres; si hay separación mínima
+     * y todavía no toca, se reprograma
+     */
+    private synchronized void pump() {
+        pumpScheduled = false;
+        if (isDone()) {
+            return;
+        }
+        while (inFlight < maxConcurrent && next < heroIds.length) {
+            if (minIntervalMs > 0) {
+                long wait = lastLaunch + minIntervalMs - System.currentTimeMillis();
+                if (wait > 0) {
+                    if (!pumpScheduled) {
+                        pumpScheduled = true;
+                        scheduler.schedule(this::pump, wait, TimeUnit.MILLISECONDS);
+                    }
+                    return;
+                }
+                lastLaunch = System.currentTimeMillis();
+            }
+            launch(next++);
+        }
+        if (next >= heroIds.length && inFlight == 0) {
+            finish();
+        }
+    }
+
+    /**
+     * Se llama con el monitor tomado. El resultado puede llegar antes de que launch
+     * devuelva el Future (p. ej. si se entrega sin red), así que las hijas se
+     * identifican por su posición y no por el Future.
+     */
+    private void launch(int index) {
+        inFlight++;
+        int heroId = heroIds[index];
+        Future<?> child = launcher.launch(heroId, new SuperHeroAPI.HeroCallback() {
+            @Override
+            public void onHeroReceived(HeroCard heroCard) {
+                onResult(index, heroId, heroCard, null);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                onResult(index, heroId, null, errorMessage);
+            }
+        });
+        if (!answered.get(index)) {
+            children.put(index, child);
+        }
+    }
+
+    /**
+     * Llega en el hilo principal; los callbacks de las peticiones hijas ya se publican ahí
+     */
+    private void onResult(int index, int heroId, HeroCard hero, String errorMessage) {
+        synchronized (this) {
+            if (isDone()) {
+                return;
+            }
+            inFlight--;
+            answered.set(index);
+            children.remove(index);
+            if (hero != null) {
+                heroes.put(heroId, hero);
+            } else {
+                failures.put(heroId, errorMessage);
+            }
+        }
+        SuperHeroAPI.BatchCallback target = callback;
+        if (target != null) {
+            if (hero != null) {
+                target.onHeroReceived(heroId, hero);
+            } else {
+                target.onHeroFailed(heroId, errorMessage);
+            }
+        }
+        pump();
+    }
+
+    private void finish() {
+        SuperHeroAPI.BatchResult result = new SuperHeroAPI.BatchResult(
+                new LinkedHashMap<>(heroes), new LinkedHashMap<>(failures));
+        if (!complete(null)) {
+            return;
+        }
+        mainExecutor.execute(() -> {
+            SuperHeroAPI.BatchCallback target = callback;
+            callback = null;
+            if (target != null) {
+                target.onComplete(result);
+            }
+        });
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.epicquestcardcollection.data.remote;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.epicquestcardcollection.data.local.HeroCatalogStore;
+import com.example.epicquestcardcollection.data.local.SharedPreferencesHelper;
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.HeroCatalog;
+import com.example.epicquestcardcollection.utils.AppConstants;
+import com.example.epicquestcardcollection.utils.AppExecutors;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+/**
+ * Descarga una vez todos los héroes de la API al {@link HeroCatalog} local,
+ * que HeroCatalogStore guarda en su archivo compacto de solo-anexado.
+ * Con el catálogo completo las tiradas aleatorias se resuelven sin red.
+ *
+ * - Paralelo y limitado: un lote de HeroFetchEngine.fetchHeroes con como mucho
+ *   CATALOG_SYNC_PARALLELISM descargas a la vez y una nueva cada CATALOG_SYNC_INTERVAL_MS.
+ * - Reanudable: cada CATALOG_SYNC_CHECKPOINT_EVERY héroes se guarda el catálogo
+ *   y después el cursor (todos los ids hasta él están procesados) junto con los
+ *   ids que fallaron. Tras una muerte del proceso se sigue desde el cursor y se
+ *   reintentan los fallidos; los héroes ya presentes en el catálogo se saltan.
+ * - Tras CATALOG_SYNC_MAX_CONSECUTIVE_FAILURES errores seguidos (sin red) la
+ *   sincronización se pausa hasta la siguiente llamada a start().
+ * - Los héroes que una colección referencia pero faltan en el catálogo (ver
+ *   HeroCatalog.placeholder) se vuelven a descargar como si hubieran fallado.
+ */
+public class HeroCatalogSync {
+
+    private static final String TAG = "HeroCatalogSync";
+
+    private static HeroCatalogSync instance;
+
+    private final Context context;
+    private final HeroFetchEngine fetchEngine;
+    private final HeroCatalog catalog;
+    private final SharedPreferencesHelper prefs;
+    private final Executor diskExecutor;
+
+    private int cursor;
+    private final TreeSet<Integer> failed = new TreeSet<>();
+
+    // Estado de la ejecución en curso
+    private Future<?> batch;
+    private final BitSet finished = new BitSet();
+    private int consecutiveFailures;
+    private int sinceCheckpoint;
+
+    private HeroCatalogSync(Context context) {
+        this.context = context;
+        this.fetchEngine = HeroFetchEngine.getInstance(context);
+        // El catálogo se carga de disco en start(), no aquí: la UI también obtiene esta instancia
+        this.catalog = HeroCatalog.getInstance();
+        this.prefs = new SharedPreferencesHelper(context, AppConstants.PREFS_NAME);
+        this.diskExecutor = AppExecutors.getInstance().diskIO();
+        this.cursor = prefs.getInt(AppConstants.KEY_CATALOG_SYNC_CURSOR, 0);
+        readFailed(prefs.getString(AppConstants.KEY_CATALOG_SYNC_FAILED, ""));
+        catalog.setMissingHeroListener(() -> diskExecutor.execute(this::start));
+    }
+
+    public static synchronized HeroCatalogSync getInstance(Context context) {
+        if (instance == null) {
+            instance = new HeroCatalogSync(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * El catálogo ya recorrió todos los ids de la API y puede usarse para tiradas locales.
+     * Un id fallido nunca saldría en una tirada local, así que con fallidos pendientes
+     * solo se acepta si el catálogo tiene al menos CATALOG_SYNC_MIN_COVERAGE de los ids;
+     * esos pocos se siguen reintentando en segundo plano.
+     */
+    public synchronized boolean isSynced() {
+        // Mientras el catálogo se carga en diskIO las tiradas van a la API
+        if (!HeroCatalogStore.isLoaded() || cursor < AppConstants.API_MAX_HERO_ID || catalog.size() == 0) {
+            return false;
+        }
+        return failed.isEmpty()
+                || catalog.size() >= AppConstants.API_MAX_HERO_ID * AppConstants.CATALOG_SYNC_MIN_COVERAGE;
+    }
+
+    /**
+     * Inicia o reanuda la sincronización; no hace nada si ya está en curso o completa.
+     * Se llama desde diskIO: la primera vez carga el catálogo de disco, fuera del
+     * monitor para que isSynced() en el hilo principal no espere a la carga
+     */
+    public void start() {
+        HeroCatalogStore.getInstance(context);
+        startBatch();
+    }
+
+    private synchronized void startBatch() {
+        if (batch != null) {
+            return;
+        }
+        for (String heroId : catalog.drainMissing()) {
+            addFailed(heroId);
+        }
+        if (cursor >= AppConstants.API_MAX_HERO_ID && failed.isEmpty()) {
+            return;
+        }
+        finished.clear();
+        consecutiveFailures = 0;
+        sinceCheckpoint = 0;
+        // Primero los fallidos de ejecuciones anteriores, después lo que falta desde el cursor.
+        // Un fallido puede estar también después del cursor: se pide una sola vez
+        int[] pending = new int[failed.size() + Math.max(0, AppConstants.API_MAX_HERO_ID - cursor)];
+        int count = 0;
+        for (int heroId : failed) {
+            pending[count++] = heroId;
+        }
+        for (int heroId = cursor + 1; heroId <= AppConstants.API_MAX_HERO_ID; heroId++) {
+            if (failed.contains(heroId)) {
+                continue;
+            }
+            if (catalog.contains(String.valueOf(heroId))) {
+                markFinished(heroId);
+            } else {
+                pending[count++] = heroId;
+            }
+        }
+        Log.d(TAG, "Sincronización desde el id " + (cursor + 1) + ": " + count + " héroes pendientes");
+        batch = fetchEngine.fetchHeroes(Arrays.copyOf(pending, count),
+                AppConstants.CATALOG_SYNC_PARALLELISM, AppConstants.CATALOG_SYNC_INTERVAL_MS,
+                false, new SuperHeroAPI.BatchCallback() {
+                    @Override
+                    public void onHeroReceived(int heroId, HeroCard heroCard) {
+                        onFetched(heroId, heroCard);
+                    }
+
+                    @Override
+                    public void onHeroFailed(int heroId, String errorMessage) {
+                        onFailed(heroId, errorMessage);
+                    }
+
+                    @Override
+                    public void onComplete(SuperHeroAPI.BatchResult result) {
+                        finish();
+                    }
+                });
+    }
+
+    // ==================== EJECUCIÓN ====================
+
+    private synchronized void onFetched(int heroId, HeroCard hero) {
+        consecutiveFailures = 0;
+        catalog.intern(hero);
+        failed.remove(heroId);
+        markFinished(heroId);
+        if (++sinceCheckpoint >= AppConstants.CATALOG_SYNC_CHECKPOINT_EVERY) {
+            checkpoint();
+        }
+    }
+
+    private synchronized void onFailed(int heroId, String errorMessage) {
+        failed.add(heroId);
+        markFinished(heroId);
+        Log.w(TAG, "No se pudo sincronizar el héroe " + heroId + ": " + errorMessage);
+        if (++consecutiveFailures >= AppConstants.CATALOG_SYNC_MAX_CONSECUTIVE_FAILURES) {
+            Log.w(TAG, "Demasiados errores seguidos, sincronización pausada");
+            // Cancelar el lote no entrega onComplete: se cierra aquí
+            batch.cancel(true);
+            finish();
+        }
+    }
+
+    /**
+     * Avanza el cursor mientras los ids siguientes estén procesados
+     */
+    private void markFinished(int heroId) {
+        finished.set(heroId);
+        while (finished.get(cursor + 1)) {
+            cursor++;
+        }
+    }
+
+    private synchronized void finish() {
+        if (batch == null) {
+            return;
+        }
+        batch = null;
+        checkpoint();
+        Log.d(TAG, "Sincronización terminada: " + catalog.size() + " héroes, "
+                + failed.size() + " pendientes de reintento");
+        if (catalog.hasMissing()) {
+            // Faltantes avisados mientras había un lote en curso
+            diskExecutor.execute(this::start);
+        }
+    }
+
+    /**
+     * Guarda primero los héroes y después el cursor: un cursor guardado nunca
+     * apunta más allá de lo que está en disco. diskIO es de un solo hilo, así
+     * que los checkpoints se aplican en orden.
+     */
+    private void checkpoint() {
+        sinceCheckpoint = 0;
+        int savedCursor = cursor;
+        String savedFailed = writeFailed();
+        diskExecutor.execute(() -> {
+            if (!HeroCatalogStore.getInstance(context).persist()) {
+                return;
+            }
+            prefs.putInt(AppConstants.KEY_CATALOG_SYNC_CURSOR, savedCursor);
+            prefs.putString(AppConstants.KEY_CATALOG_SYNC_FAILED, savedFailed);
+        });
+    }
+
+    private void readFailed(String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        for (String heroId : value.split(",")) {
+            addFailed(heroId);
+        }
+    }
+
+    private void addFailed(String heroId) {
+        try {
+            failed.add(Integer.parseInt(heroId));
+        } catch (NumberFormatException e) {
+            Log.w(TAG, "Id de héroe inválido: " + heroId);
+        }
+    }
+
+    private String writeFailed() {
+        StringBuilder value = new StringBuilder();
+        for (int heroId : failed) {
+            if (value.length() > 0) {
+                value.append(',');
+            }
+            value.append(heroId);
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.epicquestcardcollection.data.remote;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.utils.AppConstants;
+import com.example.epicquestcardcollection.utils.AppExecutors;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Ejecuta las peticiones HTTP a la SuperHero API en un pool propio y acotado,
+ * separado del pool de I/O para que una red lenta no retrase las operaciones
+ * de repositorio. Las llamadas usan el cliente compartido de {@link ApiHttpClient}.
+ *
+ * Cada petición devuelve un {@link Future} que la Activity registra con
+ * BaseActivity.trackRequest: al cancelarlo se corta la llamada en curso,
+ * se suelta la referencia al callback (y con ella a la Activity) y el
+ * resultado ya no se entrega.
+ */
+public class HeroFetchEngine {
+
+    private static final String TAG = "HeroFetchEngine";
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static HeroFetchEngine instance;
+
+    private final ThreadPoolExecutor executor;
+    private final Executor mainExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final OkHttpClient httpClient;
+    private final HeroResponseCache cache;
+
+    /**
+     * @param maxConcurrent Peticiones que pueden estar en curso a la vez
+     * @param queueCapacity Peticiones en espera antes de rechazar nuevas
+     */
+    public HeroFetchEngine(int maxConcurrent, int queueCapacity, Executor mainExecutor,
+                           ScheduledExecutorService scheduler, OkHttpClient httpClient,
+                           HeroResponseCache cache) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                maxConcurrent, maxConcurrent,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "EpicQuest-Fetch-" + threadCount.incrementAndGet()));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.mainExecutor = mainExecutor;
+        this.scheduler = scheduler;
+        this.httpClient = httpClient;
+        this.cache = cache;
+    }
+
+    public static synchronized HeroFetchEngine getInstance(Context context) {
+        if (instance == null) {
+            instance = new HeroFetchEngine(
+                    AppConstants.FETCH_MAX_CONCURRENT,
+                    AppConstants.FETCH_QUEUE_CAPACITY,
+                    AppExecutors.getInstance().mainThread(),
+                    AppExecutors.getInstance().diskIO(),
+                    ApiHttpClient.getInstance().getClient(),
+                    HeroResponseCache.getInstance(context));
+        }
+        return instance;
+    }
+
+    public HeroResponseCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Obtiene un héroe de la caché o de la API y entrega el resultado en el hilo principal
+     * @return Handle para cancelar la petición
+     */
+    public Future<?> fetchHero(int heroId, SuperHeroAPI.HeroCallback callback) {
+        // Un acierto en memoria no necesita hilo: la petición se completa aquí mismo
+        HeroCard cached = cache.getFromMemory(heroId);
+        if (cached != null) {
+            return deliver(cached, callback);
+        }
+        return submit(new FetchRequest(heroId, true, callback));
+    }
+
+    /**
+     * Descarga un héroe sin leer ni llenar la caché de respuestas.
+     * Para la sincronización del catálogo, que guarda el resultado por su cuenta.
+     */
+    public Future<?> fetchHeroFromNetwork(int heroId, SuperHeroAPI.HeroCallback callback) {
+        return submit(new FetchRequest(heroId, false, callback));
+    }
+
+    /**
+     * Obtiene varios héroes con como mucho {@code maxConcurrent} peticiones a la vez.
+     * Cada héroe se entrega en cuanto llega y al final el resultado con los fallos.
+     * @param minIntervalMs Separación mínima entre lanzamientos (0 sin límite de ritmo)
+     * @param useCache false para ir siempre a la red sin llenar la caché de respuestas
+     * @return Handle para cancelar todo el lote
+     */
+    public Future<?> fetchHeroes(int[] heroIds, int maxConcurrent, long minIntervalMs, boolean useCache,
+                                 SuperHeroAPI.BatchCallback callback) {
+        HeroBatchRequest batch = new HeroBatchRequest(heroIds, maxConcurrent, minIntervalMs,
+                useCache ? this::fetchHero : this::fetchHeroFromNetwork,
+                scheduler, mainExecutor, callback);
+        batch.start();
+        return batch;
+    }
+
+    /**
+     * Entrega un héroe ya disponible localmente por el mismo camino que una descarga
+     * (hilo principal, cancelable)
+     */
+    public Future<?> deliver(HeroCard hero, SuperHeroAPI.HeroCallback callback) {
+        // El id solo se usa en los logs de error, que aquí no pueden ocurrir
+        FetchRequest request = new FetchRequest(0, false, callback);
+        request.complete(hero);
+        return request;
+    }
+
+    private Future<?> submit(FetchRequest request) {
+        int heroId = request.heroId;
+        try {
+            executor.execute(request);
+            return request;
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Demasiadas peticiones en curso, se rechaza el héroe " + heroId);
+            request.deliverError("Demasiadas peticiones en curso, inténtalo de nuevo");
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    // ==================== DESCARGA ====================
+
+    /**
+     * Busca el héroe en disco (la memoria ya se consultó en fetchHero) y, si no
+     * está, lo descarga y lo guarda en la caché. Corre en el hilo del pool.
+     */
+    private HeroCard load(int heroId, boolean useCache, AtomicReference<Call> active) throws IOException {
+        if (!useCache) {
+            return download(heroId, active);
+        }
+        HeroCard cached = cache.getFromDisk(heroId);
+        if (cached != null) {
+            return cached;
+        }
+        HeroCard hero = download(heroId, active);
+        if (hero != null) {
+            cache.put(heroId, hero);
+        }
+        return hero;
+    }
+
+    /**
+     * Descarga y parsea el héroe.
+     * La llamada se publica en {@code active} para que cancelar pueda cortarla.
+     */
+    private HeroCard download(int heroId, AtomicReference<Call> active) throws IOException {
+        Request request = new Request.Builder()
+                .url(AppConstants.SUPERHERO_API_BASE_URL + AppConstants.API_ACCESS_TOKEN + "/" + heroId)
+                .get()
+                .build();
+        Call call = httpClient.newCall(request);
+        active.set(call);
+        // Respuesta cerrada siempre: así la conexión vuelve al pool para la siguiente tirada
+        try (Response response = call.execute()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("HTTP " + response.code());
+            }
+            ResponseBody body = response.body();
+            if (body == null || body.contentLength() == 0) {
+                throw new IOException("Respuesta vacía de la API");
+            }
+            // Se parsea leyendo del cuerpo, sin copiarlo a un String
+            return HeroResponseParser.parse(body.charStream(), heroId);
+        } finally {
+            active.set(null);
+        }
+    }
+
+    // ==================== PETICIÓN ====================
+
+    private final class FetchRequest extends FutureTask<HeroCard> {
+
+        private final int heroId;
+        private final AtomicReference<Call> call;
+        private volatile SuperHeroAPI.HeroCallback callback;
+
+        FetchRequest(int heroId, boolean useCache, SuperHeroAPI.HeroCallback callback) {
+            this(heroId, useCache, callback, new AtomicReference<>());
+        }
+
+        private FetchRequest(int heroId, boolean useCache, SuperHeroAPI.HeroCallback callback,
+                             AtomicReference<Call> call) {
+            super(() -> load(heroId, useCache, call));
+            this.heroId = heroId;
+            this.call = call;
+            this.callback = callback;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                callback = null;
+                // La lectura bloqueada no responde a interrupciones; cancelar la llamada sí la corta
+                Call active = call.get();
+                if (active != null) {
+                    active.cancel();
+                }
+            }
+            return cancelled;
+        }
+
+        void complete(HeroCard hero) {
+            set(hero);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                HeroCard hero = get();
+                if (hero != null) {
+                    deliverHero(hero);
+                } else {
+                    deliverError("Respuesta inválida de la API");
+                }
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                Log.e(TAG, "Error obteniendo el héroe " + heroId + ": " + cause.getMessage());
+                deliverError("Error de conexión: " + cause.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void deliverHero(HeroCard hero) {
+            mainExecutor.execute(() -> {
+                SuperHeroAPI.HeroCallback target = release();
+                if (target != null) {
+                    target.onHeroReceived(hero);
+                }
+            });
+        }
+
+        void deliverError(String message) {
+            mainExecutor.execute(() -> {
+                SuperHeroAPI.HeroCallback target = release();
+                if (target != null) {
+                    target.onError(message);
+                }
+            });
+        }
+
+        /**
+         * Entrega el callback una sola vez; null si la petición se canceló
+         * mientras el resultado esperaba en la cola del hilo principal
+         */
+        private SuperHeroAPI.HeroCallback release() {
+            SuperHeroAPI.HeroCallback target = callback;
+            callback = null;
+            return isCancelled() ? null : target;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.epicquestcardcollection.data.remote;
+
+import android.content.Context;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import com.example.epicquestcardcollection.data.local.BinaryModelCodec;
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.utils.AppConstants;
+import com.example.epicquestcardcollection.utils.AppExecutors;
+import com.squareup.picasso.Picasso;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cola de héroes aleatorios ya descargados para que "Obtener Carta" no espere a la red.
+ *
+ * Mantiene hasta PREFETCH_QUEUE_DEPTH héroes parseados con su imagen precargada
+ * en Picasso. Al sacar uno se pide otro en segundo plano. La cola se guarda en
+ * disco para sobrevivir a la muerte del proceso.
+ *
+ * Cuando el catálogo completo está sincronizado (ver {@link HeroCatalogSync})
+ * las tiradas ya son locales y la cola deja de reponerse.
+ *
+ * La cola no concede cartas: quien la usa debe comprobar y consumir la
+ * oportunidad antes de sacar un héroe, y nunca se precargan más héroes que
+ * oportunidades le quedan al usuario. Por eso la cola es de la sesión actual y
+ * se vacía al cerrarla (ver {@link #clear()}).
+ *
+ * Debe usarse desde el hilo principal; los resultados de HeroFetchEngine ya
+ * llegan ahí y la escritura a disco se hace en diskIO con una copia.
+ */
+public class HeroPrefetchQueue {
+
+    private static final String TAG = "HeroPrefetchQueue";
+
+    private static HeroPrefetchQueue instance;
+
+    private final HeroFetchEngine fetchEngine;
+    private final HeroCatalogSync catalogSync;
+    private final AtomicFile file;
+    private final int depth;
+    private final ArrayDeque<HeroCard> ready = new ArrayDeque<>();
+    private int inFlight;
+    /** Cambia con cada clear(); las descargas pedidas antes se descartan al llegar */
+    private int generation;
+
+    private HeroPrefetchQueue(Context context) {
+        this.fetchEngine = HeroFetchEngine.getInstance(context);
+        this.catalogSync = HeroCatalogSync.getInstance(context);
+        this.file = new AtomicFile(new File(context.getFilesDir(), AppConstants.PREFETCH_QUEUE_FILE));
+        this.depth = AppConstants.PREFETCH_QUEUE_DEPTH;
+        load();
+    }
+
+    public static synchronized HeroPrefetchQueue getInstance(Context context) {
+        if (instance == null) {
+            instance = new HeroPrefetchQueue(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    // ==================== OPERACIONES ====================
+
+    /**
+     * Saca el siguiente héroe precargado, con la hora actual como fecha de obtención.
+     * Llamar solo después de consumir una oportunidad.
+     * @return El héroe o null si la cola está vacía
+     */
+    public HeroCard poll() {
+        HeroCard hero = ready.pollFirst();
+        if (hero == null) {
+            return null;
+        }
+        persist();
+        return hero.copyWithObtainedAt(System.currentTimeMillis());
+    }
+
+    /**
+     * Pide los héroes que falten hasta la profundidad configurada, sin pasar
+     * de las oportunidades que le quedan al usuario
+     * @param remainingOpportunities Oportunidades disponibles del usuario
+     */
+    public void refill(int remainingOpportunities) {
+        if (catalogSync.isSynced()) {
+            // Las tiradas ya son locales; lo que quede en la cola se sigue usando
+            return;
+        }
+        int target = Math.min(depth, Math.max(0, remainingOpportunities));
+        int requestGeneration = generation;
+        while (ready.size() + inFlight < target) {
+            inFlight++;
+            fetchEngine.fetchHero(SuperHeroAPI.randomHeroId(), new SuperHeroAPI.HeroCallback() {
+                @Override
+                public void onHeroReceived(HeroCard heroCard) {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    inFlight--;
+                    warmImage(heroCard);
+                    ready.addLast(heroCard);
+                    persist();
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    if (requestGeneration != generation) {
+                        return;
+                    }
+                    inFlight--;
+                    Log.w(TAG, "No se pudo precargar un héroe: " + errorMessage);
+                }
+            });
+        }
+    }
+
+    /**
+     * Vacía la cola al cerrar sesión: se precargó según las oportunidades de ese
+     * usuario y no debe pasar al siguiente. También se vacía el archivo.
+     */
+    public void clear() {
+        generation++;
+        inFlight = 0;
+        if (!ready.isEmpty()) {
+            ready.clear();
+            persist();
+        }
+    }
+
+    public int size() {
+        return ready.size();
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    private static void warmImage(HeroCard hero) {
+        String imageUrl = hero.getImageUrl();
+        if (imageUrl != null && !imageUrl.isEmpty()) {
+            Picasso.get().load(imageUrl).priority(Picasso.Priority.LOW).fetch();
+        }
+    }
+
+    /**
+     * Formato: [cantidad] y por héroe [longitud][HeroCard de BinaryModelCodec]
+     */
+    private void persist() {
+        List<HeroCard> snapshot = new ArrayList<>(ready);
+        AppExecutors.getInstance().diskIO().execute(() -> write(snapshot));
+    }
+
+    private synchronized void write(List<HeroCard> heroes) {
+        FileOutputStream out = null;
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(heroes.size() * 128 + 4);
+            DataOutputStream data = new DataOutputStream(buffer);
+            data.writeInt(heroes.size());
+            for (HeroCard hero : heroes) {
+                byte[] record = BinaryModelCodec.HERO_CARD.encode(hero);
+                data.writeInt(record.length);
+                data.write(record);
+            }
+            out = file.startWrite();
+            buffer.writeTo(out);
+            file.finishWrite(out);
+        } catch (IOException e) {
+            Log.e(TAG, "Error guardando la cola de precarga", e);
+            if (out != null) {
+                file.failWrite(out);
+            }
+        }
+    }
+
+    private void load() {
+        try {
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(file.readFully()));
+            int count = data.readInt();
+            for (int i = 0; i < count && ready.size() < depth; i++) {
+                byte[] record = new byte[data.readInt()];
+                data.readFully(record);
+                HeroCard hero = BinaryModelCodec.HERO_CARD.decode(record);
+                warmImage(hero);
+                ready.addLast(hero);
+            }
+            Log.d(TAG, "Cola de precarga restaurada: " + ready.size() + " héroes");
+        } catch (FileNotFoundException e) {
+            // Primera ejecución
+        } catch (IOException e) {
+            Log.w(TAG, "Cola de precarga ilegible, se descarta", e);
+            ready.clear();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.epicquestcardcollection.data.remote;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.LruCache;
+
+import com.example.epicquestcardcollection.data.local.BinaryModelCodec;
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.utils.AppConstants;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caché de dos niveles para las respuestas ya parseadas de la SuperHero API.
+ *
+ * Los datos de un héroe no cambian, así que una respuesta descargada sirve para
+ * cualquier tirada posterior del mismo id:
+ * - Memoria: LruCache acotado por número de héroes.
+ * - Disco: un archivo por héroe en el directorio de caché (HeroCard de
+ *   BinaryModelCodec), con caducidad por antigüedad y un tope de bytes que se
+ *   respeta borrando primero los más antiguos.
+ *
+ * Las entradas se guardan con obtainedAt en 0 y se entregan como copia con la
+ * hora actual, igual que una carta recién descargada.
+ * Las lecturas de disco deben hacerse fuera del hilo principal.
+ */
+public class HeroResponseCache {
+
+    private static final String TAG = "HeroResponseCache";
+    private static final String CACHE_DIR = "heroes";
+    private static final String ENTRY_EXTENSION = ".bin";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private static HeroResponseCache instance;
+
+    private final LruCache<Integer, HeroCard> memory;
+    private final File directory;
+
+    private long diskBytes = -1; // -1 hasta el primer recorrido del directorio
+
+    private final AtomicInteger memoryHits = new AtomicInteger();
+    private final AtomicInteger memoryMisses = new AtomicInteger();
+    private final AtomicInteger diskHits = new AtomicInteger();
+    private final AtomicInteger diskMisses = new AtomicInteger();
+    private final AtomicInteger diskExpired = new AtomicInteger();
+    private final AtomicInteger diskEvictions = new AtomicInteger();
+
+    private HeroResponseCache(Context context) {
+        this.memory = new LruCache<>(AppConstants.HERO_MEMORY_CACHE_ENTRIES);
+        this.directory = new File(context.getCacheDir(), CACHE_DIR);
+    }
+
+    public static synchronized HeroResponseCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new HeroResponseCache(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * Busca solo en memoria; seguro desde el hilo principal
+     * @return Copia del héroe o null si no está en memoria
+     */
+    public HeroCard getFromMemory(int heroId) {
+        HeroCard hero = memory.get(heroId);
+        if (hero == null) {
+            memoryMisses.incrementAndGet();
+            return null;
+        }
+        memoryHits.incrementAndGet();
+        return hero.copyWithObtainedAt(System.currentTimeMillis());
+    }
+
+    /**
+     * Busca en memoria y después en disco; un acierto en disco sube a memoria
+     * @return Copia del héroe o null si hay que ir a la red
+     */
+    public HeroCard get(int heroId) {
+        HeroCard hero = getFromMemory(heroId);
+        return hero != null ? hero : getFromDisk(heroId);
+    }
+
+    /**
+     * Busca solo en disco (tras fallar en memoria); un acierto sube a memoria
+     * @return Copia del héroe o null si hay que ir a la red
+     */
+    public HeroCard getFromDisk(int heroId) {
+        HeroCard stored = readFromDisk(heroId);
+        if (stored == null) {
+            diskMisses.incrementAndGet();
+            return null;
+        }
+        diskHits.incrementAndGet();
+        memory.put(heroId, stored);
+        return stored.copyWithObtainedAt(System.currentTimeMillis());
+    }
+
+    /**
+     * Guarda una respuesta en ambos niveles
+     */
+    public void put(int heroId, HeroCard hero) {
+        HeroCard stored = hero.copyWithObtainedAt(0);
+        memory.put(heroId, stored);
+        writeToDisk(heroId, stored);
+    }
+
+    public synchronized void clear() {
+        memory.evictAll();
+        File[] entries = directory.listFiles();
+        if (entries != null) {
+            for (File entry : entries) {
+                entry.delete();
+            }
+        }
+        diskBytes = 0;
+    }
+
+    // ==================== CONTADORES ====================
+
+    public int getMemoryHits() { return memoryHits.get(); }
+
+    public int getMemoryMisses() { return memoryMisses.get(); }
+
+    public int getMemoryEvictions() { return memory.evictionCount(); }
+
+    public int getDiskHits() { return diskHits.get(); }
+
+    public int getDiskMisses() { return diskMisses.get(); }
+
+    public int getDiskExpired() { return diskExpired.get(); }
+
+    public int getDiskEvictions() { return diskEvictions.get(); }
+
+    public String summary() {
+        return String.format(Locale.US,
+                "memoria: %d aciertos, %d fallos, %d desalojos | disco: %d aciertos, %d fallos, %d caducados, %d desalojos",
+                getMemoryHits(), getMemoryMisses(), getMemoryEvictions(),
+                getDiskHits(), getDiskMisses(), getDiskExpired(), getDiskEvictions());
+    }
+
+    // ==================== DISCO ====================
+
+    private synchronized HeroCard readFromDisk(int heroId) {
+        File entry = entryFile(heroId);
+        if (!entry.exists()) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.lastModified() > AppConstants.HERO_DISK_CACHE_TTL_MS) {
+            diskExpired.incrementAndGet();
+            deleteEntry(entry);
+            return null;
+        }
+        byte[] data = new byte[(int) entry.length()];
+        try (FileInputStream in = new FileInputStream(entry)) {
+            int offset = 0;
+            while (offset < data.length) {
+                int read = in.read(data, offset, data.length - offset);
+                if (read < 0) {
+                    throw new IOException("Entrada incompleta");
+                }
+                offset += read;
+            }
+            return BinaryModelCodec.HERO_CARD.decode(data);
+        } catch (IOException e) {
+            Log.w(TAG, "Entrada de caché ilegible para el héroe " + heroId, e);
+            deleteEntry(entry);
+            return null;
+        }
+    }
+
+    private synchronized void writeToDisk(int heroId, HeroCard hero) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Log.w(TAG, "No se pudo crear el directorio de caché");
+            return;
+        }
+        ensureSizeKnown();
+
+        File entry = entryFile(heroId);
+        File temp = new File(directory, heroId + TEMP_EXTENSION);
+        byte[] data;
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            data = BinaryModelCodec.HERO_CARD.encode(hero);
+            out.write(data);
+        } catch (IOException e) {
+            Log.w(TAG, "No se pudo guardar el héroe " + heroId + " en caché", e);
+            temp.delete();
+            return;
+        }
+        long previous = entry.exists() ? entry.length() : 0;
+        if (!temp.renameTo(entry)) {
+            temp.delete();
+            return;
+        }
+        diskBytes += data.length - previous;
+        trimToSize();
+    }
+
+    /**
+     * Al pasar el tope borra las entradas más antiguas hasta bajar al 90%,
+     * para no recorrer el directorio en cada escritura con la caché llena
+     */
+    private void trimToSize() {
+        if (diskBytes <= AppConstants.HERO_DISK_CACHE_MAX_BYTES) {
+            return;
+        }
+        long target = AppConstants.HERO_DISK_CACHE_MAX_BYTES / 10 * 9;
+        File[] entries = directory.listFiles((dir, name) -> name.endsWith(ENTRY_EXTENSION));
+        if (entries == null) {
+            return;
+        }
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+        for (File entry : entries) {
+            if (diskBytes <= target) {
+                break;
+            }
+            deleteEntry(entry);
+            diskEvictions.incrementAndGet();
+        }
+    }
+
+    private void ensureSizeKnown() {
+        if (diskBytes >= 0) {
+            return;
+        }
+        diskBytes = 0;
+        File[] entries = directory.listFiles();
+        if (entries == null) {
+            return;
+        }
+        for (File entry : entries) {
+            if (entry.getName().endsWith(ENTRY_EXTENSION)) {
+                diskBytes += entry.length();
+            } else {
+                // Temporales de una escritura interrumpida
+                entry.delete();
+            }
+        }
+    }
+
+    private void deleteEntry(File entry) {
+        long length = entry.length();
+        if (entry.delete() && diskBytes >= 0) {
+            diskBytes -= length;
+        }
+    }
+
+    private File entryFile(int heroId) {
+        return new File(directory, heroId + ENTRY_EXTENSION);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.epicquestcardcollection.data.remote;
+
+import android.util.Log;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Parser en streaming de la respuesta de un héroe de la SuperHero API.
+ *
+ * Lee directamente del cuerpo con el JsonReader de Gson, sin pasar por un String
+ * ni construir el árbol completo: solo se leen response, name, biography,
+ * image y powerstats; appearance, work, connections y cualquier otro campo
+ * se saltan sin crear objetos.
+ *
+ * Produce lo mismo que el parser anterior con org.json: null si la respuesta no es
+ * "success", falta algún campo obligatorio o el cuerpo no es JSON válido, biografía
+ * "nombre completo - editorial", URL de imagen vacía si no es válida y 0 para las
+ * estadísticas "null".
+ */
+public final class HeroResponseParser {
+
+    private static final String TAG = "HeroResponseParser";
+
+    private HeroResponseParser() {
+        // Clase de utilidades
+    }
+
+    /**
+     * @return El héroe, o null si la respuesta no es válida o no es JSON
+     * @throws IOException Si el cuerpo no se puede leer (errores de red)
+     */
+    public static HeroCard parse(Reader body, int heroId) throws IOException {
+        try {
+            return read(new JsonReader(body), heroId);
+        } catch (IllegalStateException e) {
+            // JSON válido pero con otra forma (p. ej. un array donde se espera un objeto)
+            Log.e(TAG, "Respuesta con formato inesperado para ID: " + heroId, e);
+            return null;
+        } catch (MalformedJsonException | EOFException e) {
+            // Sintaxis inválida o cuerpo que termina antes de cerrar el JSON
+            Log.e(TAG, "Respuesta que no es JSON válido para ID: " + heroId, e);
+            return null;
+        }
+    }
+
+    private static HeroCard read(JsonReader in, int heroId) throws IOException {
+        String response = null;
+        String name = null;
+        String fullName = null;
+        String publisher = null;
+        String imageUrl = null;
+        PowerStats stats = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "response":
+                    response = readString(in);
+                    if (!"success".equals(response)) {
+                        // No hace falta leer el resto
+                        Log.w(TAG, "Respuesta de API no exitosa para ID: " + heroId);
+                        return null;
+                    }
+                    break;
+                case "name":
+                    name = readString(in);
+                    break;
+                case "biography":
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        switch (in.nextName()) {
+                            case "full-name": fullName = readString(in); break;
+                            case "publisher": publisher = readString(in); break;
+                            default: in.skipValue(); break;
+                        }
+                    }
+                    in.endObject();
+                    break;
+                case "image":
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        if ("url".equals(in.nextName())) {
+                            imageUrl = readString(in);
+                        } else {
+                            in.skipValue();
+                        }
+                    }
+                    in.endObject();
+                    break;
+                case "powerstats":
+                    stats = readPowerStats(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        if (response == null || name == null || fullName == null || publisher == null
+                || imageUrl == null || stats == null) {
+            Log.e(TAG, "Respuesta incompleta para ID: " + heroId);
+            return null;
+        }
+
+        if (imageUrl.isEmpty() || imageUrl.equals("null")) {
+            Log.e(TAG, "URL de imagen inválida para " + name);
+            imageUrl = "";
+        }
+
+        Log.d(TAG, "Héroe parseado: " + name + " (ID: " + heroId + ")");
+        return new HeroCard(String.valueOf(heroId), name, fullName + " - " + publisher, imageUrl, stats);
+    }
+
+    // ==================== AUXILIARES ====================
+
+    /**
+     * Las seis estadísticas son obligatorias; null si falta alguna
+     */
+    private static PowerStats readPowerStats(JsonReader in) throws IOException {
+        PowerStats stats = new PowerStats();
+        int seen = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "intelligence": stats.setIntelligence(readStat(in)); seen |= 1; break;
+                case "strength": stats.setStrength(readStat(in)); seen |= 1 << 1; break;
+                case "speed": stats.setSpeed(readStat(in)); seen |= 1 << 2; break;
+                case "durability": stats.setDurability(readStat(in)); seen |= 1 << 3; break;
+                case "power": stats.setPower(readStat(in)); seen |= 1 << 4; break;
+                case "combat": stats.setCombat(readStat(in)); seen |= 1 << 5; break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+        return seen == 0x3F ? stats : null;
+    }
+
+    /**
+     * La API manda las estadísticas como texto y "null" cuando no las conoce
+     */
+    private static int readStat(JsonReader in) throws IOException {
+        String value = readString(in);
+        if (value == null || value.equals("null")) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Igual que JSONObject.getString: los null pasan a "null" y los números y
+     * booleanos a su texto. Un objeto o array se salta y cuenta como ausente.
+     */
+    private static String readString(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NULL:
+                in.nextNull();
+                return "null";
+            case BOOLEAN:
+                return Boolean.toString(in.nextBoolean());
+            case STRING:
+            case NUMBER:
+                return in.nextString();
+            default:
+                in.skipValue();
+                return null;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.epicquestcardcollection.data.remote;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+/**
+ * Mide las fases de una llamada de OkHttp (DNS, conexión, TLS, primer byte).
+ * Se crea una instancia por llamada, así que los campos no necesitan sincronización.
+ */
+public class HttpTimingListener extends EventListener {
+
+    private static final String TAG = "HttpTiming";
+
+    /**
+     * Fábrica para {@code OkHttpClient.Builder.eventListenerFactory}
+     */
+    public static EventListener.Factory factory(HttpTimingStats stats) {
+        return call -> new HttpTimingListener(stats);
+    }
+
+    private final HttpTimingStats stats;
+
+    private long callStart;
+    private long dnsStart = -1, dnsEnd = -1;
+    private long connectStart = -1, connectEnd = -1;
+    private long tlsStart = -1, tlsEnd = -1;
+    private long firstByte = -1;
+    private String protocol = "?";
+
+    private HttpTimingListener(HttpTimingStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = SystemClock.elapsedRealtime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = SystemClock.elapsedRealtime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+        dnsEnd = SystemClock.elapsedRealtime();
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+        // Con varios intentos de ruta se mide desde el primero
+        if (connectStart < 0) {
+            connectStart = SystemClock.elapsedRealtime();
+        }
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        tlsStart = SystemClock.elapsedRealtime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        tlsEnd = SystemClock.elapsedRealtime();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+        connectEnd = SystemClock.elapsedRealtime();
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        protocol = connection.protocol().toString();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        if (firstByte < 0) {
+            firstByte = SystemClock.elapsedRealtime();
+        }
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        finish(call, false);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException e) {
+        finish(call, true);
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    private void finish(Call call, boolean failed) {
+        long end = SystemClock.elapsedRealtime();
+        HttpTimingStats.CallTiming timing = new HttpTimingStats.CallTiming(
+                call.request().url().host(),
+                span(dnsStart, dnsEnd),
+                span(connectStart, connectEnd),
+                span(tlsStart, tlsEnd),
+                span(callStart, firstByte),
+                end - callStart,
+                protocol,
+                failed);
+        stats.record(timing);
+        Log.d(TAG, timing.toString());
+    }
+
+    private static long span(long start, long end) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+}
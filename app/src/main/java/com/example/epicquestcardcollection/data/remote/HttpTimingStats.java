@@ -0,0 +1,133 @@
+package com.example.epicquestcardcollection.data.remote;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Últimas mediciones de tiempos HTTP registradas por {@link HttpTimingListener}.
+ * Guarda un buffer circular de tamaño fijo para poder comparar peticiones
+ * con conexión nueva contra peticiones que reutilizan una del pool.
+ */
+public class HttpTimingStats {
+
+    /**
+     * Tiempos de una llamada en milisegundos; -1 si la fase no ocurrió
+     * (por ejemplo DNS, conexión y TLS cuando la conexión se reutiliza)
+     */
+    public static class CallTiming {
+        private final String host;
+        private final long dnsMs;
+        private final long connectMs;
+        private final long tlsMs;
+        private final long firstByteMs;
+        private final long totalMs;
+        private final String protocol;
+        private final boolean failed;
+
+        public CallTiming(String host, long dnsMs, long connectMs, long tlsMs,
+                          long firstByteMs, long totalMs, String protocol, boolean failed) {
+            this.host = host;
+            this.dnsMs = dnsMs;
+            this.connectMs = connectMs;
+            this.tlsMs = tlsMs;
+            this.firstByteMs = firstByteMs;
+            this.totalMs = totalMs;
+            this.protocol = protocol;
+            this.failed = failed;
+        }
+
+        /**
+         * La conexión salió del pool: no hubo DNS, conexión ni handshake TLS
+         */
+        public boolean isReusedConnection() {
+            return connectMs < 0;
+        }
+
+        public String getHost() { return host; }
+
+        public long getDnsMs() { return dnsMs; }
+
+        public long getConnectMs() { return connectMs; }
+
+        public long getTlsMs() { return tlsMs; }
+
+        public long getFirstByteMs() { return firstByteMs; }
+
+        public long getTotalMs() { return totalMs; }
+
+        public String getProtocol() { return protocol; }
+
+        public boolean isFailed() { return failed; }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%s %s dns=%dms connect=%dms tls=%dms ttfb=%dms total=%dms%s%s",
+                    host, protocol, dnsMs, connectMs, tlsMs, firstByteMs, totalMs,
+                    isReusedConnection() ? " (reutilizada)" : "",
+                    failed ? " FALLÓ" : "");
+        }
+    }
+
+    private final CallTiming[] recent;
+    private int next;
+    private int size;
+
+    public HttpTimingStats(int capacity) {
+        this.recent = new CallTiming[capacity];
+    }
+
+    public synchronized void record(CallTiming timing) {
+        recent[next] = timing;
+        next = (next + 1) % recent.length;
+        if (size < recent.length) {
+            size++;
+        }
+    }
+
+    /**
+     * @return Las mediciones guardadas, de la más antigua a la más reciente
+     */
+    public synchronized List<CallTiming> getRecent() {
+        List<CallTiming> result = new ArrayList<>(size);
+        int start = (next - size + recent.length) % recent.length;
+        for (int i = 0; i < size; i++) {
+            result.add(recent[(start + i) % recent.length]);
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(recent, null);
+        next = 0;
+        size = 0;
+    }
+
+    /**
+     * Resumen de primer byte y total, separando conexiones nuevas de reutilizadas
+     */
+    public String summary() {
+        long coldTtfb = 0, coldTotal = 0, warmTtfb = 0, warmTotal = 0;
+        int cold = 0, warm = 0;
+        for (CallTiming timing : getRecent()) {
+            if (timing.isFailed()) {
+                continue;
+            }
+            if (timing.isReusedConnection()) {
+                warm++;
+                warmTtfb += timing.getFirstByteMs();
+                warmTotal += timing.getTotalMs();
+            } else {
+                cold++;
+                coldTtfb += timing.getFirstByteMs();
+                coldTotal += timing.getTotalMs();
+            }
+        }
+        return String.format(Locale.US,
+                "nuevas: %d (ttfb %dms, total %dms) | reutilizadas: %d (ttfb %dms, total %dms)",
+                cold, cold == 0 ? 0 : coldTtfb / cold, cold == 0 ? 0 : coldTotal / cold,
+                warm, warm == 0 ? 0 : warmTtfb / warm, warm == 0 ? 0 : warmTotal / warm);
+    }
+}
@@ -1,24 +1,21 @@
 package com.example.epicquestcardcollection.data.remote;
 
-import android.os.AsyncTask;
+import android.content.Context;
 import android.util.Log;
 
 import com.example.epicquestcardcollection.model.HeroCard;
-import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.HeroCatalog;
 import com.example.epicquestcardcollection.utils.AppConstants;
 
-import org.json.JSONObject;
-
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.Random;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Cliente para consumir la SuperHero API y obtener datos de héroes.
- * Utiliza AsyncTask para realizar las peticiones HTTP en segundo plano.
+ * Las peticiones pasan por la caché de {@link HeroResponseCache}, corren en el
+ * pool acotado de {@link HeroFetchEngine} y los callbacks se publican en el hilo principal.
  */
 public class SuperHeroAPI {
 
@@ -28,160 +25,74 @@ public class SuperHeroAPI {
     }
 
     /**
-     * Obtiene un héroe aleatorio de la API
+     * Resultados de {@link #getHeroesByIds}; todos llegan en el hilo principal
      */
-    public static void getRandomHero(HeroCallback callback) {
-        // La API tiene IDs desde 1 hasta ~730
-        int randomId = new Random().nextInt(730) + 1;
-        new FetchHeroTask(callback).execute(randomId);
+    public interface BatchCallback {
+        /** Un héroe del lote llegó; se llama en orden de llegada, no de ids */
+        void onHeroReceived(int heroId, HeroCard heroCard);
+        void onHeroFailed(int heroId, String errorMessage);
+        /** Todas las peticiones del lote terminaron */
+        void onComplete(BatchResult result);
     }
 
     /**
-     * Obtiene un héroe específico por ID
+     * Resultado de un lote: héroes obtenidos y errores, por id
      */
-    public static void getHeroById(int heroId, HeroCallback callback) {
-        new FetchHeroTask(callback).execute(heroId);
-    }
+    public static class BatchResult {
+        private final Map<Integer, HeroCard> heroes;
+        private final Map<Integer, String> failures;
 
-    private static class FetchHeroTask extends AsyncTask<Integer, Void, HeroCard> {
-        private final HeroCallback callback;
-        private String errorMessage;
-
-        public FetchHeroTask(HeroCallback callback) {
-            this.callback = callback;
+        public BatchResult(Map<Integer, HeroCard> heroes, Map<Integer, String> failures) {
+            this.heroes = Collections.unmodifiableMap(heroes);
+            this.failures = Collections.unmodifiableMap(failures);
         }
 
-        @Override
-        protected HeroCard doInBackground(Integer... params) {
-            int heroId = params[0];
-            HttpURLConnection connection = null;
-            BufferedReader reader = null;
-
-            try {
-                // Construir URL de la API
-                String apiUrl = AppConstants.SUPERHERO_API_BASE_URL +
-                        AppConstants.API_ACCESS_TOKEN + "/" + heroId;
-
-                URL url = new URL(apiUrl);
-                connection = (HttpURLConnection) url.openConnection();
-                connection.setRequestMethod("GET");
-                connection.setConnectTimeout(15000);
-                connection.setReadTimeout(15000);
-                connection.connect();
-
-                // Leer respuesta
-                InputStream inputStream = connection.getInputStream();
-                StringBuilder buffer = new StringBuilder();
-                reader = new BufferedReader(new InputStreamReader(inputStream));
-
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    buffer.append(line).append("\n");
-                }
-
-                if (buffer.length() == 0) {
-                    errorMessage = "Respuesta vacía de la API";
-                    return null;
-                }
+        public Map<Integer, HeroCard> getHeroes() { return heroes; }
 
-                String jsonResponse = buffer.toString();
-                return parseHeroFromJson(jsonResponse, heroId);
+        public Map<Integer, String> getFailures() { return failures; }
 
-            } catch (Exception e) {
-                Log.e("SuperHeroAPI", "Error fetching hero: " + e.getMessage());
-                errorMessage = "Error de conexión: " + e.getMessage();
-                return null;
-            } finally {
-                if (connection != null) {
-                    connection.disconnect();
-                }
-                try {
-                    if (reader != null) {
-                        reader.close();
-                    }
-                } catch (Exception e) {
-                    Log.e("SuperHeroAPI", "Error closing stream", e);
-                }
-            }
-        }
+        public boolean hasFailures() { return !failures.isEmpty(); }
+    }
 
-        @Override
-        protected void onPostExecute(HeroCard heroCard) {
-            if (heroCard != null) {
-                callback.onHeroReceived(heroCard);
-            } else {
-                callback.onError(errorMessage != null ? errorMessage : "Error desconocido");
+    /**
+     * Obtiene un héroe aleatorio: del catálogo local si ya está sincronizado,
+     * si no de la API (o de la caché si ya se descargó antes)
+     * @return Handle para cancelar la petición (ver BaseActivity.trackRequest)
+     */
+    public static Future<?> getRandomHero(Context context, HeroCallback callback) {
+        // Con el catálogo sincronizado la tirada es local, sin latencia de red
+        if (HeroCatalogSync.getInstance(context).isSynced()) {
+            HeroCard hero = HeroCatalog.getInstance().pickRandom();
+            if (hero != null) {
+                return HeroFetchEngine.getInstance(context)
+                        .deliver(hero.copyWithObtainedAt(System.currentTimeMillis()), callback);
             }
         }
+        return getHeroById(context, randomHeroId(), callback);
     }
 
     /**
-     * Parsea la respuesta JSON de la API a un objeto HeroCard
+     * Obtiene un héroe específico por ID (de la caché si ya se descargó antes)
+     * @return Handle para cancelar la petición (ver BaseActivity.trackRequest)
      */
-    private static HeroCard parseHeroFromJson(String jsonResponse, int heroId) {
-        try {
-            JSONObject jsonObject = new JSONObject(jsonResponse);
-
-            if (!jsonObject.getString("response").equals("success")) {
-                Log.w("SuperHeroAPI", "Respuesta de API no exitosa para ID: " + heroId);
-                return null;
-            }
-
-            // Información básica
-            String name = jsonObject.getString("name");
-            String id = String.valueOf(heroId);
-
-            // Biografía
-            JSONObject biography = jsonObject.getJSONObject("biography");
-            String fullName = biography.getString("full-name");
-            String publisher = biography.getString("publisher");
-            String biographyText = fullName + " - " + publisher;
-
-            // Imagen - MEJORADO CON VALIDACIÓN
-            JSONObject image = jsonObject.getJSONObject("image");
-            String imageUrl = image.getString("url");
-
-            // Validar y loguear la URL
-            if (imageUrl == null || imageUrl.isEmpty() || imageUrl.equals("null")) {
-                Log.e("SuperHeroAPI", "URL de imagen inválida para " + name);
-                imageUrl = ""; // URL vacía por defecto
-            } else {
-                Log.d("SuperHeroAPI", "URL válida para " + name + ": " + imageUrl);
-            }
-
-            // Estadísticas de poder
-            JSONObject powerstats = jsonObject.getJSONObject("powerstats");
-            PowerStats stats = new PowerStats();
-            stats.setIntelligence(safeParseInt(powerstats.getString("intelligence")));
-            stats.setStrength(safeParseInt(powerstats.getString("strength")));
-            stats.setSpeed(safeParseInt(powerstats.getString("speed")));
-            stats.setDurability(safeParseInt(powerstats.getString("durability")));
-            stats.setPower(safeParseInt(powerstats.getString("power")));
-            stats.setCombat(safeParseInt(powerstats.getString("combat")));
-
-            Log.d("SuperHeroAPI", "Héroe parseado: " + name + " (ID: " + id + ")");
-
-            // Crear y retornar HeroCard
-            return new HeroCard(id, name, biographyText, imageUrl, stats);
+    public static Future<?> getHeroById(Context context, int heroId, HeroCallback callback) {
+        return HeroFetchEngine.getInstance(context).fetchHero(heroId, callback);
+    }
 
-        } catch (Exception e) {
-            Log.e("SuperHeroAPI", "Error parsing JSON: " + e.getMessage(), e);
-            return null;
-        }
+    /**
+     * Obtiene varios héroes en paralelo, con como mucho {@code maxConcurrent} peticiones a la vez
+     * (ver AppConstants.FETCH_MAX_CONCURRENT para el tamaño del pool que las atiende)
+     * @return Handle para cancelar el lote (ver BaseActivity.trackRequest)
+     */
+    public static Future<?> getHeroesByIds(Context context, int[] heroIds, int maxConcurrent,
+                                           BatchCallback callback) {
+        return HeroFetchEngine.getInstance(context).fetchHeroes(heroIds, maxConcurrent, 0, true, callback);
     }
 
     /**
-     * Convierte string a int de forma segura
+     * Id aleatorio válido para la API
      */
-    private static int safeParseInt(String value) {
-        try {
-            // Algunos valores vienen como "null" en la API
-            if (value.equals("null")) {
-                return 0;
-            }
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return 0;
-        }
+    static int randomHeroId() {
+        return ThreadLocalRandom.current().nextInt(AppConstants.API_MAX_HERO_ID) + 1;
     }
 }
@@ -0,0 +1,52 @@
+package com.example.epicquestcardcollection.data.repository;
+
+import com.example.epicquestcardcollection.data.repository.UserRepository.OperationResult;
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.SessionHeader;
+import com.example.epicquestcardcollection.model.User;
+
+import java.util.concurrent.Future;
+
+/**
+ * Variante asíncrona de {@link UserRepository} para usar desde la UI.
+ *
+ * Cada operación se ejecuta en el pool de I/O y el resultado se entrega
+ * en el hilo principal. El Future devuelto permite cancelar la entrega
+ * (p. ej. al destruir la Activity); una tarea cancelada no llama al callback.
+ */
+public interface AsyncUserRepository {
+
+    /**
+     * Recibe el resultado de una operación en el hilo principal
+     */
+    interface Callback<T> {
+        void onResult(T result);
+    }
+
+    Future<?> registerUser(String username, String password, String email,
+                           Callback<OperationResult> callback);
+
+    Future<?> loginUser(String username, String password, Callback<OperationResult> callback);
+
+    Future<?> logoutUser(Callback<OperationResult> callback);
+
+    /**
+     * Obtiene el usuario actual; entrega null si no hay sesión
+     */
+    Future<?> getCurrentUser(Callback<User> callback);
+
+    /**
+     * Obtiene el resumen de la sesión sin cargar la colección; entrega null si no hay sesión
+     */
+    Future<?> getSessionHeader(Callback<SessionHeader> callback);
+
+    Future<?> updateUser(User user, Callback<OperationResult> callback);
+
+    Future<?> recordCardObtained(User user, HeroCard card, Callback<OperationResult> callback);
+
+    Future<?> isUsernameTaken(String username, Callback<Boolean> callback);
+
+    Future<?> isUserLoggedIn(Callback<Boolean> callback);
+
+    Future<?> resetDailyOpportunities(Callback<OperationResult> callback);
+}
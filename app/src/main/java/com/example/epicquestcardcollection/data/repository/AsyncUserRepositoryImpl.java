@@ -0,0 +1,174 @@
+package com.example.epicquestcardcollection.data.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.epicquestcardcollection.data.repository.UserRepository.OperationResult;
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.SessionHeader;
+import com.example.epicquestcardcollection.model.User;
+import com.example.epicquestcardcollection.utils.AppExecutors;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Implementación asíncrona que delega en un {@link UserRepository} síncrono.
+ * Las operaciones corren en el pool acotado de I/O de {@link AppExecutors}
+ * y los callbacks se publican en el hilo principal.
+ *
+ * El repositorio síncrono se crea en la primera operación, ya en el pool de I/O:
+ * construirlo abre el almacén de usuarios y lee disco, y las Activities crean
+ * esta clase desde el hilo principal.
+ */
+public class AsyncUserRepositoryImpl implements AsyncUserRepository {
+
+    private static final String TAG = "AsyncUserRepository";
+
+    private final Supplier<UserRepository> delegateFactory;
+    private final ExecutorService ioExecutor;
+    private final Executor mainExecutor;
+    private UserRepository delegate;
+
+    public AsyncUserRepositoryImpl(Context context) {
+        this(applicationRepository(context.getApplicationContext()),
+                AppExecutors.getInstance().io(),
+                AppExecutors.getInstance().mainThread());
+    }
+
+    /**
+     * @param delegateFactory Crea el repositorio síncrono; se llama una sola vez, en el pool de I/O
+     */
+    public AsyncUserRepositoryImpl(Supplier<UserRepository> delegateFactory,
+                                   ExecutorService ioExecutor, Executor mainExecutor) {
+        this.delegateFactory = delegateFactory;
+        this.ioExecutor = ioExecutor;
+        this.mainExecutor = mainExecutor;
+    }
+
+    private static Supplier<UserRepository> applicationRepository(Context appContext) {
+        return () -> new UserRepositoryImpl(appContext);
+    }
+
+    @Override
+    public Future<?> registerUser(String username, String password, String email,
+                                  Callback<OperationResult> callback) {
+        return submit(() -> delegate().registerUser(username, password, email),
+                failure("No se pudo completar el registro"), callback);
+    }
+
+    @Override
+    public Future<?> loginUser(String username, String password, Callback<OperationResult> callback) {
+        return submit(() -> delegate().loginUser(username, password),
+                failure("No se pudo iniciar sesión"), callback);
+    }
+
+    @Override
+    public Future<?> logoutUser(Callback<OperationResult> callback) {
+        return submit(() -> delegate().logoutUser(), failure("No se pudo cerrar la sesión"), callback);
+    }
+
+    @Override
+    public Future<?> getCurrentUser(Callback<User> callback) {
+        return submit(() -> delegate().getCurrentUser(), null, callback);
+    }
+
+    @Override
+    public Future<?> getSessionHeader(Callback<SessionHeader> callback) {
+        return submit(() -> delegate().getSessionHeader(), null, callback);
+    }
+
+    @Override
+    public Future<?> updateUser(User user, Callback<OperationResult> callback) {
+        return submit(() -> delegate().updateUser(user),
+                failure("No se pudo actualizar el usuario"), callback);
+    }
+
+    @Override
+    public Future<?> recordCardObtained(User user, HeroCard card, Callback<OperationResult> callback) {
+        return submit(() -> delegate().recordCardObtained(user, card),
+                failure("No se pudo guardar la carta"), callback);
+    }
+
+    @Override
+    public Future<?> isUsernameTaken(String username, Callback<Boolean> callback) {
+        return submit(() -> delegate().isUsernameTaken(username), false, callback);
+    }
+
+    @Override
+    public Future<?> isUserLoggedIn(Callback<Boolean> callback) {
+        return submit(() -> delegate().isUserLoggedIn(), false, callback);
+    }
+
+    @Override
+    public Future<?> resetDailyOpportunities(Callback<OperationResult> callback) {
+        return submit(() -> delegate().resetDailyOpportunities(),
+                failure("No se pudieron resetear las oportunidades"), callback);
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    /**
+     * Repositorio síncrono, creado la primera vez que lo pide una tarea del pool de I/O
+     */
+    private synchronized UserRepository delegate() {
+        if (delegate == null) {
+            delegate = delegateFactory.get();
+        }
+        return delegate;
+    }
+
+    /**
+     * Ejecuta la tarea en el pool de I/O y entrega el resultado en el hilo principal.
+     * Si la tarea falla o el pool está saturado se entrega el valor de respaldo.
+     */
+    private <T> Future<?> submit(Callable<T> task, T fallback, Callback<T> callback) {
+        FutureTask<T> future = new FutureTask<T>(task) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                T result;
+                try {
+                    result = get();
+                } catch (Exception e) {
+                    Log.e(TAG, "Error en operación del repositorio", e);
+                    result = fallback;
+                }
+                deliver(this, result, callback);
+            }
+        };
+
+        try {
+            ioExecutor.execute(future);
+            return future;
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Pool de I/O saturado, operación rechazada", e);
+            deliver(future, fallback, callback);
+            return CompletableFuture.completedFuture(fallback);
+        }
+    }
+
+    private <T> void deliver(Future<?> future, T result, Callback<T> callback) {
+        if (callback == null) {
+            return;
+        }
+        mainExecutor.execute(() -> {
+            // La cancelación puede llegar mientras el resultado espera en la cola del hilo principal
+            if (!future.isCancelled()) {
+                callback.onResult(result);
+            }
+        });
+    }
+
+    private static OperationResult failure(String message) {
+        return new OperationResult(false, message);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.epicquestcardcollection.data.repository;
 
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.SessionHeader;
 import com.example.epicquestcardcollection.model.User;
 import com.example.epicquestcardcollection.utils.ValidationUtils;
 
@@ -31,11 +33,24 @@ public interface UserRepository {
      */
     User getCurrentUser();
 
+    /**
+     * Obtiene el resumen de la sesión actual (username, nivel, oportunidades)
+     * sin cargar la colección de cartas
+     * @return El resumen o null si no hay sesión
+     */
+    SessionHeader getSessionHeader();
+
     /**
      * Actualiza los datos de un usuario
      */
     OperationResult updateUser(User user);
 
+    /**
+     * Registra una carta obtenida por el usuario (la oportunidad ya debe estar consumida).
+     * Solo se persiste el evento, no la colección completa.
+     */
+    OperationResult recordCardObtained(User user, HeroCard card);
+
     /**
      * Verifica si un username ya está en uso
      */
@@ -6,31 +6,26 @@ import android.content.Context;
 import android.util.Log;
 
 import com.example.epicquestcardcollection.data.local.SessionManager;
-import com.example.epicquestcardcollection.data.local.SharedPreferencesHelper;
+import com.example.epicquestcardcollection.data.local.InMemoryUserStore;
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.SessionHeader;
 import com.example.epicquestcardcollection.model.User;
 import com.example.epicquestcardcollection.utils.AppConstants;
 import com.example.epicquestcardcollection.utils.ValidationUtils;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
-import java.lang.reflect.Type;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
- * Implementación concreta del UserRepository usando SharedPreferences.
+ * Implementación concreta del UserRepository sobre el almacén de usuarios en memoria
+ * compartido por todo el proceso (con escritura diferida a un shard por usuario).
  * Gestiona múltiples usuarios y sus datos de colección.
  */
 public class UserRepositoryImpl implements UserRepository {
 
-    private final SharedPreferencesHelper prefsHelper;
+    private final InMemoryUserStore userStore;
     private final SessionManager sessionManager;
-    private final Gson gson;
 
     public UserRepositoryImpl(Context context) {
-        this.prefsHelper = new SharedPreferencesHelper(context, AppConstants.PREFS_NAME);
+        this.userStore = InMemoryUserStore.getInstance(context);
         this.sessionManager = SessionManager.getInstance(context);
-        this.gson = new Gson();
     }
 
     @Override
@@ -51,8 +46,8 @@ public class UserRepositoryImpl implements UserRepository {
         // Crear nuevo usuario
         User newUser = new User(username, password, email);
 
-        // Guardar usuario en el registro
-        saveUserToRegistry(newUser);
+        // Guardar usuario en el registro (inmediato para no perder el registro)
+        userStore.saveNow(newUser);
 
         // Iniciar sesión automáticamente
         sessionManager.login(newUser);
@@ -94,7 +89,8 @@ public class UserRepositoryImpl implements UserRepository {
             User currentUser = getCurrentUser();
             if (currentUser != null) {
                 currentUser.resetDailyOpportunities();
-                updateUser(currentUser);
+                userStore.recordOpportunitiesReset(currentUser);
+                sessionManager.updateSessionHeader(currentUser);
                 return new OperationResult(true, "Oportunidades reseteadas a " + AppConstants.DAILY_OPPORTUNITIES);
             }
             return new OperationResult(false, "No hay usuario activo");
@@ -119,6 +115,11 @@ public class UserRepositoryImpl implements UserRepository {
         return sessionManager.getCurrentUser();
     }
 
+    @Override
+    public SessionHeader getSessionHeader() {
+        return sessionManager.getSessionHeader();
+    }
+
     @Override
     public OperationResult updateUser(User user) {
         if (user == null) {
@@ -129,17 +130,34 @@ public class UserRepositoryImpl implements UserRepository {
         saveUserToRegistry(user);
 
         // Si es el usuario actual, actualizar la sesión
-        User currentUser = sessionManager.getCurrentUser();
-        if (currentUser != null && currentUser.getUsername().equals(user.getUsername())) {
+        if (sessionManager.isCurrentUser(user.getUsername())) {
             sessionManager.login(user);
         }
 
         return new OperationResult(true, "Usuario actualizado exitosamente", user);
     }
 
+    @Override
+    public OperationResult recordCardObtained(User user, HeroCard card) {
+        if (user == null || card == null) {
+            return new OperationResult(false, "Datos de carta inválidos");
+        }
+
+        // Solo se anexa el evento al diario del usuario
+        if (!userStore.recordCardObtained(user, card)) {
+            return new OperationResult(false, "No se pudo guardar la carta");
+        }
+
+        if (sessionManager.isCurrentUser(user.getUsername())) {
+            sessionManager.login(user);
+        }
+
+        return new OperationResult(true, "Carta registrada exitosamente", user);
+    }
+
     @Override
     public boolean isUsernameTaken(String username) {
-        return getUserFromRegistry(username) != null;
+        return userStore.contains(username);
     }
 
     @Override
@@ -150,37 +168,16 @@ public class UserRepositoryImpl implements UserRepository {
     // ==================== MÉTODOS PRIVADOS ====================
 
     /**
-     * Guarda un usuario en el registro de usuarios
+     * Guarda un usuario en el registro de usuarios (escritura diferida y agrupada)
      */
     private void saveUserToRegistry(User user) {
-        // Obtener el mapa actual de usuarios
-        Map<String, User> users = getUsersRegistry();
-
-        // Agregar/actualizar usuario
-        users.put(user.getUsername(), user);
-
-        // Guardar mapa actualizado
-        String usersJson = gson.toJson(users);
-        prefsHelper.putString(AppConstants.KEY_USERS_DATA, usersJson);
+        userStore.put(user);
     }
 
     /**
-     * Obtiene un usuario del registro por username
+     * Obtiene un usuario del registro por username (en memoria tras la primera lectura)
      */
     private User getUserFromRegistry(String username) {
-        Map<String, User> users = getUsersRegistry();
-        return users.get(username);
-    }
-
-    /**
-     * Obtiene el mapa completo de usuarios registrados
-     */
-    private Map<String, User> getUsersRegistry() {
-        String usersJson = prefsHelper.getString(AppConstants.KEY_USERS_DATA, "{}");
-
-        Type type = new TypeToken<HashMap<String, User>>(){}.getType();
-        Map<String, User> users = gson.fromJson(usersJson, type);
-
-        return users != null ? users : new HashMap<>();
+        return userStore.get(username);
     }
 }
@@ -2,6 +2,7 @@ package com.example.epicquestcardcollection.firebase;
 
 import android.util.Log;
 import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.PowerStats;
 import com.example.epicquestcardcollection.model.User;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
@@ -121,14 +122,15 @@ public class FirestoreHelper {
         cardData.put("obtainedAt", card.getObtainedAt());
 
         // Guardar power stats
-        if (card.getPowerStats() != null) {
+        PowerStats stats = card.getPowerStats();
+        if (stats != null) {
             Map<String, Object> powerStats = new HashMap<>();
-            powerStats.put("intelligence", card.getPowerStats().getIntelligence());
-            powerStats.put("strength", card.getPowerStats().getStrength());
-            powerStats.put("speed", card.getPowerStats().getSpeed());
-            powerStats.put("durability", card.getPowerStats().getDurability());
-            powerStats.put("power", card.getPowerStats().getPower());
-            powerStats.put("combat", card.getPowerStats().getCombat());
+            powerStats.put("intelligence", stats.getIntelligence());
+            powerStats.put("strength", stats.getStrength());
+            powerStats.put("speed", stats.getSpeed());
+            powerStats.put("durability", stats.getDurability());
+            powerStats.put("power", stats.getPower());
+            powerStats.put("combat", stats.getCombat());
             cardData.put("powerStats", powerStats);
         }
 
@@ -0,0 +1,87 @@
+package com.example.epicquestcardcollection.model;
+
+/**
+ * Totales de la colección de un usuario mantenidos de forma incremental.
+ * Se actualizan en O(1) cada vez que se agrega o quita un héroe o una copia,
+ * así las pantallas de estadísticas no necesitan recorrer la colección.
+ *
+ * Los totales de rareza y poder cuentan héroes distintos (una carta por héroe),
+ * igual que la lista de la colección; las copias se cuentan aparte.
+ * No se guardan por separado: se reconstruyen mientras se decodifica el shard
+ * del usuario, con el mismo costo O(1) por carta.
+ */
+public class CollectionAggregates {
+
+    /** Contadores indexados por ordinal de Rarity; el último agrupa rarezas nulas o desconocidas */
+    private static final int OTHER = Rarity.count();
+    private static final int RARITY_SLOTS = OTHER + 1;
+
+    private final int[] rarityCounts = new int[RARITY_SLOTS];
+    private int uniqueCards;
+    private int totalCopies;
+    private long totalPower;
+
+    // ==================== ACTUALIZACIÓN ====================
+
+    /**
+     * Registra un héroe nuevo en la colección
+     */
+    public void onHeroAdded(HeroCard card, int copies) {
+        rarityCounts[rarityIndex(card)]++;
+        uniqueCards++;
+        totalCopies += copies;
+        totalPower += card.getTotalPower();
+    }
+
+    /**
+     * Registra una copia adicional de un héroe que ya estaba en la colección
+     */
+    public void onCopyAdded() {
+        totalCopies++;
+    }
+
+    /**
+     * Quita un héroe y todas sus copias de los totales
+     */
+    public void onHeroRemoved(HeroCard card, int copies) {
+        rarityCounts[rarityIndex(card)]--;
+        uniqueCards--;
+        totalCopies -= copies;
+        totalPower -= card.getTotalPower();
+    }
+
+    public void clear() {
+        for (int i = 0; i < RARITY_SLOTS; i++) {
+            rarityCounts[i] = 0;
+        }
+        uniqueCards = 0;
+        totalCopies = 0;
+        totalPower = 0;
+    }
+
+    // ==================== CONSULTAS ====================
+
+    public int getRarityCount(Rarity rarity) {
+        return rarityCounts[rarity != null ? rarity.ordinal() : OTHER];
+    }
+
+    /** Héroes distintos en la colección */
+    public int getUniqueCards() { return uniqueCards; }
+
+    /** Total de cartas obtenidas contando las repetidas */
+    public int getTotalCopies() { return totalCopies; }
+
+    public long getTotalPower() { return totalPower; }
+
+    public int getAveragePower() {
+        return uniqueCards > 0 ? (int) (totalPower / uniqueCards) : 0;
+    }
+
+    /**
+     * Convierte la rareza de la carta en su índice de contador
+     */
+    private static int rarityIndex(HeroCard card) {
+        Rarity rarity = card.getRarityLevel();
+        return rarity != null ? rarity.ordinal() : OTHER;
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.epicquestcardcollection.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice invertido de la colección de un usuario.
+ *
+ * Mantiene una lista de posiciones (posting list) por rareza y otra por editorial,
+ * ordenadas por posición en la colección. Se actualiza en O(1) al agregar un héroe,
+ * por lo que filtrar es devolver una vista sobre la lista ya construida y combinar
+ * filtros es intersectar dos listas ordenadas, sin recorrer la colección.
+ * Los órdenes (poder, nombre, fecha) los aporta un {@link CollectionSortIndex} y la
+ * búsqueda por nombre un {@link HeroSearchIndex}.
+ */
+public class CollectionIndex {
+
+    private static final int OTHER_RARITY = Rarity.count();
+
+    private final List<OwnedCard> ownedCards;
+    private final PostingList[] byRarity = new PostingList[OTHER_RARITY + 1];
+    private final Map<String, PostingList> byPublisher = new HashMap<>();
+    private final CollectionSortIndex sortIndex;
+    private final HeroSearchIndex searchIndex;
+
+    /**
+     * @param ownedCards Lista de la colección del usuario (las posiciones apuntan a ella)
+     * @param lock Monitor con el que se modifica la lista; lo usa la búsqueda en segundo plano
+     */
+    public CollectionIndex(List<OwnedCard> ownedCards, Object lock) {
+        this.ownedCards = ownedCards;
+        this.sortIndex = new CollectionSortIndex(ownedCards);
+        this.searchIndex = new HeroSearchIndex(ownedCards, lock);
+        for (int i = 0; i < byRarity.length; i++) {
+            byRarity[i] = new PostingList();
+        }
+    }
+
+    // ==================== ACTUALIZACIÓN ====================
+
+    /**
+     * Indexa un héroe recién agregado al final de la colección
+     */
+    public void onHeroAdded(OwnedCard owned, int position) {
+        HeroCard card = owned.getHero();
+        Rarity rarity = card.getRarityLevel();
+        byRarity[rarity != null ? rarity.ordinal() : OTHER_RARITY].add(position);
+
+        String publisher = card.getPublisher();
+        if (publisher != null) {
+            PostingList postings = byPublisher.get(publisher);
+            if (postings == null) {
+                postings = new PostingList();
+                byPublisher.put(publisher, postings);
+            }
+            postings.add(position);
+        }
+        sortIndex.onHeroAdded(position);
+    }
+
+    /**
+     * Avisa que cambió la primera fecha de obtención de un héroe ya indexado
+     */
+    public void onObtainedAtChanged() {
+        sortIndex.onObtainedAtChanged();
+    }
+
+    /**
+     * Reconstruye el índice completo; solo es necesario al quitar héroes,
+     * porque las posiciones de los siguientes se desplazan
+     */
+    public void rebuild() {
+        clear();
+        for (int i = 0; i < ownedCards.size(); i++) {
+            onHeroAdded(ownedCards.get(i), i);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < byRarity.length; i++) {
+            byRarity[i] = new PostingList();
+        }
+        byPublisher.clear();
+        sortIndex.clear();
+        searchIndex.clear();
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * Cartas que cumplen los filtros, en orden de la colección
+     * @param rarity Rareza requerida o null para cualquiera
+     * @param publisher Editorial requerida o null para cualquiera
+     * @return Vista de solo lectura; no cambia si luego se agregan cartas
+     */
+    public List<HeroCard> filter(Rarity rarity, String publisher) {
+        return filter(rarity, publisher, CollectionSortIndex.Order.COLLECTION);
+    }
+
+    /**
+     * Cartas que cumplen los filtros, en el orden pedido
+     */
+    public List<HeroCard> filter(Rarity rarity, String publisher, CollectionSortIndex.Order order) {
+        return filter(rarity, publisher, order, null);
+    }
+
+    /**
+     * Cartas que cumplen los filtros y la búsqueda, en el orden pedido.
+     * Sin filtros la vista recorre directamente la permutación precalculada;
+     * con filtros, el subconjunto se ordena recorriendo esa permutación.
+     * @param rarity Rareza requerida o null para cualquiera
+     * @param publisher Editorial requerida o null para cualquiera
+     * @param order Orden de las cartas
+     * @param matches Posiciones devueltas por {@link HeroSearchIndex#search} o null para no restringir
+     * @return Vista de solo lectura; no cambia si luego se agregan cartas
+     */
+    public List<HeroCard> filter(Rarity rarity, String publisher, CollectionSortIndex.Order order,
+                                 int[] matches) {
+        int[] positions = null;
+        int size = ownedCards.size();
+
+        if (rarity != null) {
+            PostingList postings = byRarity[rarity.ordinal()];
+            positions = postings.positions;
+            size = postings.size;
+        }
+        if (publisher != null) {
+            PostingList postings = byPublisher.get(publisher);
+            if (postings == null) {
+                return Collections.emptyList();
+            }
+            if (positions == null) {
+                positions = postings.positions;
+                size = postings.size;
+            } else {
+                positions = intersect(positions, size, postings.positions, postings.size);
+                size = positions.length;
+            }
+        }
+        if (matches != null) {
+            positions = positions == null ? matches : intersect(positions, size, matches, matches.length);
+            size = positions.length;
+        }
+
+        if (order == CollectionSortIndex.Order.COLLECTION) {
+            return view(positions, size);
+        }
+        if (positions == null) {
+            int[] permutation = sortIndex.getPermutation(order);
+            return view(permutation, permutation.length);
+        }
+        return view(sortIndex.sortSubset(order, positions, size), size);
+    }
+
+    /**
+     * Índice de búsqueda por nombre; se construye en la primera búsqueda, que debe
+     * correr en segundo plano
+     */
+    public HeroSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    /**
+     * Editoriales presentes en la colección, en orden alfabético
+     */
+    public List<String> getPublishers() {
+        List<String> publishers = new ArrayList<>(byPublisher.keySet());
+        Collections.sort(publishers, String.CASE_INSENSITIVE_ORDER);
+        return publishers;
+    }
+
+    public int countByPublisher(String publisher) {
+        PostingList postings = byPublisher.get(publisher);
+        return postings != null ? postings.size : 0;
+    }
+
+    /**
+     * Vista sobre las primeras posiciones de una posting list. Las listas solo crecen
+     * al final (o se reemplazan al reconstruir), así que el prefijo capturado no cambia.
+     * @param positions Posiciones en la colección o null para todas en orden
+     */
+    private List<HeroCard> view(int[] positions, int size) {
+        return new AbstractList<HeroCard>() {
+            @Override
+            public HeroCard get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Índice " + index + ", tamaño " + size);
+                }
+                return ownedCards.get(positions != null ? positions[index] : index).getCard();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Intersección por mezcla de dos listas ordenadas: O(a + b)
+     */
+    private static int[] intersect(int[] a, int aSize, int[] b, int bSize) {
+        int[] result = new int[Math.min(aSize, bSize)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < aSize && j < bSize) {
+            if (a[i] == b[j]) {
+                result[count++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // ==================== POSTING LIST ====================
+
+    /**
+     * Lista creciente de posiciones en un arreglo de enteros (sin boxing)
+     */
+    private static final class PostingList {
+        private int[] positions = new int[8];
+        private int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+    }
+}
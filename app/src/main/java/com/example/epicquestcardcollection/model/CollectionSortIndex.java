@@ -0,0 +1,251 @@
+package com.example.epicquestcardcollection.model;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Órdenes precalculados de la colección de un usuario.
+ *
+ * Cada orden es una permutación de posiciones de la colección (int[]). Se construye
+ * una sola vez, la primera vez que se pide, y después se mantiene al agregar héroes
+ * con búsqueda binaria e inserción, así cambiar de orden no vuelve a ordenar nada.
+ * Las permutaciones se reemplazan en lugar de modificarse (copy-on-write), por lo que
+ * las vistas que ya tenga un adaptador no cambian bajo sus pies.
+ */
+public class CollectionSortIndex {
+
+    /**
+     * Órdenes disponibles, cada uno en su sentido natural de lectura
+     */
+    public enum Order {
+        /** Orden en que se agregaron los héroes */
+        COLLECTION,
+        /** Mayor poder total primero */
+        POWER,
+        /** Alfabético según el idioma del dispositivo */
+        NAME,
+        /** Obtenidos más recientemente primero */
+        OBTAINED
+    }
+
+    private final List<OwnedCard> ownedCards;
+    private final Collator collator;
+
+    /** Permutación por orden; null mientras no se haya pedido o tras invalidarla */
+    private final int[][] permutations = new int[Order.values().length][];
+
+    /** Claves de ordenación por nombre, indexadas por posición en la colección */
+    private CollationKey[] nameKeys = new CollationKey[0];
+
+    /**
+     * @param ownedCards Lista de la colección del usuario (las posiciones apuntan a ella)
+     */
+    public CollectionSortIndex(List<OwnedCard> ownedCards) {
+        this.ownedCards = ownedCards;
+        this.collator = Collator.getInstance();
+        this.collator.setStrength(Collator.PRIMARY);
+    }
+
+    // ==================== ACTUALIZACIÓN ====================
+
+    /**
+     * Inserta un héroe recién agregado al final de la colección en los órdenes ya construidos
+     */
+    public void onHeroAdded(int position) {
+        for (Order order : Order.values()) {
+            int[] current = permutations[order.ordinal()];
+            if (current != null) {
+                permutations[order.ordinal()] = insert(current, position, order);
+            }
+        }
+    }
+
+    /**
+     * Descarta el orden por fecha cuando cambia la primera obtención de un héroe
+     * (una copia con fecha anterior, p. ej. al reproducir el journal)
+     */
+    public void onObtainedAtChanged() {
+        permutations[Order.OBTAINED.ordinal()] = null;
+    }
+
+    /**
+     * Descarta todos los órdenes; se reconstruyen la próxima vez que se pidan
+     */
+    public void clear() {
+        Arrays.fill(permutations, null);
+        nameKeys = new CollationKey[0];
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * Permutación de todas las posiciones de la colección en el orden pedido.
+     * El arreglo devuelto no debe modificarse.
+     */
+    public int[] getPermutation(Order order) {
+        int[] permutation = permutations[order.ordinal()];
+        if (permutation == null) {
+            permutation = build(order);
+            permutations[order.ordinal()] = permutation;
+        }
+        return permutation;
+    }
+
+    /**
+     * Ordena un subconjunto de posiciones (p. ej. el resultado de un filtro)
+     * recorriendo la permutación completa: O(n), sin comparar cartas
+     * @param positions Posiciones del subconjunto
+     * @param size Cantidad de posiciones válidas en el arreglo
+     */
+    public int[] sortSubset(Order order, int[] positions, int size) {
+        int[] permutation = getPermutation(order);
+        boolean[] included = new boolean[ownedCards.size()];
+        for (int i = 0; i < size; i++) {
+            included[positions[i]] = true;
+        }
+        int[] result = new int[size];
+        int count = 0;
+        for (int position : permutation) {
+            if (included[position]) {
+                result[count++] = position;
+            }
+        }
+        return result;
+    }
+
+    // ==================== CONSTRUCCIÓN ====================
+
+    /**
+     * Ordena sin boxing: cada posición se empaqueta en un long con su rango en los
+     * bits altos, así Arrays.sort(long[]) deja el orden con los empates por posición
+     */
+    private int[] build(Order order) {
+        int size = ownedCards.size();
+        int[] permutation = new int[size];
+        if (order == Order.COLLECTION) {
+            for (int i = 0; i < size; i++) {
+                permutation[i] = i;
+            }
+            return permutation;
+        }
+        int[] ranks = ranks(order, size);
+        long[] packed = new long[size];
+        for (int i = 0; i < size; i++) {
+            packed[i] = ((long) ranks[i] << 32) | i;
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < size; i++) {
+            permutation[i] = (int) packed[i];
+        }
+        return permutation;
+    }
+
+    /**
+     * Rango de cada posición según el orden: menor rango va primero y claves iguales
+     * comparten rango. Arrays.binarySearch siempre devuelve el mismo índice para la
+     * misma clave, así que sirve como rango aunque haya repetidos.
+     */
+    private int[] ranks(Order order, int size) {
+        int[] ranks = new int[size];
+        switch (order) {
+            case POWER:
+                // ~x invierte el orden sin desbordar; el rango puede ser negativo
+                for (int i = 0; i < size; i++) {
+                    ranks[i] = ~cardAt(i).getTotalPower();
+                }
+                break;
+            case OBTAINED:
+                long[] times = new long[size];
+                for (int i = 0; i < size; i++) {
+                    times[i] = -ownedCards.get(i).getFirstObtainedAt();
+                }
+                long[] sortedTimes = times.clone();
+                Arrays.sort(sortedTimes);
+                for (int i = 0; i < size; i++) {
+                    ranks[i] = Arrays.binarySearch(sortedTimes, times[i]);
+                }
+                break;
+            case NAME:
+                CollationKey[] keys = new CollationKey[size];
+                for (int i = 0; i < size; i++) {
+                    keys[i] = nameKey(i);
+                }
+                CollationKey[] sortedKeys = keys.clone();
+                Arrays.sort(sortedKeys);
+                for (int i = 0; i < size; i++) {
+                    ranks[i] = Arrays.binarySearch(sortedKeys, keys[i]);
+                }
+                break;
+            default:
+                break;
+        }
+        return ranks;
+    }
+
+    /**
+     * Devuelve una copia de la permutación con la posición insertada en su lugar.
+     * La posición nueva es la mayor, así que queda después de las cartas con la misma clave.
+     */
+    private int[] insert(int[] permutation, int position, Order order) {
+        int low = 0;
+        int high = permutation.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(order, permutation[mid], position) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int[] result = new int[permutation.length + 1];
+        System.arraycopy(permutation, 0, result, 0, low);
+        result[low] = position;
+        System.arraycopy(permutation, low, result, low + 1, permutation.length - low);
+        return result;
+    }
+
+    /**
+     * Compara dos posiciones según el orden; a igual clave manda la posición
+     */
+    private int compare(Order order, int a, int b) {
+        int result;
+        switch (order) {
+            case POWER:
+                result = Integer.compare(cardAt(b).getTotalPower(), cardAt(a).getTotalPower());
+                break;
+            case NAME:
+                result = nameKey(a).compareTo(nameKey(b));
+                break;
+            case OBTAINED:
+                result = Long.compare(ownedCards.get(b).getFirstObtainedAt(),
+                        ownedCards.get(a).getFirstObtainedAt());
+                break;
+            default:
+                result = 0;
+                break;
+        }
+        return result != 0 ? result : Integer.compare(a, b);
+    }
+
+    private HeroCard cardAt(int position) {
+        return ownedCards.get(position).getHero();
+    }
+
+    /**
+     * Clave de colación del nombre, calculada una sola vez por carta
+     */
+    private CollationKey nameKey(int position) {
+        if (position >= nameKeys.length) {
+            nameKeys = Arrays.copyOf(nameKeys, Math.max(position + 1, nameKeys.length * 2));
+        }
+        CollationKey key = nameKeys[position];
+        if (key == null) {
+            String name = cardAt(position).getName();
+            key = collator.getCollationKey(name != null ? name : "");
+            nameKeys[position] = key;
+        }
+        return key;
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.epicquestcardcollection.model;
 
-import com.example.epicquestcardcollection.R;
 import java.io.Serializable;
 
 /**
@@ -14,8 +13,9 @@ public class HeroCard implements Serializable {
     private String name;
     private String biography;
     private String imageUrl;
-    private PowerStats powerStats;
-    private String rarity;
+    private long packedStats; // Estadísticas empaquetadas (ver PackedPowerStats)
+    private String rarity; // Nombre guardado de la rareza (ver Rarity)
+    private transient Rarity rarityLevel;
     private int totalPower;
     private long obtainedAt;
 
@@ -29,31 +29,25 @@ public class HeroCard implements Serializable {
         this.name = name;
         this.biography = biography;
         this.imageUrl = imageUrl;
-        this.powerStats = powerStats;
-        this.totalPower = calculateTotalPower();
-        this.rarity = calculateRarity();
+        setPackedStats(PackedPowerStats.fromStats(powerStats));
     }
 
     /**
-     * Calcula el poder total basado en las estadísticas
+     * Copia de la carta con otra fecha de obtención. Comparte los strings con el
+     * original, así las copias del catálogo no duplican nombres ni URLs.
      */
-    private int calculateTotalPower() {
-        if (powerStats == null) return 0;
-        return powerStats.getIntelligence() + powerStats.getStrength() +
-                powerStats.getSpeed() + powerStats.getDurability() +
-                powerStats.getPower() + powerStats.getCombat();
-    }
-
-    /**
-     * Calcula la rareza basada en el poder total
-     */
-    private String calculateRarity() {
-        int total = calculateTotalPower();
-        if (total >= 500) return "LEGENDARY";
-        else if (total >= 400) return "EPIC";
-        else if (total >= 300) return "RARE";
-        else if (total >= 200) return "UNCOMMON";
-        else return "COMMON";
+    public HeroCard copyWithObtainedAt(long obtainedAt) {
+        HeroCard copy = new HeroCard();
+        copy.id = id;
+        copy.name = name;
+        copy.biography = biography;
+        copy.imageUrl = imageUrl;
+        copy.packedStats = packedStats;
+        copy.rarity = rarity;
+        copy.rarityLevel = rarityLevel;
+        copy.totalPower = totalPower;
+        copy.obtainedAt = obtainedAt;
+        return copy;
     }
 
     // ==================== GETTERS Y SETTERS ====================
@@ -65,20 +59,78 @@ public class HeroCard implements Serializable {
     public void setName(String name) { this.name = name; }
 
     public String getBiography() { return biography; }
+
+    /**
+     * Editorial del héroe, tomada de la biografía "nombre completo - editorial"
+     * que arma SuperHeroAPI
+     * @return La editorial o null si no se conoce
+     */
+    public String getPublisher() {
+        if (biography == null) return null;
+        int separator = biography.lastIndexOf(" - ");
+        if (separator < 0) return null;
+        String publisher = biography.substring(separator + 3).trim();
+        return publisher.isEmpty() || publisher.equals("null") || publisher.equals("-") ? null : publisher;
+    }
+
+    /**
+     * Nombre completo del héroe, tomado de la misma biografía
+     * @return El nombre completo o null si no se conoce
+     */
+    public String getFullName() {
+        if (biography == null) return null;
+        int separator = biography.lastIndexOf(" - ");
+        String fullName = (separator >= 0 ? biography.substring(0, separator) : biography).trim();
+        return fullName.isEmpty() || fullName.equals("null") ? null : fullName;
+    }
     public void setBiography(String biography) { this.biography = biography; }
 
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
 
-    public PowerStats getPowerStats() { return powerStats; }
+    /**
+     * Vista de compatibilidad: crea un PowerStats a partir del valor empaquetado.
+     * Los recorridos masivos deben usar getStat o getPackedStats, que no crean objetos.
+     */
+    public PowerStats getPowerStats() { return PackedPowerStats.toStats(packedStats); }
     public void setPowerStats(PowerStats powerStats) {
-        this.powerStats = powerStats;
-        this.totalPower = calculateTotalPower();
-        this.rarity = calculateRarity();
+        setPackedStats(PackedPowerStats.fromStats(powerStats));
     }
 
+    public long getPackedStats() { return packedStats; }
+
+    /**
+     * Asigna las estadísticas empaquetadas y recalcula poder total y rareza
+     */
+    public void setPackedStats(long packedStats) {
+        this.packedStats = packedStats;
+        this.totalPower = PackedPowerStats.totalPower(packedStats);
+        setRarityLevel(PackedPowerStats.rarity(packedStats));
+    }
+
+    public int getStat(Stat stat) { return PackedPowerStats.get(packedStats, stat); }
+
     public String getRarity() { return rarity; }
-    public void setRarity(String rarity) { this.rarity = rarity; }
+    public void setRarity(String rarity) {
+        this.rarity = rarity;
+        this.rarityLevel = Rarity.fromStorageName(rarity);
+    }
+
+    /**
+     * Rareza como enum; null si la carta no tiene rareza o es desconocida
+     */
+    public Rarity getRarityLevel() {
+        if (rarityLevel == null && rarity != null) {
+            // Tras deserializar (campo transient) se vuelve a resolver una sola vez
+            rarityLevel = Rarity.fromStorageName(rarity);
+        }
+        return rarityLevel;
+    }
+
+    public void setRarityLevel(Rarity rarityLevel) {
+        this.rarityLevel = rarityLevel;
+        this.rarity = rarityLevel != null ? rarityLevel.getStorageName() : null;
+    }
 
     public int getTotalPower() { return totalPower; }
     public void setTotalPower(int totalPower) { this.totalPower = totalPower; }
@@ -90,17 +142,15 @@ public class HeroCard implements Serializable {
      * Método para determinar el color de la rareza
      */
     public int getRarityColor() {
-        switch (rarity) {
-            case "LEGENDARY":
-                return R.color.legendary_color; // Dorado
-            case "EPIC":
-                return R.color.epic_color; // Púrpura
-            case "RARE":
-                return R.color.rare_color; // Azul
-            case "UNCOMMON":
-                return R.color.uncommon_color; // Verde
-            default: // COMMON
-                return R.color.common_color; // Gris
-        }
+        Rarity level = getRarityLevel();
+        return (level != null ? level : Rarity.COMMON).getColorRes();
+    }
+
+    /**
+     * Etiqueta de la rareza para mostrar al usuario
+     */
+    public String getRarityLabel() {
+        Rarity level = getRarityLevel();
+        return level != null ? level.getLabel() : (rarity != null ? rarity : Rarity.COMMON.getLabel());
     }
 }
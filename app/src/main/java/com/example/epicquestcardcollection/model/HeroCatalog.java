@@ -0,0 +1,186 @@
+package com.example.epicquestcardcollection.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Catálogo compartido de héroes (flyweight), indexado por id.
+ *
+ * Guarda una sola copia de los datos que vienen de la API (nombre, biografía,
+ * imagen, estadísticas) para todos los usuarios y todas las colecciones del
+ * proceso. Cada {@link OwnedCard} apunta a su entrada en lugar de tener su propia
+ * HeroCard, así dos usuarios con el mismo héroe no duplican sus datos.
+ *
+ * Las entradas se tratan como inmutables: no deben modificarse después de agregarse.
+ * El catálogo solo vive en memoria; HeroCatalogStore lo guarda en disco.
+ *
+ * Si una colección referencia un héroe que no está (p. ej. se perdió el archivo del
+ * catálogo), recibe una entrada provisional con solo el id (ver {@link #placeholder}).
+ * Esa entrada nunca se agrega ni se guarda, y su id queda pendiente de volver a descargarse.
+ */
+public class HeroCatalog {
+
+    /**
+     * Aviso de que hay héroes faltantes por descargar (ver {@link #drainMissing})
+     */
+    public interface MissingHeroListener {
+        void onHeroMissing();
+    }
+
+    private static HeroCatalog instance;
+
+    private final Map<String, HeroCard> heroes = new HashMap<>();
+    /** Las mismas entradas en orden de llegada, para elegir una al azar */
+    private final List<HeroCard> entries = new ArrayList<>();
+    /** Entradas agregadas que todavía no se guardaron en disco */
+    private final List<HeroCard> unsaved = new ArrayList<>();
+    /** Entradas provisionales de héroes faltantes, por id */
+    private final Map<String, HeroCard> placeholders = new HashMap<>();
+    /** Ids faltantes que todavía no se pidieron para descargar */
+    private final Set<String> missing = new LinkedHashSet<>();
+    private MissingHeroListener missingHeroListener;
+
+    public static synchronized HeroCatalog getInstance() {
+        if (instance == null) {
+            instance = new HeroCatalog();
+        }
+        return instance;
+    }
+
+    // ==================== OPERACIONES ====================
+
+    /**
+     * Obtiene la entrada compartida del héroe de una carta, creándola si es nuevo.
+     * Una carta sin id no se puede compartir y recibe su propia copia.
+     * @return Entrada del catálogo (con obtainedAt en 0)
+     */
+    public synchronized HeroCard intern(HeroCard card) {
+        String heroId = card.getId();
+        if (heroId == null) {
+            return card.copyWithObtainedAt(0);
+        }
+        HeroCard hero = heroes.get(heroId);
+        if (hero == null) {
+            HeroCard placeholder = placeholders.get(heroId);
+            if (placeholder != null && card.getName() == null) {
+                // Copia de una entrada provisional: no es un héroe real y no se guarda
+                return placeholder;
+            }
+            hero = card.copyWithObtainedAt(0);
+            heroes.put(heroId, hero);
+            entries.add(hero);
+            unsaved.add(hero);
+            placeholders.remove(heroId);
+            missing.remove(heroId);
+        }
+        return hero;
+    }
+
+    /**
+     * Entrada provisional para un héroe referenciado que no está en el catálogo.
+     * Solo tiene el id; no se agrega al catálogo, así nunca se guarda una carta vacía
+     * y el héroe real se acepta en cuanto se vuelva a descargar.
+     * @return La entrada del catálogo si ya existe, si no la provisional del id
+     */
+    public HeroCard placeholder(String heroId) {
+        MissingHeroListener listener;
+        HeroCard placeholder;
+        synchronized (this) {
+            HeroCard hero = heroes.get(heroId);
+            if (hero != null) {
+                return hero;
+            }
+            placeholder = placeholders.get(heroId);
+            if (placeholder != null) {
+                return placeholder;
+            }
+            placeholder = new HeroCard();
+            placeholder.setId(heroId);
+            placeholder.setObtainedAt(0);
+            placeholders.put(heroId, placeholder);
+            missing.add(heroId);
+            listener = missingHeroListener;
+        }
+        // Fuera del monitor: el listener puede volver a entrar al catálogo
+        if (listener != null) {
+            listener.onHeroMissing();
+        }
+        return placeholder;
+    }
+
+    /**
+     * Entrega los ids faltantes que aún no se pidieron y los marca como pedidos
+     */
+    public synchronized List<String> drainMissing() {
+        List<String> drained = new ArrayList<>(missing);
+        missing.clear();
+        return drained;
+    }
+
+    public synchronized boolean hasMissing() {
+        return !missing.isEmpty();
+    }
+
+    public synchronized void setMissingHeroListener(MissingHeroListener listener) {
+        this.missingHeroListener = listener;
+    }
+
+    /**
+     * @return La entrada del héroe o null si no está en el catálogo
+     */
+    public synchronized HeroCard get(String heroId) {
+        return heroes.get(heroId);
+    }
+
+    public synchronized boolean contains(String heroId) {
+        return heroes.containsKey(heroId);
+    }
+
+    public synchronized int size() {
+        return heroes.size();
+    }
+
+    /**
+     * @return Una entrada elegida al azar con probabilidad uniforme, o null si está vacío
+     */
+    public synchronized HeroCard pickRandom() {
+        if (entries.isEmpty()) {
+            return null;
+        }
+        return entries.get(ThreadLocalRandom.current().nextInt(entries.size()));
+    }
+
+    // ==================== PERSISTENCIA ====================
+
+    /**
+     * Agrega una entrada leída de disco; no se vuelve a marcar para guardar
+     */
+    public synchronized void addSaved(HeroCard hero) {
+        if (hero.getId() != null && !heroes.containsKey(hero.getId())) {
+            heroes.put(hero.getId(), hero);
+            entries.add(hero);
+        }
+    }
+
+    /**
+     * Entrega las entradas pendientes de guardar y las marca como guardadas
+     */
+    public synchronized List<HeroCard> drainUnsaved() {
+        List<HeroCard> drained = new ArrayList<>(unsaved);
+        unsaved.clear();
+        return drained;
+    }
+
+    /**
+     * Vuelve a marcar entradas como pendientes cuando guardarlas falló
+     */
+    public synchronized void restoreUnsaved(Collection<HeroCard> heroesToRetry) {
+        unsaved.addAll(0, heroesToRetry);
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.epicquestcardcollection.model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Índice de búsqueda por nombre sobre la colección de un usuario.
+ *
+ * Indexa trigramas del nombre del héroe y de su nombre completo (tomado de la
+ * biografía), normalizados sin mayúsculas ni acentos. Cada palabra se rellena con
+ * un marcador de inicio, así una consulta de una o dos letras busca prefijos de
+ * palabra ("^^b", "^ba") y una de tres o más busca subcadenas intersectando las
+ * listas de sus trigramas. Los candidatos se confirman contra el texto normalizado.
+ *
+ * No se llena al cargar la colección: la primera búsqueda (que corre en el pool de
+ * io) indexa toda la lista y las siguientes solo las cartas agregadas desde entonces.
+ * Se consulta desde un hilo de fondo mientras el repositorio agrega cartas, por eso
+ * todo se hace con el monitor del dueño de la lista, el mismo que protege sus cambios.
+ */
+public class HeroSearchIndex {
+
+    private static final char WORD_START = '^';
+    private static final int[] EMPTY = new int[0];
+
+    private final List<OwnedCard> ownedCards;
+    private final Object lock;
+    private final Map<Long, PostingList> postingsByGram = new HashMap<>();
+    /** Texto normalizado por posición ya indexada, para confirmar candidatos */
+    private final List<String> texts = new ArrayList<>();
+
+    /**
+     * @param ownedCards Lista de la colección del usuario (las posiciones apuntan a ella)
+     * @param lock Monitor con el que se modifica la lista
+     */
+    public HeroSearchIndex(List<OwnedCard> ownedCards, Object lock) {
+        this.ownedCards = ownedCards;
+        this.lock = lock;
+    }
+
+    // ==================== ACTUALIZACIÓN ====================
+
+    /**
+     * Descarta lo indexado; la próxima búsqueda vuelve a indexar la colección.
+     * Necesario al quitar héroes, porque las posiciones de los siguientes se desplazan
+     */
+    public void clear() {
+        synchronized (lock) {
+            postingsByGram.clear();
+            texts.clear();
+        }
+    }
+
+    /**
+     * Indexa las cartas agregadas al final de la colección desde la última búsqueda
+     */
+    private void catchUp() {
+        for (int position = texts.size(); position < ownedCards.size(); position++) {
+            index(ownedCards.get(position).getHero(), position);
+        }
+    }
+
+    private void index(HeroCard card, int position) {
+        String text = (normalize(card.getName()) + " " + normalize(card.getFullName())).trim();
+        texts.add(text);
+
+        for (String word : text.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "" + WORD_START + WORD_START + word;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                PostingList postings = postingsByGram.get(gram(padded, i));
+                if (postings == null) {
+                    postings = new PostingList();
+                    postingsByGram.put(gram(padded, i), postings);
+                }
+                postings.addUnique(position);
+            }
+        }
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * Busca las cartas cuyo nombre contiene todas las palabras de la consulta.
+     * La primera llamada indexa la colección, así que no debe hacerse en el hilo principal
+     * @return Posiciones en la colección, en orden ascendente, o null si la consulta
+     *         está vacía (sin restricción)
+     */
+    public int[] search(String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        synchronized (lock) {
+            catchUp();
+            return search(normalized.split(" "));
+        }
+    }
+
+    private int[] search(String[] tokens) {
+        int[] result = null;
+        for (String token : tokens) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int[] candidates = candidatesFor(token);
+            result = result == null ? candidates : intersect(result, result.length, candidates, candidates.length);
+            if (result.length == 0) {
+                return EMPTY;
+            }
+        }
+        if (result == null) {
+            return null;
+        }
+        return confirm(result, tokens);
+    }
+
+    /**
+     * Posiciones que contienen todos los trigramas de la palabra (pueden sobrar)
+     */
+    private int[] candidatesFor(String token) {
+        String padded = token.length() < 3 ? "" + WORD_START + WORD_START + token : token;
+        int start = token.length() < 3 ? padded.length() - 3 : 0;
+
+        int[] result = null;
+        int size = 0;
+        for (int i = start; i + 3 <= padded.length(); i++) {
+            PostingList postings = postingsByGram.get(gram(padded, i));
+            if (postings == null) {
+                return EMPTY;
+            }
+            if (result == null) {
+                result = Arrays.copyOf(postings.positions, postings.size);
+                size = postings.size;
+            } else {
+                result = intersect(result, size, postings.positions, postings.size);
+                size = result.length;
+            }
+        }
+        return result != null ? result : EMPTY;
+    }
+
+    /**
+     * Descarta los candidatos cuyos trigramas coinciden pero no en el orden de la consulta
+     */
+    private int[] confirm(int[] candidates, String[] tokens) {
+        int[] confirmed = new int[candidates.length];
+        int count = 0;
+        for (int position : candidates) {
+            String text = " " + texts.get(position);
+            boolean matches = true;
+            for (String token : tokens) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                // Las palabras cortas solo buscan prefijos, igual que su trigrama
+                String needle = token.length() < 3 ? " " + token : token;
+                if (!text.contains(needle)) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                confirmed[count++] = position;
+            }
+        }
+        return Arrays.copyOf(confirmed, count);
+    }
+
+    // ==================== UTILIDADES ====================
+
+    /**
+     * Minúsculas, sin acentos y con todo lo que no sea letra o dígito como espacio
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder builder = new StringBuilder(decomposed.length());
+        boolean lastWasSpace = true;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                builder.append(Character.toLowerCase(c));
+                lastWasSpace = false;
+            } else if (!lastWasSpace) {
+                builder.append(' ');
+                lastWasSpace = true;
+            }
+        }
+        int length = builder.length();
+        if (length > 0 && builder.charAt(length - 1) == ' ') {
+            builder.setLength(length - 1);
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Empaqueta tres caracteres en una clave
+     */
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32)
+                | ((long) text.charAt(start + 1) << 16)
+                | text.charAt(start + 2);
+    }
+
+    /**
+     * Intersección por mezcla de dos listas ordenadas
+     */
+    private static int[] intersect(int[] a, int aSize, int[] b, int bSize) {
+        int[] result = new int[Math.min(aSize, bSize)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < aSize && j < bSize) {
+            if (a[i] == b[j]) {
+                result[count++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Lista creciente de posiciones sin repetir la última
+     */
+    private static final class PostingList {
+        private int[] positions = new int[4];
+        private int size;
+
+        void addUnique(int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+    }
+}
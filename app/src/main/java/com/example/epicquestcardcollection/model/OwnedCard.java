@@ -0,0 +1,90 @@
+package com.example.epicquestcardcollection.model;
+
+/**
+ * Entrada de la colección de un usuario para un héroe concreto.
+ * Solo guarda lo propio del usuario: la primera y última fecha de obtención y el
+ * número de copias. Los datos del héroe son la entrada compartida de
+ * {@link HeroCatalog}; la HeroCard con la fecha del usuario se crea al pedirla.
+ */
+public class OwnedCard {
+    private final HeroCard hero;
+    private long firstObtainedAt;
+    private long lastObtainedAt;
+    private int count;
+    private HeroCard card; // Vista creada la primera vez que se pide
+
+    /**
+     * Registra la primera copia de la carta; sus datos pasan al catálogo compartido
+     */
+    public OwnedCard(HeroCard card) {
+        this(card, card.getObtainedAt(), 1);
+    }
+
+    /**
+     * @param card Carta obtenida; sus datos pasan al catálogo compartido
+     */
+    public OwnedCard(HeroCard card, long lastObtainedAt, int count) {
+        this(HeroCatalog.getInstance().intern(card), card.getObtainedAt(), lastObtainedAt, count);
+    }
+
+    /**
+     * @param hero Entrada del catálogo (no se copia ni se vuelve a internar)
+     */
+    public OwnedCard(HeroCard hero, long firstObtainedAt, long lastObtainedAt, int count) {
+        this.hero = hero;
+        this.firstObtainedAt = firstObtainedAt;
+        this.lastObtainedAt = Math.max(firstObtainedAt, lastObtainedAt);
+        this.count = Math.max(1, count);
+    }
+
+    // ==================== MÉTODOS DE NEGOCIO ====================
+
+    /**
+     * Registra otra copia del mismo héroe
+     */
+    public void addCopy(long obtainedAt) {
+        count++;
+        if (obtainedAt < firstObtainedAt) {
+            firstObtainedAt = obtainedAt;
+            if (card != null) {
+                card.setObtainedAt(obtainedAt);
+            }
+        }
+        if (obtainedAt > lastObtainedAt) {
+            lastObtainedAt = obtainedAt;
+        }
+    }
+
+    /**
+     * Verifica si el usuario tiene más de una copia
+     */
+    public boolean hasDuplicates() {
+        return count > 1;
+    }
+
+    // ==================== GETTERS ====================
+
+    public String getHeroId() { return hero.getId(); }
+
+    /**
+     * Datos compartidos del héroe; sirven para índices y totales sin crear la vista.
+     * No deben modificarse.
+     */
+    public HeroCard getHero() { return hero; }
+
+    /**
+     * Carta del héroe con la fecha de primera obtención del usuario
+     */
+    public HeroCard getCard() {
+        if (card == null) {
+            card = hero.copyWithObtainedAt(firstObtainedAt);
+        }
+        return card;
+    }
+
+    public long getFirstObtainedAt() { return firstObtainedAt; }
+
+    public long getLastObtainedAt() { return lastObtainedAt; }
+
+    public int getCount() { return count; }
+}
@@ -0,0 +1,163 @@
+package com.example.epicquestcardcollection.model;
+
+/**
+ * Representación de las seis estadísticas de poder en un solo long.
+ *
+ * Cada estadística ocupa un carril de 10 bits (0-1023) en el orden de {@link Stat};
+ * el bit 63 indica que hay estadísticas, así 0 equivale a un PowerStats nulo.
+ * El poder total se suma dentro del long sin desempaquetar y las comparaciones
+ * leen un carril con un desplazamiento y una máscara, sin crear objetos.
+ *
+ * También define la forma compacta que usa el almacenamiento: carriles de 7 bits
+ * cuando todos los valores caben (el rango normal de la API es 0-100).
+ */
+public final class PackedPowerStats {
+
+    /** Valor empaquetado de "sin estadísticas" */
+    public static final long NONE = 0L;
+
+    private static final int LANE_BITS = 10;
+    private static final int LANE_MAX = (1 << LANE_BITS) - 1;
+    private static final long PRESENT = 1L << 63;
+
+    /** Carriles 0, 2 y 4; sumados con los carriles 1, 3 y 5 desplazados dan tres sumas de 20 bits */
+    private static final long EVEN_LANES = 0x3FFL | (0x3FFL << 20) | (0x3FFL << 40);
+    /** Multiplicar por esto acumula las tres sumas de 20 bits en los bits 40-59 */
+    private static final long SUM_PAIRS = 1L | (1L << 20) | (1L << 40);
+
+    private static final int COMPACT_LANE_BITS = 7;
+    private static final int COMPACT_LANE_MAX = (1 << COMPACT_LANE_BITS) - 1;
+    private static final int COMPACT_TAG_BITS = 2;
+    private static final long COMPACT_TAG_MASK = (1L << COMPACT_TAG_BITS) - 1;
+    private static final long COMPACT_TAG_NARROW = 1;
+    private static final long COMPACT_TAG_WIDE = 2;
+
+    private PackedPowerStats() {
+        // Clase no instanciable
+    }
+
+    // ==================== EMPAQUETADO ====================
+
+    /**
+     * Empaqueta las estadísticas; los valores fuera de 0-1023 se recortan
+     */
+    public static long pack(int intelligence, int strength, int speed,
+                            int durability, int power, int combat) {
+        return PRESENT
+                | lane(intelligence, Stat.INTELLIGENCE)
+                | lane(strength, Stat.STRENGTH)
+                | lane(speed, Stat.SPEED)
+                | lane(durability, Stat.DURABILITY)
+                | lane(power, Stat.POWER)
+                | lane(combat, Stat.COMBAT);
+    }
+
+    /**
+     * @return El valor empaquetado o NONE si stats es null
+     */
+    public static long fromStats(PowerStats stats) {
+        if (stats == null) {
+            return NONE;
+        }
+        return pack(stats.getIntelligence(), stats.getStrength(), stats.getSpeed(),
+                stats.getDurability(), stats.getPower(), stats.getCombat());
+    }
+
+    /**
+     * Crea un PowerStats equivalente (vista de compatibilidad)
+     * @return El objeto o null si no hay estadísticas
+     */
+    public static PowerStats toStats(long packed) {
+        if (!isPresent(packed)) {
+            return null;
+        }
+        return new PowerStats(
+                get(packed, Stat.INTELLIGENCE),
+                get(packed, Stat.STRENGTH),
+                get(packed, Stat.SPEED),
+                get(packed, Stat.DURABILITY),
+                get(packed, Stat.POWER),
+                get(packed, Stat.COMBAT));
+    }
+
+    // ==================== LECTURA ====================
+
+    public static boolean isPresent(long packed) {
+        return (packed & PRESENT) != 0;
+    }
+
+    public static int get(long packed, Stat stat) {
+        return (int) (packed >>> (stat.ordinal() * LANE_BITS)) & LANE_MAX;
+    }
+
+    /**
+     * Suma los seis carriles con operaciones de bits: primero por pares en carriles
+     * de 20 bits y luego las tres sumas parciales con una multiplicación
+     */
+    public static int totalPower(long packed) {
+        long pairs = (packed & EVEN_LANES) + ((packed >>> LANE_BITS) & EVEN_LANES);
+        return (int) (((pairs * SUM_PAIRS) >>> 40) & 0xFFFFF);
+    }
+
+    public static Rarity rarity(long packed) {
+        return Rarity.fromTotalPower(totalPower(packed));
+    }
+
+    /**
+     * Compara una estadística de dos héroes sin desempaquetar el resto
+     */
+    public static int compare(long a, long b, Stat stat) {
+        return Integer.compare(get(a, stat), get(b, stat));
+    }
+
+    // ==================== ALMACENAMIENTO ====================
+
+    /**
+     * Forma compacta para guardar en disco: 0 si no hay estadísticas, carriles de
+     * 7 bits si todos los valores caben (hasta 7 bytes como varint) o los carriles
+     * completos en otro caso. Los dos bits bajos indican la forma.
+     */
+    public static long toCompact(long packed) {
+        if (!isPresent(packed)) {
+            return 0;
+        }
+        long narrow = 0;
+        for (Stat stat : Stat.values()) {
+            int value = get(packed, stat);
+            if (value > COMPACT_LANE_MAX) {
+                return ((packed & ~PRESENT) << COMPACT_TAG_BITS) | COMPACT_TAG_WIDE;
+            }
+            narrow |= (long) value << (stat.ordinal() * COMPACT_LANE_BITS);
+        }
+        return (narrow << COMPACT_TAG_BITS) | COMPACT_TAG_NARROW;
+    }
+
+    /**
+     * Inversa de {@link #toCompact}
+     * @throws IllegalArgumentException si la forma es desconocida
+     */
+    public static long fromCompact(long compact) {
+        long tag = compact & COMPACT_TAG_MASK;
+        long lanes = compact >>> COMPACT_TAG_BITS;
+        if (compact == 0) {
+            return NONE;
+        }
+        if (tag == COMPACT_TAG_WIDE) {
+            return PRESENT | lanes;
+        }
+        if (tag != COMPACT_TAG_NARROW) {
+            throw new IllegalArgumentException("Forma compacta desconocida: " + tag);
+        }
+        long packed = PRESENT;
+        for (Stat stat : Stat.values()) {
+            int value = (int) (lanes >>> (stat.ordinal() * COMPACT_LANE_BITS)) & COMPACT_LANE_MAX;
+            packed |= (long) value << (stat.ordinal() * LANE_BITS);
+        }
+        return packed;
+    }
+
+    private static long lane(int value, Stat stat) {
+        int clamped = value < 0 ? 0 : Math.min(value, LANE_MAX);
+        return (long) clamped << (stat.ordinal() * LANE_BITS);
+    }
+}
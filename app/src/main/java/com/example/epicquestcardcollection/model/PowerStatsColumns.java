@@ -0,0 +1,172 @@
+package com.example.epicquestcardcollection.model;
+
+import java.util.Arrays;
+
+/**
+ * Copia en columnas de las estadísticas de la colección de un usuario.
+ *
+ * Guarda un int[] por estadística y un arreglo paralelo de ids, en el mismo orden
+ * que la colección. Los cálculos sobre estadísticas (promedios, máximos, top-K)
+ * recorren arreglos primitivos contiguos en lugar de saltar de cada OwnedCard a su
+ * HeroCard y de ahí a su PowerStats. Se mantiene junto con la colección en User.
+ */
+public class PowerStatsColumns {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int[][] columns = new int[Stat.count()][INITIAL_CAPACITY];
+    private String[] heroIds = new String[INITIAL_CAPACITY];
+    private int size;
+
+    // ==================== ACTUALIZACIÓN ====================
+
+    /**
+     * Agrega las estadísticas de un héroe nuevo al final
+     */
+    public void append(HeroCard card) {
+        ensureCapacity(size + 1);
+        long packed = card.getPackedStats();
+        for (Stat stat : Stat.values()) {
+            columns[stat.ordinal()][size] = PackedPowerStats.get(packed, stat);
+        }
+        heroIds[size] = card.getId();
+        size++;
+    }
+
+    /**
+     * Quita la fila de una posición desplazando las siguientes
+     */
+    public void remove(int position) {
+        int moved = size - position - 1;
+        if (moved > 0) {
+            for (int[] column : columns) {
+                System.arraycopy(column, position + 1, column, position, moved);
+            }
+            System.arraycopy(heroIds, position + 1, heroIds, position, moved);
+        }
+        size--;
+        heroIds[size] = null;
+    }
+
+    public void clear() {
+        Arrays.fill(heroIds, 0, size, null);
+        size = 0;
+    }
+
+    // ==================== CONSULTAS ====================
+
+    public int size() { return size; }
+
+    public String getHeroId(int position) { return heroIds[position]; }
+
+    public int get(Stat stat, int position) {
+        return columns[stat.ordinal()][position];
+    }
+
+    public long sum(Stat stat) {
+        int[] column = columns[stat.ordinal()];
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += column[i];
+        }
+        return sum;
+    }
+
+    public int average(Stat stat) {
+        return size > 0 ? (int) (sum(stat) / size) : 0;
+    }
+
+    /**
+     * @return El valor máximo o 0 si la colección está vacía
+     */
+    public int max(Stat stat) {
+        int[] column = columns[stat.ordinal()];
+        int max = 0;
+        for (int i = 0; i < size; i++) {
+            if (column[i] > max) {
+                max = column[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Posiciones de los k héroes con mayor valor en la estadística, de mayor a menor.
+     * Usa un min-heap de k posiciones: O(n log k) sin crear objetos por carta.
+     */
+    public int[] topK(Stat stat, int k) {
+        int[] column = columns[stat.ordinal()];
+        int limit = Math.min(k, size);
+        int[] heap = new int[limit];
+        int heapSize = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (heapSize < limit) {
+                heap[heapSize] = i;
+                siftUp(column, heap, heapSize++);
+            } else if (limit > 0 && column[i] > column[heap[0]]) {
+                heap[0] = i;
+                siftDown(column, heap, heapSize);
+            }
+        }
+
+        // Vaciar el heap deja las posiciones de menor a mayor; se llenan desde el final
+        int[] result = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(column, heap, heapSize);
+        }
+        return result;
+    }
+
+    // ==================== UTILIDADES ====================
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= heroIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, heroIds.length * 2);
+        for (int s = 0; s < columns.length; s++) {
+            columns[s] = Arrays.copyOf(columns[s], newCapacity);
+        }
+        heroIds = Arrays.copyOf(heroIds, newCapacity);
+    }
+
+    private static void siftUp(int[] column, int[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (column[heap[index]] >= column[heap[parent]]) {
+                return;
+            }
+            swap(heap, index, parent);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] column, int[] heap, int size) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && column[heap[right]] < column[heap[left]]) {
+                smallest = right;
+            }
+            if (column[heap[index]] <= column[heap[smallest]]) {
+                return;
+            }
+            swap(heap, index, smallest);
+            index = smallest;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+}
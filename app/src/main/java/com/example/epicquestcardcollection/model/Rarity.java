@@ -0,0 +1,85 @@
+package com.example.epicquestcardcollection.model;
+
+import androidx.annotation.ColorRes;
+
+import com.example.epicquestcardcollection.R;
+
+/**
+ * Niveles de rareza de las cartas, de menor a mayor.
+ *
+ * Cada nivel lleva el poder total mínimo para alcanzarlo, su color y su etiqueta.
+ * El nombre de la constante es el texto que se guarda en disco ("COMMON", "EPIC"...),
+ * así los datos existentes se siguen leyendo. El ordinal se puede usar como índice
+ * de arreglos: no reordenar las constantes (el codec binario también lo usa).
+ */
+public enum Rarity {
+    COMMON(0, R.color.common_color, "Común"),
+    UNCOMMON(200, R.color.uncommon_color, "Poco común"),
+    RARE(300, R.color.rare_color, "Rara"),
+    EPIC(400, R.color.epic_color, "Épica"),
+    LEGENDARY(500, R.color.legendary_color, "Legendaria");
+
+    private static final Rarity[] VALUES = values();
+
+    private final int minTotalPower;
+    @ColorRes
+    private final int colorRes;
+    private final String label;
+
+    Rarity(int minTotalPower, @ColorRes int colorRes, String label) {
+        this.minTotalPower = minTotalPower;
+        this.colorRes = colorRes;
+        this.label = label;
+    }
+
+    public int getMinTotalPower() { return minTotalPower; }
+
+    @ColorRes
+    public int getColorRes() { return colorRes; }
+
+    public String getLabel() { return label; }
+
+    /**
+     * Nombre con el que se guarda la rareza
+     */
+    public String getStorageName() { return name(); }
+
+    /**
+     * Número de niveles; útil para dimensionar arreglos indexados por ordinal
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+
+    public static Rarity fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Calcula la rareza que corresponde a un poder total
+     */
+    public static Rarity fromTotalPower(int totalPower) {
+        for (int i = VALUES.length - 1; i > 0; i--) {
+            if (totalPower >= VALUES[i].minTotalPower) {
+                return VALUES[i];
+            }
+        }
+        return COMMON;
+    }
+
+    /**
+     * Convierte el texto guardado en su rareza
+     * @return La rareza o null si el texto es nulo o desconocido
+     */
+    public static Rarity fromStorageName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (Rarity rarity : VALUES) {
+            if (rarity.name().equals(name)) {
+                return rarity;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.epicquestcardcollection.model;
+
+/**
+ * Resumen ligero de la sesión actual.
+ * Contiene solo lo que las pantallas iniciales muestran, sin la colección de cartas,
+ * para poder cargarse al arrancar sin deserializar al usuario completo.
+ */
+public class SessionHeader {
+    private String username;
+    private int playerLevel;
+    private int dailyOpportunities;
+    private long lastCardTime;
+
+    public SessionHeader() {
+        // Constructor por defecto
+    }
+
+    public SessionHeader(String username, int playerLevel, int dailyOpportunities, long lastCardTime) {
+        this.username = username;
+        this.playerLevel = playerLevel;
+        this.dailyOpportunities = dailyOpportunities;
+        this.lastCardTime = lastCardTime;
+    }
+
+    /**
+     * Crea el resumen a partir del usuario completo
+     */
+    public static SessionHeader from(User user) {
+        return new SessionHeader(user.getUsername(), user.getPlayerLevel(),
+                user.getDailyOpportunities(), user.getLastCardTime());
+    }
+
+    // ==================== GETTERS Y SETTERS ====================
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public int getPlayerLevel() { return playerLevel; }
+    public void setPlayerLevel(int playerLevel) { this.playerLevel = playerLevel; }
+
+    public int getDailyOpportunities() { return dailyOpportunities; }
+    public void setDailyOpportunities(int dailyOpportunities) {
+        this.dailyOpportunities = dailyOpportunities;
+    }
+
+    public long getLastCardTime() { return lastCardTime; }
+    public void setLastCardTime(long lastCardTime) { this.lastCardTime = lastCardTime; }
+}
@@ -0,0 +1,33 @@
+package com.example.epicquestcardcollection.model;
+
+/**
+ * Estadísticas de poder de un héroe. El ordinal indexa las columnas de
+ * {@link PowerStatsColumns} y los carriles de {@link PackedPowerStats}:
+ * no reordenar las constantes.
+ */
+public enum Stat {
+    INTELLIGENCE("Inteligencia"),
+    STRENGTH("Fuerza"),
+    SPEED("Velocidad"),
+    DURABILITY("Durabilidad"),
+    POWER("Poder"),
+    COMBAT("Combate");
+
+    private static final Stat[] VALUES = values();
+
+    private final String label;
+
+    Stat(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    public static int count() {
+        return VALUES.length;
+    }
+
+    public static Stat fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -2,18 +2,34 @@ package com.example.epicquestcardcollection.model;
 
 import com.example.epicquestcardcollection.utils.AppConstants;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Modelo que representa un usuario de la aplicación.
  * Contiene toda la información del usuario y su progreso en el juego.
+ *
+ * El mismo User se comparte entre la UI y el almacén en memoria, que lo guarda
+ * desde el hilo de disco. Todos los métodos que lo modifican se sincronizan sobre
+ * la instancia; para leerlo desde otro hilo con un estado consistente (p. ej. al
+ * codificarlo) hay que hacerlo dentro de {@code synchronized (user)}.
  */
 public class User {
     private String username;
     private String password; // En producción debería ser hash
     private String email;
-    private List<HeroCard> collection;
+    // Colección indexada por id de héroe: una entrada por héroe con su número de copias;
+    // los datos del héroe se comparten a través de HeroCatalog
+    private final List<OwnedCard> ownedCards;
+    private final Map<String, OwnedCard> ownedCardsById;
+    private final List<HeroCard> collectionView;
+    private final CollectionAggregates aggregates;
+    private final CollectionIndex index;
+    private final PowerStatsColumns statsColumns;
     private int dailyOpportunities;
     private long lastCardTime;
     private int playerLevel;
@@ -21,7 +37,22 @@ public class User {
     private long createdAt;
 
     public User() {
-        this.collection = new ArrayList<>();
+        this.ownedCards = new ArrayList<>();
+        this.ownedCardsById = new HashMap<>();
+        this.aggregates = new CollectionAggregates();
+        this.index = new CollectionIndex(ownedCards, this);
+        this.statsColumns = new PowerStatsColumns();
+        this.collectionView = new AbstractList<HeroCard>() {
+            @Override
+            public HeroCard get(int index) {
+                return ownedCards.get(index).getCard();
+            }
+
+            @Override
+            public int size() {
+                return ownedCards.size();
+            }
+        };
         this.dailyOpportunities = 5; // Valor por defecto
         this.lastCardTime = 0;
         this.playerLevel = 1;
@@ -39,13 +70,79 @@ public class User {
     // ==================== MÉTODOS DE NEGOCIO ====================
 
     /**
-     * Agrega una carta a la colección del usuario
+     * Agrega una carta a la colección del usuario.
+     * Si el héroe ya estaba en la colección solo se cuenta una copia más.
+     * @return true si el héroe es nuevo en la colección
      */
-    public void addCardToCollection(HeroCard card) {
-        if (card != null && !collection.contains(card)) {
-            collection.add(card);
-            // TODO: En futuras iteraciones, actualizar logros y nivel
+    public synchronized boolean addCardToCollection(HeroCard card) {
+        if (card == null) {
+            return false;
         }
+        OwnedCard owned = ownedCardsById.get(card.getId());
+        if (owned != null) {
+            addCopy(owned, card.getObtainedAt());
+            return false;
+        }
+        addOwnedCard(new OwnedCard(card));
+        // TODO: En futuras iteraciones, actualizar logros y nivel
+        return true;
+    }
+
+    /**
+     * Verifica si el usuario ya tiene al héroe (O(1))
+     */
+    public boolean ownsHero(String heroId) {
+        return ownedCardsById.containsKey(heroId);
+    }
+
+    /**
+     * Obtiene la entrada de colección de un héroe
+     * @return La entrada o null si el usuario no tiene al héroe
+     */
+    public OwnedCard getOwnedCard(String heroId) {
+        return ownedCardsById.get(heroId);
+    }
+
+    /**
+     * Quita un héroe y todas sus copias de la colección
+     * @return true si el usuario tenía al héroe
+     */
+    public synchronized boolean removeHeroFromCollection(String heroId) {
+        OwnedCard owned = ownedCardsById.remove(heroId);
+        if (owned == null) {
+            return false;
+        }
+        int position = ownedCards.indexOf(owned);
+        ownedCards.remove(position);
+        aggregates.onHeroRemoved(owned.getHero(), owned.getCount());
+        statsColumns.remove(position);
+        index.rebuild();
+        return true;
+    }
+
+    private void addOwnedCard(OwnedCard owned) {
+        ownedCards.add(owned);
+        ownedCardsById.put(owned.getHeroId(), owned);
+        aggregates.onHeroAdded(owned.getHero(), owned.getCount());
+        index.onHeroAdded(owned, ownedCards.size() - 1);
+        statsColumns.append(owned.getHero());
+    }
+
+    private void addCopy(OwnedCard owned, long obtainedAt) {
+        long firstObtainedAt = owned.getFirstObtainedAt();
+        owned.addCopy(obtainedAt);
+        aggregates.onCopyAdded();
+        if (owned.getFirstObtainedAt() != firstObtainedAt) {
+            index.onObtainedAtChanged();
+        }
+    }
+
+    private void clearCollection() {
+        ownedCards.clear();
+        ownedCardsById.clear();
+        aggregates.clear();
+        index.clear();
+        statsColumns.clear();
     }
 
     /**
@@ -58,7 +155,7 @@ public class User {
     /**
      * Consume una oportunidad diaria
      */
-    public void consumeOpportunity() {
+    public synchronized void consumeOpportunity() {
         if (dailyOpportunities > 0) {
             dailyOpportunities--;
             lastCardTime = System.currentTimeMillis();
@@ -68,7 +165,7 @@ public class User {
     /**
      * Reinicia las oportunidades diarias (para testing)
      */
-    public void resetDailyOpportunities() {
+    public synchronized void resetDailyOpportunities() {
         this.dailyOpportunities = AppConstants.DAILY_OPPORTUNITIES;
         this.lastCardTime = 0;
     }
@@ -76,31 +173,80 @@ public class User {
     // ==================== GETTERS Y SETTERS ====================
 
     public String getUsername() { return username; }
-    public void setUsername(String username) { this.username = username; }
+    public synchronized void setUsername(String username) { this.username = username; }
 
     public String getPassword() { return password; }
-    public void setPassword(String password) { this.password = password; }
+    public synchronized void setPassword(String password) { this.password = password; }
 
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public synchronized void setEmail(String email) { this.email = email; }
 
-    public List<HeroCard> getCollection() { return collection; }
-    public void setCollection(List<HeroCard> collection) { this.collection = collection; }
+    /**
+     * Vista de solo lectura con una carta por héroe, en orden de obtención
+     */
+    public List<HeroCard> getCollection() { return collectionView; }
+
+    /**
+     * Reemplaza la colección; las cartas repetidas de un mismo héroe se agrupan
+     */
+    public synchronized void setCollection(List<HeroCard> collection) {
+        clearCollection();
+        if (collection != null) {
+            for (HeroCard card : collection) {
+                addCardToCollection(card);
+            }
+        }
+    }
+
+    public List<OwnedCard> getOwnedCards() { return Collections.unmodifiableList(ownedCards); }
+
+    /**
+     * Reemplaza la colección con entradas ya agrupadas (p. ej. al decodificar)
+     */
+    public synchronized void setOwnedCards(List<OwnedCard> owned) {
+        clearCollection();
+        for (OwnedCard entry : owned) {
+            OwnedCard existing = ownedCardsById.get(entry.getHeroId());
+            if (existing == null) {
+                addOwnedCard(entry);
+            } else {
+                // Entrada repetida en datos corruptos: se conservan todas las copias
+                for (int i = 0; i < entry.getCount(); i++) {
+                    addCopy(existing, i == 0 ? entry.getFirstObtainedAt() : entry.getLastObtainedAt());
+                }
+            }
+        }
+    }
+
+    /**
+     * Totales de la colección (rarezas, poder, copias), siempre actualizados
+     */
+    public CollectionAggregates getAggregates() { return aggregates; }
+
+    /**
+     * Índice por rareza y editorial para filtrar la colección sin recorrerla
+     */
+    public CollectionIndex getCollectionIndex() { return index; }
+
+    /**
+     * Estadísticas de la colección en columnas, en el mismo orden que getCollection()
+     */
+    public PowerStatsColumns getStatsColumns() { return statsColumns; }
 
     public int getDailyOpportunities() { return dailyOpportunities; }
-    public void setDailyOpportunities(int dailyOpportunities) {
+    public synchronized void setDailyOpportunities(int dailyOpportunities) {
         this.dailyOpportunities = dailyOpportunities;
     }
 
     public long getLastCardTime() { return lastCardTime; }
-    public void setLastCardTime(long lastCardTime) { this.lastCardTime = lastCardTime; }
+    public synchronized void setLastCardTime(long lastCardTime) { this.lastCardTime = lastCardTime; }
 
     public int getPlayerLevel() { return playerLevel; }
-    public void setPlayerLevel(int playerLevel) { this.playerLevel = playerLevel; }
+    public synchronized void setPlayerLevel(int playerLevel) { this.playerLevel = playerLevel; }
 
     public List<String> getAchievements() { return achievements; }
-    public void setAchievements(List<String> achievements) { this.achievements = achievements; }
+    public synchronized void setAchievements(List<String> achievements) { this.achievements = achievements; }
 
     public long getCreatedAt() { return createdAt; }
-    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+    public synchronized void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
 }
\ No newline at end of file
@@ -3,8 +3,17 @@ package com.example.epicquestcardcollection.ui.activities;
 import android.annotation.SuppressLint;
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.util.Log;
 import android.view.View;
+import android.widget.AdapterView;
+import android.widget.ArrayAdapter;
+import android.widget.EditText;
 import android.widget.ProgressBar;
+import android.widget.Spinner;
 import android.widget.TextView;
 
 import androidx.recyclerview.widget.GridLayoutManager;
@@ -12,33 +21,59 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.epicquestcardcollection.R;
 import com.example.epicquestcardcollection.base.BaseActivity;
-import com.example.epicquestcardcollection.data.repository.UserRepository;
-import com.example.epicquestcardcollection.data.repository.UserRepositoryImpl;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepository;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepositoryImpl;
+import com.example.epicquestcardcollection.model.CollectionAggregates;
+import com.example.epicquestcardcollection.model.CollectionIndex;
+import com.example.epicquestcardcollection.model.CollectionSortIndex;
 import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.HeroSearchIndex;
+import com.example.epicquestcardcollection.model.Rarity;
 import com.example.epicquestcardcollection.model.User;
 import com.example.epicquestcardcollection.ui.adapters.CollectionAdapter;
+import com.example.epicquestcardcollection.utils.AppConstants;
+import com.example.epicquestcardcollection.utils.AppExecutors;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Actividad para mostrar la colección de cartas del usuario.
- * Permite ver todas las cartas obtenidas, filtrar por rareza y ver estadísticas.
+ * Permite ver todas las cartas obtenidas, buscarlas por nombre, filtrarlas por rareza
+ * y editorial, ordenarlas y ver estadísticas.
  */
 public class CardCollectionActivity extends BaseActivity implements CollectionAdapter.OnCardClickListener {
 
+    private static final String TAG = "CardCollectionActivity";
+
     private RecyclerView recyclerViewCollection;
     private TextView tvEmptyState;
     private TextView tvCollectionStats;
     private ProgressBar progressCollection;
+    private Spinner spinnerPublisher;
+    private Spinner spinnerSort;
+    private EditText etSearch;
     private BottomNavigationView bottomNavigation;
 
-    private UserRepository userRepository;
+    private AsyncUserRepository userRepository;
     private User currentUser;
     private CollectionAdapter collectionAdapter;
-    private List<HeroCard> allCards;
-    private List<HeroCard> filteredCards;
+    private List<HeroCard> filteredCards = Collections.emptyList();
+    private List<String> publishers = new ArrayList<>();
+    private Rarity currentRarityFilter;
+    private String currentPublisherFilter;
+    private CollectionSortIndex.Order currentSortOrder = CollectionSortIndex.Order.COLLECTION;
+
+    // Búsqueda: se espera a que el usuario deje de escribir y solo vale la última consulta
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = this::runSearch;
+    private String pendingQuery = "";
+    private Future<?> searchTask;
+    private int[] searchMatches;
 
     @Override
     protected int getLayoutRes() {
@@ -51,26 +86,69 @@ public class CardCollectionActivity extends BaseActivity implements CollectionAd
         tvEmptyState = findViewById(R.id.tvEmptyState);
         tvCollectionStats = findViewById(R.id.tvCollectionStats);
         progressCollection = findViewById(R.id.progressCollection);
+        spinnerPublisher = findViewById(R.id.spinnerPublisher);
+        spinnerSort = findViewById(R.id.spinnerSort);
+        etSearch = findViewById(R.id.etSearch);
         bottomNavigation = findViewById(R.id.bottom_navigation);
 
-        userRepository = new UserRepositoryImpl(this);
-        currentUser = userRepository.getCurrentUser();
+        userRepository = new AsyncUserRepositoryImpl(this);
 
         setupRecyclerView();
+        setupSortSpinner();
         setupBottomNavigation();
-        loadUserCollection();
-        updateCollectionStats();
+        trackRequest(userRepository.getCurrentUser(user -> {
+            currentUser = user;
+            loadUserCollection();
+            updateCollectionStats();
+        }));
     }
 
     @Override
     protected void setupListeners() {
-        // Los listeners se manejan a través del adaptador y bottom navigation
+        // Las cartas y la navegación se manejan a través del adaptador y bottom navigation
+        spinnerPublisher.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                // La posición 0 es "Todas las editoriales"
+                filterByPublisher(position > 0 ? publishers.get(position - 1) : null);
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {
+                filterByPublisher(null);
+            }
+        });
+
+        etSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                scheduleSearch(s.toString());
+            }
+        });
+
+        spinnerSort.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                // Las opciones siguen el orden de CollectionSortIndex.Order
+                sortBy(CollectionSortIndex.Order.values()[position]);
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {
+                sortBy(CollectionSortIndex.Order.COLLECTION);
+            }
+        });
     }
 
     private void setupRecyclerView() {
-        allCards = new ArrayList<>();
-        filteredCards = new ArrayList<>();
-
         // Configurar GridLayoutManager con 2 columnas
         GridLayoutManager gridLayoutManager = new GridLayoutManager(this, 2);
         recyclerViewCollection.setLayoutManager(gridLayoutManager);
@@ -102,29 +180,15 @@ public class CardCollectionActivity extends BaseActivity implements CollectionAd
 
     private void loadUserCollection() {
         if (currentUser != null) {
-            allCards.clear();
-            allCards.addAll(currentUser.getCollection());
-            filteredCards.clear();
-            filteredCards.addAll(allCards);
-
-            // Actualizar adaptador
-            collectionAdapter.notifyDataSetChanged();
-
-            // Mostrar estado vacío si no hay cartas
-            if (allCards.isEmpty()) {
-                tvEmptyState.setVisibility(View.VISIBLE);
-                recyclerViewCollection.setVisibility(View.GONE);
-            } else {
-                tvEmptyState.setVisibility(View.GONE);
-                recyclerViewCollection.setVisibility(View.VISIBLE);
-            }
+            setupPublisherSpinner();
+            applyFilters();
         } else {
             showToast("Error: No se pudo cargar la colección");
         }
     }
 
     private void updateCollectionStats() {
-        if (currentUser == null || allCards.isEmpty()) {
+        if (currentUser == null || currentUser.getAggregates().getUniqueCards() == 0) {
             tvCollectionStats.setText("Colección: 0 cartas");
             if (progressCollection != null) {
                 progressCollection.setProgress(0);
@@ -132,32 +196,17 @@ public class CardCollectionActivity extends BaseActivity implements CollectionAd
             return;
         }
 
-        int totalCards = allCards.size();
-        int common = 0, uncommon = 0, rare = 0, epic = 0, legendary = 0;
-
-        for (HeroCard card : allCards) {
-            switch (card.getRarity()) {
-                case "COMMON":
-                    common++;
-                    break;
-                case "UNCOMMON":
-                    uncommon++;
-                    break;
-                case "RARE":
-                    rare++;
-                    break;
-                case "EPIC":
-                    epic++;
-                    break;
-                case "LEGENDARY":
-                    legendary++;
-                    break;
-            }
-        }
+        CollectionAggregates aggregates = currentUser.getAggregates();
+        int totalCards = aggregates.getUniqueCards();
 
         String stats = String.format(
                 "Colección: %d cartas\nC: %d | U: %d | R: %d | E: %d | L: %d",
-                totalCards, common, uncommon, rare, epic, legendary
+                totalCards,
+                aggregates.getRarityCount(Rarity.COMMON),
+                aggregates.getRarityCount(Rarity.UNCOMMON),
+                aggregates.getRarityCount(Rarity.RARE),
+                aggregates.getRarityCount(Rarity.EPIC),
+                aggregates.getRarityCount(Rarity.LEGENDARY)
         );
         tvCollectionStats.setText(stats);
 
@@ -169,23 +218,122 @@ public class CardCollectionActivity extends BaseActivity implements CollectionAd
         }
     }
 
+    private void setupSortSpinner() {
+        String[] options = {"Orden de obtención", "Mayor poder", "Nombre (A-Z)", "Más recientes"};
+        ArrayAdapter<String> adapter = new ArrayAdapter<>(
+                this, android.R.layout.simple_spinner_item, options);
+        adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerSort.setAdapter(adapter);
+    }
+
+    private void setupPublisherSpinner() {
+        publishers = currentUser.getCollectionIndex().getPublishers();
+
+        List<String> options = new ArrayList<>(publishers.size() + 1);
+        options.add("Todas las editoriales");
+        options.addAll(publishers);
+
+        ArrayAdapter<String> adapter = new ArrayAdapter<>(
+                this, android.R.layout.simple_spinner_item, options);
+        adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerPublisher.setAdapter(adapter);
+        spinnerPublisher.setVisibility(publishers.isEmpty() ? View.GONE : View.VISIBLE);
+    }
+
     /**
-     * Filtra las cartas por rareza
+     * Filtra las cartas por rareza, conservando el filtro de editorial
+     * @param rarity Rareza a mostrar o null para mostrar todas
      */
-    public void filterByRarity(String rarity) {
-        filteredCards.clear();
+    public void filterByRarity(Rarity rarity) {
+        currentRarityFilter = rarity;
+        applyFilters();
+    }
 
-        if (rarity.equals("ALL")) {
-            filteredCards.addAll(allCards);
-        } else {
-            for (HeroCard card : allCards) {
-                if (card.getRarity().equals(rarity)) {
-                    filteredCards.add(card);
-                }
-            }
+    /**
+     * Filtra las cartas por editorial, conservando el filtro de rareza
+     * @param publisher Editorial a mostrar o null para mostrar todas
+     */
+    public void filterByPublisher(String publisher) {
+        currentPublisherFilter = publisher;
+        applyFilters();
+    }
+
+    /**
+     * Cambia el orden de las cartas conservando los filtros
+     */
+    public void sortBy(CollectionSortIndex.Order order) {
+        currentSortOrder = order;
+        applyFilters();
+    }
+
+    // ==================== BÚSQUEDA ====================
+
+    /**
+     * Reprograma la búsqueda en cada tecla; solo se ejecuta cuando el texto
+     * deja de cambiar durante SEARCH_DEBOUNCE_MS
+     */
+    private void scheduleSearch(String query) {
+        pendingQuery = query.trim();
+        searchHandler.removeCallbacks(searchRunnable);
+        if (pendingQuery.isEmpty()) {
+            // Borrar la búsqueda no necesita el índice
+            cancelSearch();
+            searchMatches = null;
+            applyFilters();
+            return;
         }
+        searchHandler.postDelayed(searchRunnable, AppConstants.SEARCH_DEBOUNCE_MS);
+    }
 
-        collectionAdapter.notifyDataSetChanged();
+    /**
+     * Consulta el índice de búsqueda en segundo plano. Una consulta anterior que
+     * no haya empezado se cancela, y un resultado que llega tarde se descarta.
+     */
+    private void runSearch() {
+        if (currentUser == null) {
+            return;
+        }
+        cancelSearch();
+
+        String query = pendingQuery;
+        HeroSearchIndex index = currentUser.getCollectionIndex().getSearchIndex();
+        AppExecutors executors = AppExecutors.getInstance();
+        try {
+            searchTask = executors.io().submit(() -> {
+                int[] matches = index.search(query);
+                executors.mainThread().execute(() -> {
+                    if (isFinishing() || !query.equals(pendingQuery)) {
+                        return;
+                    }
+                    searchMatches = matches;
+                    applyFilters();
+                });
+            });
+            trackRequest(searchTask);
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Búsqueda rechazada, el ejecutor está saturado", e);
+        }
+    }
+
+    private void cancelSearch() {
+        if (searchTask != null) {
+            searchTask.cancel(false);
+            searchTask = null;
+        }
+    }
+
+    /**
+     * Consulta el índice de la colección con los filtros y el orden actuales y entrega
+     * la vista resultante al adaptador, sin recorrer la colección
+     */
+    private void applyFilters() {
+        if (currentUser == null) {
+            return;
+        }
+        CollectionIndex index = currentUser.getCollectionIndex();
+        filteredCards = index.filter(currentRarityFilter, currentPublisherFilter,
+                currentSortOrder, searchMatches);
+        collectionAdapter.setCards(filteredCards);
         updateEmptyState();
     }
 
@@ -240,27 +388,33 @@ public class CardCollectionActivity extends BaseActivity implements CollectionAd
 
     // Métodos para los filtros (se llaman desde el XML)
     public void onFilterAllClick(View view) {
-        filterByRarity("ALL");
+        filterByRarity(null);
     }
 
     public void onFilterCommonClick(View view) {
-        filterByRarity("COMMON");
+        filterByRarity(Rarity.COMMON);
     }
 
     public void onFilterUncommonClick(View view) {
-        filterByRarity("UNCOMMON");
+        filterByRarity(Rarity.UNCOMMON);
     }
 
     public void onFilterRareClick(View view) {
-        filterByRarity("RARE");
+        filterByRarity(Rarity.RARE);
     }
 
     public void onFilterEpicClick(View view) {
-        filterByRarity("EPIC");
+        filterByRarity(Rarity.EPIC);
     }
 
     public void onFilterLegendaryClick(View view) {
-        filterByRarity("LEGENDARY");
+        filterByRarity(Rarity.LEGENDARY);
+    }
+
+    @Override
+    protected void onDestroy() {
+        searchHandler.removeCallbacks(searchRunnable);
+        super.onDestroy();
     }
 
     @SuppressLint("GestureBackNavigation")
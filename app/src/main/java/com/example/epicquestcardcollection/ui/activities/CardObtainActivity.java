@@ -7,12 +7,17 @@ import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.TextView;
 
+import com.example.epicquestcardcollection.BuildConfig;
 import com.example.epicquestcardcollection.R;
 import com.example.epicquestcardcollection.base.BaseActivity;
+import com.example.epicquestcardcollection.data.remote.ApiHttpClient;
+import com.example.epicquestcardcollection.data.remote.HeroPrefetchQueue;
+import com.example.epicquestcardcollection.data.remote.HeroResponseCache;
 import com.example.epicquestcardcollection.data.remote.SuperHeroAPI;
-import com.example.epicquestcardcollection.data.repository.UserRepository;
-import com.example.epicquestcardcollection.data.repository.UserRepositoryImpl;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepository;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepositoryImpl;
 import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.Stat;
 import com.example.epicquestcardcollection.model.User;
 import com.example.epicquestcardcollection.utils.AppConstants;
 import com.example.epicquestcardcollection.utils.DateUtils;
@@ -38,7 +43,8 @@ public class CardObtainActivity extends BaseActivity implements SuperHeroAPI.Her
     private TextView tvHeroBiography;
     private BottomNavigationView bottomNavigation;
 
-    private UserRepository userRepository;
+    private AsyncUserRepository userRepository;
+    private HeroPrefetchQueue prefetchQueue;
     private User currentUser;
     private boolean isObtainingCard = false;
     private Button btnResetOpportunities;
@@ -63,12 +69,21 @@ public class CardObtainActivity extends BaseActivity implements SuperHeroAPI.Her
 
         btnResetOpportunities = findViewById(R.id.btnResetOpportunities);
 
-        userRepository = new UserRepositoryImpl(this);
-        currentUser = userRepository.getCurrentUser();
+        userRepository = new AsyncUserRepositoryImpl(this);
+        prefetchQueue = HeroPrefetchQueue.getInstance(this);
 
         setupBottomNavigation();
-        updateUI();
-        startCooldownChecker();
+
+        // El botón se habilita cuando termina de cargarse el usuario
+        btnObtainCard.setEnabled(false);
+        trackRequest(userRepository.getCurrentUser(user -> {
+            currentUser = user;
+            updateUI();
+            startCooldownChecker();
+            if (user != null) {
+                prefetchQueue.refill(user.getDailyOpportunities());
+            }
+        }));
     }
 
     @Override
@@ -98,12 +113,19 @@ public class CardObtainActivity extends BaseActivity implements SuperHeroAPI.Her
 
     private void resetOpportunities() {
         if (userRepository != null) {
-            UserRepository.OperationResult result = userRepository.resetDailyOpportunities();
-            showToast(result.getMessage());
-            if (result.isSuccess()) {
-                currentUser = userRepository.getCurrentUser(); // Actualizar referencia
-                updateUI();
-            }
+            trackRequest(userRepository.resetDailyOpportunities(result -> {
+                showToast(result.getMessage());
+                if (result.isSuccess()) {
+                    // Actualizar referencia
+                    trackRequest(userRepository.getCurrentUser(user -> {
+                        currentUser = user;
+                        updateUI();
+                        if (user != null) {
+                            prefetchQueue.refill(user.getDailyOpportunities());
+                        }
+                    }));
+                }
+            }));
         }
     }
 
@@ -156,26 +178,48 @@ public class CardObtainActivity extends BaseActivity implements SuperHeroAPI.Her
         // Ocultar carta anterior
         cardContainer.setVisibility(View.GONE);
 
-        // Obtener carta aleatoria
-        SuperHeroAPI.getRandomHero(this);
+        // Usar un héroe precargado si hay; si no, pedirlo (se cancela si se cierra la pantalla).
+        // onHeroReceived consume la oportunidad en ambos casos
+        HeroCard prefetched = prefetchQueue.poll();
+        if (prefetched != null) {
+            onHeroReceived(prefetched);
+        } else {
+            trackRequest(SuperHeroAPI.getRandomHero(this, this));
+        }
     }
 
     @Override
     public void onHeroReceived(HeroCard heroCard) {
         isObtainingCard = false;
+        if (BuildConfig.DEBUG) {
+            // Diagnóstico de cada tirada; armar los summary() tiene costo: solo en depuración
+            android.util.Log.d("CardObtain", "Latencia API: " + ApiHttpClient.getInstance().getTimingStats().summary());
+            android.util.Log.d("CardObtain", "Caché: " + HeroResponseCache.getInstance(this).summary());
+        }
 
         if (currentUser != null && heroCard != null) {
             // Consumir oportunidad y agregar carta
             currentUser.consumeOpportunity();
-            currentUser.addCardToCollection(heroCard);
-            userRepository.updateUser(currentUser);
+            boolean isNewHero = currentUser.addCardToCollection(heroCard);
+            // No se registra para cancelar: la carta debe guardarse aunque se salga de la pantalla
+            userRepository.recordCardObtained(currentUser, heroCard, result -> {
+                if (!result.isSuccess()) {
+                    showToast(result.getMessage());
+                }
+            });
 
             // Mostrar carta obtenida
             displayHeroCard(heroCard);
-            showToast("¡Nueva carta obtenida: " + heroCard.getName() + "!");
+            if (isNewHero) {
+                showToast("¡Nueva carta obtenida: " + heroCard.getName() + "!");
+            } else {
+                int copies = currentUser.getOwnedCard(heroCard.getId()).getCount();
+                showToast("Carta repetida: " + heroCard.getName() + " (x" + copies + ")");
+            }
 
-            // Actualizar UI
+            // Actualizar UI y reponer la cola para la siguiente tirada
             updateUI();
+            prefetchQueue.refill(currentUser.getDailyOpportunities());
         } else {
             showToast("Error al obtener la carta");
             updateUI();
@@ -192,18 +236,18 @@ public class CardObtainActivity extends BaseActivity implements SuperHeroAPI.Her
     private void displayHeroCard(HeroCard heroCard) {
         // Mostrar información del héroe
         tvHeroName.setText(heroCard.getName());
-        tvHeroRarity.setText("Rareza: " + heroCard.getRarity());
+        tvHeroRarity.setText("Rareza: " + heroCard.getRarityLabel());
         tvHeroBiography.setText(heroCard.getBiography());
 
         // Mostrar estadísticas
         String stats = String.format(
                 "Fuerza: %d | Velocidad: %d | Inteligencia: %d\nPoder: %d | Combate: %d | Durabilidad: %d",
-                heroCard.getPowerStats().getStrength(),
-                heroCard.getPowerStats().getSpeed(),
-                heroCard.getPowerStats().getIntelligence(),
-                heroCard.getPowerStats().getPower(),
-                heroCard.getPowerStats().getCombat(),
-                heroCard.getPowerStats().getDurability()
+                heroCard.getStat(Stat.STRENGTH),
+                heroCard.getStat(Stat.SPEED),
+                heroCard.getStat(Stat.INTELLIGENCE),
+                heroCard.getStat(Stat.POWER),
+                heroCard.getStat(Stat.COMBAT),
+                heroCard.getStat(Stat.DURABILITY)
         );
         tvHeroStats.setText(stats);
 
@@ -10,9 +10,10 @@ import androidx.activity.OnBackPressedCallback;
 
 import com.example.epicquestcardcollection.R;
 import com.example.epicquestcardcollection.base.BaseActivity;
-import com.example.epicquestcardcollection.data.repository.UserRepository;
-import com.example.epicquestcardcollection.data.repository.UserRepositoryImpl;
-import com.example.epicquestcardcollection.model.User;
+import com.example.epicquestcardcollection.data.remote.HeroPrefetchQueue;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepository;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepositoryImpl;
+import com.example.epicquestcardcollection.model.SessionHeader;
 import com.example.epicquestcardcollection.receivers.DailyReminderReceiver;
 import com.example.epicquestcardcollection.utils.AlarmHelper;
 
@@ -31,8 +32,8 @@ public class DashboardActivity extends BaseActivity {
     private com.google.android.material.card.MaterialCardView btnSettings;
     private Button btnLogout;
 
-    private UserRepository userRepository;
-    private User currentUser;
+    private AsyncUserRepository userRepository;
+    private SessionHeader sessionHeader;
     private boolean isBackPressedOnce = false;
 
     @Override
@@ -80,10 +81,12 @@ public class DashboardActivity extends BaseActivity {
             }
 
             // Inicializar repositorio y obtener usuario
-            userRepository = new UserRepositoryImpl(this);
-            currentUser = userRepository.getCurrentUser();
-
-            setupWelcomeMessage();
+            userRepository = new AsyncUserRepositoryImpl(this);
+            // Solo se necesita el resumen de la sesión; la colección no se carga aquí
+            trackRequest(userRepository.getSessionHeader(header -> {
+                sessionHeader = header;
+                setupWelcomeMessage();
+            }));
 
             // SOLICITAR PERMISOS DE FORMA DIRECTA
             requestMissingPermissions();
@@ -159,10 +162,10 @@ public class DashboardActivity extends BaseActivity {
 
     private void setupWelcomeMessage() {
         try {
-            if (currentUser != null && currentUser.getUsername() != null) {
-                String welcomeMessage = "¡Bienvenido, " + currentUser.getUsername() + "!";
+            if (sessionHeader != null && sessionHeader.getUsername() != null) {
+                String welcomeMessage = "¡Bienvenido, " + sessionHeader.getUsername() + "!";
                 tvWelcome.setText(welcomeMessage);
-                Log.d(TAG, "Mensaje de bienvenida configurado para: " + currentUser.getUsername());
+                Log.d(TAG, "Mensaje de bienvenida configurado para: " + sessionHeader.getUsername());
             } else {
                 tvWelcome.setText("¡Bienvenido, Coleccionista!");
                 Log.d(TAG, "Usuario no encontrado, usando mensaje genérico");
@@ -220,14 +223,19 @@ public class DashboardActivity extends BaseActivity {
     private void performLogout() {
         try {
             if (userRepository != null) {
-                UserRepository.OperationResult result = userRepository.logoutUser();
-                if (result != null && result.isSuccess()) {
-                    showToast(result.getMessage());
-                    navigateToLogin();
-                } else {
-                    String errorMsg = (result != null) ? result.getMessage() : "Error desconocido";
-                    showToast("Error al cerrar sesión: " + errorMsg);
-                }
+                btnLogout.setEnabled(false);
+                trackRequest(userRepository.logoutUser(result -> {
+                    if (result != null && result.isSuccess()) {
+                        // Los héroes precargados eran de este usuario
+                        HeroPrefetchQueue.getInstance(this).clear();
+                        showToast(result.getMessage());
+                        navigateToLogin();
+                    } else {
+                        String errorMsg = (result != null) ? result.getMessage() : "Error desconocido";
+                        showToast("Error al cerrar sesión: " + errorMsg);
+                        btnLogout.setEnabled(true);
+                    }
+                }));
             }
         } catch (Exception e) {
             Log.e(TAG, "Error en performLogout: ", e);
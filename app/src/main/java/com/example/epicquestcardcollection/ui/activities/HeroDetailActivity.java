@@ -154,8 +154,7 @@ public class HeroDetailActivity extends BaseActivity {
      * Configura la UI según la rareza del héroe
      */
     private void setRarityUI() {
-        String rarity = currentHero.getRarity();
-        tvRarityBadge.setText(rarity);
+        tvRarityBadge.setText(currentHero.getRarityLabel());
 
         int rarityColor = currentHero.getRarityColor();
         tvRarityBadge.setTextColor(getResources().getColor(rarityColor, null));
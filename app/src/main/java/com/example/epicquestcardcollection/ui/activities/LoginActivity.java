@@ -9,8 +9,8 @@ import android.widget.TextView;
 
 import com.example.epicquestcardcollection.R;
 import com.example.epicquestcardcollection.base.BaseActivity;
-import com.example.epicquestcardcollection.data.repository.UserRepository;
-import com.example.epicquestcardcollection.data.repository.UserRepositoryImpl;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepository;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepositoryImpl;
 import com.google.android.material.textfield.TextInputEditText;
 
 /**
@@ -25,7 +25,7 @@ public class LoginActivity extends BaseActivity {
     private TextView tvRegisterLink;
     private TextView tvError;
 
-    private UserRepository userRepository;
+    private AsyncUserRepository userRepository;
 
     @Override
     protected int getLayoutRes() {
@@ -40,7 +40,7 @@ public class LoginActivity extends BaseActivity {
         tvRegisterLink = findViewById(R.id.tvRegisterLink);
         tvError = findViewById(R.id.tvError);
 
-        userRepository = new UserRepositoryImpl(this);
+        userRepository = new AsyncUserRepositoryImpl(this);
     }
 
     @Override
@@ -79,19 +79,19 @@ public class LoginActivity extends BaseActivity {
         btnLogin.setEnabled(false);
         btnLogin.setText(R.string.logging_in);
 
-        // Usar el repositorio para hacer login
-        UserRepository.OperationResult result = userRepository.loginUser(username, password);
-
-        if (result.isSuccess()) {
-            // Login exitoso
-            showToast(result.getMessage());
-            navigateToWelcome();
-        } else {
-            // Error en login
-            showError(result.getMessage());
-            btnLogin.setEnabled(true);
-            btnLogin.setText(R.string.login);
-        }
+        // Usar el repositorio para hacer login (fuera del hilo principal)
+        trackRequest(userRepository.loginUser(username, password, result -> {
+            if (result.isSuccess()) {
+                // Login exitoso
+                showToast(result.getMessage());
+                navigateToWelcome();
+            } else {
+                // Error en login
+                showError(result.getMessage());
+                btnLogin.setEnabled(true);
+                btnLogin.setText(R.string.login);
+            }
+        }));
     }
 
     private void showError(String errorMessage) {
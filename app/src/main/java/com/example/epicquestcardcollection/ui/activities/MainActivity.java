@@ -5,8 +5,8 @@ import android.os.Bundle;
 import com.example.epicquestcardcollection.base.BaseActivity;
 import com.example.epicquestcardcollection.R;
 import com.example.epicquestcardcollection.data.local.SessionManager;
-import com.example.epicquestcardcollection.data.repository.UserRepository;
-import com.example.epicquestcardcollection.data.repository.UserRepositoryImpl;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepository;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepositoryImpl;
 import com.example.epicquestcardcollection.model.HeroCard;
 import com.example.epicquestcardcollection.model.PowerStats;
 import com.example.epicquestcardcollection.utils.DateUtils;
@@ -38,8 +38,8 @@ public class MainActivity extends BaseActivity {
         showToast("Validación: " + validation.getMessage());
 
         // Probar UserRepository
-        UserRepository userRepo = new UserRepositoryImpl(this);
-        showToast("Usuario logueado: " + userRepo.isUserLoggedIn());
+        AsyncUserRepository userRepo = new AsyncUserRepositoryImpl(this);
+        trackRequest(userRepo.isUserLoggedIn(loggedIn -> showToast("Usuario logueado: " + loggedIn)));
 
         // Probar cooldown
         long remaining = DateUtils.calculateRemainingCooldown(System.currentTimeMillis() - 1800000); // 30 min ago
@@ -9,8 +9,8 @@ import android.widget.TextView;
 
 import com.example.epicquestcardcollection.R;
 import com.example.epicquestcardcollection.base.BaseActivity;
-import com.example.epicquestcardcollection.data.repository.UserRepository;
-import com.example.epicquestcardcollection.data.repository.UserRepositoryImpl;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepository;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepositoryImpl;
 import com.google.android.material.textfield.TextInputEditText;
 
 /**
@@ -27,7 +27,7 @@ public class RegisterActivity extends BaseActivity {
     private TextView tvLoginLink;
     private TextView tvError;
 
-    private UserRepository userRepository;
+    private AsyncUserRepository userRepository;
 
     @Override
     protected int getLayoutRes() {
@@ -44,7 +44,7 @@ public class RegisterActivity extends BaseActivity {
         tvLoginLink = findViewById(R.id.tvLoginLink);
         tvError = findViewById(R.id.tvError);
 
-        userRepository = new UserRepositoryImpl(this);
+        userRepository = new AsyncUserRepositoryImpl(this);
     }
 
     @Override
@@ -103,19 +103,19 @@ public class RegisterActivity extends BaseActivity {
         btnRegister.setEnabled(false);
         btnRegister.setText(R.string.registering);
 
-        // Usar el repositorio para registrar usuario
-        UserRepository.OperationResult result = userRepository.registerUser(username, password, email);
-
-        if (result.isSuccess()) {
-            // Registro exitoso
-            showToast(result.getMessage());
-            navigateToWelcome();
-        } else {
-            // Error en registro
-            showError(result.getMessage());
-            btnRegister.setEnabled(true);
-            btnRegister.setText(R.string.register);
-        }
+        // Usar el repositorio para registrar usuario (fuera del hilo principal)
+        trackRequest(userRepository.registerUser(username, password, email, result -> {
+            if (result.isSuccess()) {
+                // Registro exitoso
+                showToast(result.getMessage());
+                navigateToWelcome();
+            } else {
+                // Error en registro
+                showError(result.getMessage());
+                btnRegister.setEnabled(true);
+                btnRegister.setText(R.string.register);
+            }
+        }));
     }
 
     private void showError(String errorMessage) {
@@ -19,19 +19,19 @@ import androidx.core.content.FileProvider;
 
 import com.example.epicquestcardcollection.R;
 import com.example.epicquestcardcollection.base.BaseActivity;
-import com.example.epicquestcardcollection.data.repository.UserRepository;
-import com.example.epicquestcardcollection.data.repository.UserRepositoryImpl;
-import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepository;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepositoryImpl;
+import com.example.epicquestcardcollection.model.CollectionAggregates;
+import com.example.epicquestcardcollection.model.PowerStatsColumns;
+import com.example.epicquestcardcollection.model.Rarity;
+import com.example.epicquestcardcollection.model.Stat;
 import com.example.epicquestcardcollection.model.User;
 
 import java.io.File;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 /**
  * Actividad de Estadísticas y Perfil del Usuario
@@ -56,6 +56,7 @@ public class StatsActivity extends BaseActivity {
     private TextView tvLegendaryCards;
     private TextView tvTotalPower;
     private TextView tvAveragePower;
+    private TextView tvStatBreakdown;
     private TextView tvOpportunitiesLeft;
 
     // UI Components - Botones de Acción
@@ -66,7 +67,7 @@ public class StatsActivity extends BaseActivity {
     private Button btnBack;
 
     // Data
-    private UserRepository userRepository;
+    private AsyncUserRepository userRepository;
     private User currentUser;
     private Uri photoUri;
 
@@ -101,6 +102,7 @@ public class StatsActivity extends BaseActivity {
         tvLegendaryCards = findViewById(R.id.tvLegendaryCards);
         tvTotalPower = findViewById(R.id.tvTotalPower);
         tvAveragePower = findViewById(R.id.tvAveragePower);
+        tvStatBreakdown = findViewById(R.id.tvStatBreakdown);
         tvOpportunitiesLeft = findViewById(R.id.tvOpportunitiesLeft);
 
         // Inicializar botones
@@ -111,14 +113,16 @@ public class StatsActivity extends BaseActivity {
         btnBack = findViewById(R.id.btnBack);
 
         // Inicializar repositorio
-        userRepository = new UserRepositoryImpl(this);
-        currentUser = userRepository.getCurrentUser();
+        userRepository = new AsyncUserRepositoryImpl(this);
 
         // Configurar Activity Result Launchers
         setupActivityResultLaunchers();
 
         // Cargar datos
-        loadUserData();
+        trackRequest(userRepository.getCurrentUser(user -> {
+            currentUser = user;
+            loadUserData();
+        }));
     }
 
     @Override
@@ -219,41 +223,43 @@ public class StatsActivity extends BaseActivity {
      * Calcula y muestra las estadísticas de la colección
      */
     private void calculateAndDisplayStats() {
-        List<HeroCard> collection = currentUser.getCollection();
-
-        // Contar cartas por rareza
-        Map<String, Integer> rarityCount = new HashMap<>();
-        rarityCount.put("COMMON", 0);
-        rarityCount.put("UNCOMMON", 0);
-        rarityCount.put("RARE", 0);
-        rarityCount.put("EPIC", 0);
-        rarityCount.put("LEGENDARY", 0);
-
-        int totalPower = 0;
-
-        for (HeroCard card : collection) {
-            String rarity = card.getRarity();
-            rarityCount.put(rarity, rarityCount.get(rarity) + 1);
-            totalPower += card.getTotalPower();
-        }
+        // Los totales se mantienen al agregar cartas; no se recorre la colección
+        CollectionAggregates aggregates = currentUser.getAggregates();
 
         // Mostrar estadísticas
-        int totalCards = collection.size();
-        tvTotalCards.setText(String.valueOf(totalCards));
-        tvCommonCards.setText(String.valueOf(rarityCount.get("COMMON")));
-        tvUncommonCards.setText(String.valueOf(rarityCount.get("UNCOMMON")));
-        tvRareCards.setText(String.valueOf(rarityCount.get("RARE")));
-        tvEpicCards.setText(String.valueOf(rarityCount.get("EPIC")));
-        tvLegendaryCards.setText(String.valueOf(rarityCount.get("LEGENDARY")));
-
-        tvTotalPower.setText(String.valueOf(totalPower));
+        tvTotalCards.setText(String.valueOf(aggregates.getUniqueCards()));
+        tvCommonCards.setText(String.valueOf(aggregates.getRarityCount(Rarity.COMMON)));
+        tvUncommonCards.setText(String.valueOf(aggregates.getRarityCount(Rarity.UNCOMMON)));
+        tvRareCards.setText(String.valueOf(aggregates.getRarityCount(Rarity.RARE)));
+        tvEpicCards.setText(String.valueOf(aggregates.getRarityCount(Rarity.EPIC)));
+        tvLegendaryCards.setText(String.valueOf(aggregates.getRarityCount(Rarity.LEGENDARY)));
 
-        int averagePower = totalCards > 0 ? totalPower / totalCards : 0;
-        tvAveragePower.setText(String.valueOf(averagePower));
+        tvTotalPower.setText(String.valueOf(aggregates.getTotalPower()));
+        tvAveragePower.setText(String.valueOf(aggregates.getAveragePower()));
+        tvStatBreakdown.setText(buildStatBreakdown(currentUser.getStatsColumns()));
 
         tvOpportunitiesLeft.setText(String.valueOf(currentUser.getDailyOpportunities()));
     }
 
+    /**
+     * Promedio y máximo de cada estadística, recorriendo las columnas primitivas
+     */
+    private String buildStatBreakdown(PowerStatsColumns columns) {
+        if (columns.size() == 0) {
+            return "-";
+        }
+        StringBuilder breakdown = new StringBuilder();
+        for (Stat stat : Stat.values()) {
+            if (breakdown.length() > 0) {
+                breakdown.append('\n');
+            }
+            breakdown.append(stat.getLabel()).append(": ")
+                    .append(columns.average(stat)).append(" / ")
+                    .append(columns.max(stat));
+        }
+        return breakdown.toString();
+    }
+
     /**
      * Comparte la colección usando el Intent de compartir de Android
      */
@@ -261,30 +267,18 @@ public class StatsActivity extends BaseActivity {
         if (currentUser == null) return;
 
         // Crear texto para compartir
-        List<HeroCard> collection = currentUser.getCollection();
+        CollectionAggregates aggregates = currentUser.getAggregates();
         StringBuilder shareText = new StringBuilder();
         shareText.append("🦸 Mi Colección Epic Quest 🦸\n\n");
         shareText.append("👤 Coleccionista: ").append(currentUser.getUsername()).append("\n");
-        shareText.append("🃏 Total de cartas: ").append(collection.size()).append("\n\n");
-
-        // Contar por rareza
-        Map<String, Integer> rarityCount = new HashMap<>();
-        rarityCount.put("COMMON", 0);
-        rarityCount.put("UNCOMMON", 0);
-        rarityCount.put("RARE", 0);
-        rarityCount.put("EPIC", 0);
-        rarityCount.put("LEGENDARY", 0);
-
-        for (HeroCard card : collection) {
-            rarityCount.put(card.getRarity(), rarityCount.get(card.getRarity()) + 1);
-        }
+        shareText.append("🃏 Total de cartas: ").append(aggregates.getUniqueCards()).append("\n\n");
 
         shareText.append("📊 Rarezas:\n");
-        shareText.append("⚪ Comunes: ").append(rarityCount.get("COMMON")).append("\n");
-        shareText.append("🟢 Poco Comunes: ").append(rarityCount.get("UNCOMMON")).append("\n");
-        shareText.append("🔵 Raras: ").append(rarityCount.get("RARE")).append("\n");
-        shareText.append("🟣 Épicas: ").append(rarityCount.get("EPIC")).append("\n");
-        shareText.append("🟡 Legendarias: ").append(rarityCount.get("LEGENDARY")).append("\n\n");
+        shareText.append("⚪ Comunes: ").append(aggregates.getRarityCount(Rarity.COMMON)).append("\n");
+        shareText.append("🟢 Poco Comunes: ").append(aggregates.getRarityCount(Rarity.UNCOMMON)).append("\n");
+        shareText.append("🔵 Raras: ").append(aggregates.getRarityCount(Rarity.RARE)).append("\n");
+        shareText.append("🟣 Épicas: ").append(aggregates.getRarityCount(Rarity.EPIC)).append("\n");
+        shareText.append("🟡 Legendarias: ").append(aggregates.getRarityCount(Rarity.LEGENDARY)).append("\n\n");
         shareText.append("¡Únete y construye tu colección!");
 
         // Crear intent de compartir
@@ -9,8 +9,9 @@ import android.widget.TextView;
 
 import com.example.epicquestcardcollection.R;
 import com.example.epicquestcardcollection.base.BaseActivity;
-import com.example.epicquestcardcollection.data.repository.UserRepository;
-import com.example.epicquestcardcollection.data.repository.UserRepositoryImpl;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepository;
+import com.example.epicquestcardcollection.data.repository.AsyncUserRepositoryImpl;
+import com.example.epicquestcardcollection.model.SessionHeader;
 
 /**
  * Actividad de bienvenida que se muestra después del login/registro exitoso.
@@ -20,7 +21,7 @@ public class WelcomeActivity extends BaseActivity {
 
     private TextView tvWelcome;
     private Button btnContinue;
-    private UserRepository userRepository;
+    private AsyncUserRepository userRepository;
     private Handler handler;
     private Runnable autoRedirectRunnable;
 
@@ -34,13 +35,15 @@ public class WelcomeActivity extends BaseActivity {
         tvWelcome = findViewById(R.id.tvWelcome);
         btnContinue = findViewById(R.id.btnContinue);
 
-        userRepository = new UserRepositoryImpl(this);
+        userRepository = new AsyncUserRepositoryImpl(this);
         handler = new Handler(Looper.getMainLooper());
 
         // Personalizar mensaje de bienvenida con el nombre del usuario
-        String username = getCurrentUsername();
-        String welcomeMessage = getString(R.string.welcome_title) + " " + username + "!";
-        tvWelcome.setText(welcomeMessage);
+        trackRequest(userRepository.getSessionHeader(header -> {
+            String username = getCurrentUsername(header);
+            String welcomeMessage = getString(R.string.welcome_title) + " " + username + "!";
+            tvWelcome.setText(welcomeMessage);
+        }));
 
         // Redirigir automáticamente después de 3 segundos
         startAutoRedirect();
@@ -54,13 +57,9 @@ public class WelcomeActivity extends BaseActivity {
         });
     }
 
-    private String getCurrentUsername() {
-        try {
-            if (userRepository != null && userRepository.getCurrentUser() != null) {
-                return userRepository.getCurrentUser().getUsername();
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+    private String getCurrentUsername(SessionHeader header) {
+        if (header != null && header.getUsername() != null) {
+            return header.getUsername();
         }
         return "Coleccionista";
     }
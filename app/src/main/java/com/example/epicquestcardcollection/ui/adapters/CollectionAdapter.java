@@ -1,5 +1,6 @@
 package com.example.epicquestcardcollection.ui.adapters;
 
+import android.annotation.SuppressLint;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -27,7 +28,7 @@ public class CollectionAdapter extends RecyclerView.Adapter<CollectionAdapter.Ca
         void onCardLongClick(HeroCard heroCard);
     }
 
-    private final List<HeroCard> cards;
+    private List<HeroCard> cards;
     private final OnCardClickListener listener;
 
     public CollectionAdapter(List<HeroCard> cards, OnCardClickListener listener) {
@@ -35,6 +36,16 @@ public class CollectionAdapter extends RecyclerView.Adapter<CollectionAdapter.Ca
         this.listener = listener;
     }
 
+    /**
+     * Reemplaza la lista mostrada; los filtros entregan vistas ya construidas,
+     * así cambiar de filtro no copia cartas
+     */
+    @SuppressLint("NotifyDataSetChanged")
+    public void setCards(List<HeroCard> cards) {
+        this.cards = cards;
+        notifyDataSetChanged();
+    }
+
     @NonNull
     @Override
     public CardViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -78,10 +89,10 @@ public class CollectionAdapter extends RecyclerView.Adapter<CollectionAdapter.Ca
 
             // Configurar nombre y rareza
             tvCardName.setText(card.getName());
-            tvCardRarity.setText(card.getRarity());
+            tvCardRarity.setText(card.getRarityLabel());
 
             // Configurar color de rareza
-            int rarityColor = getRarityColor(card.getRarity());
+            int rarityColor = card.getRarityColor();
             rarityIndicator.setBackgroundColor(
                     ContextCompat.getColor(itemView.getContext(), rarityColor)
             );
@@ -93,20 +104,5 @@ public class CollectionAdapter extends RecyclerView.Adapter<CollectionAdapter.Ca
                 return true;
             });
         }
-
-        private int getRarityColor(String rarity) {
-            switch (rarity) {
-                case "LEGENDARY":
-                    return R.color.legendary_color;
-                case "EPIC":
-                    return R.color.epic_color;
-                case "RARE":
-                    return R.color.rare_color;
-                case "UNCOMMON":
-                    return R.color.uncommon_color;
-                default: // COMMON
-                    return R.color.common_color;
-            }
-        }
     }
 }
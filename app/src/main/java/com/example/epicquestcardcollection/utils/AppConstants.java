@@ -12,6 +12,15 @@ public class AppConstants {
     public static final String KEY_USERS_DATA = "users_data";
     public static final String KEY_FIRST_TIME = "first_time";
     public static final String KEY_CURRENT_SESSION = "current_session";
+    public static final String KEY_SESSION_HEADER = "session_header";
+    public static final String KEY_CATALOG_SYNC_CURSOR = "catalog_sync_cursor";
+    public static final String KEY_CATALOG_SYNC_FAILED = "catalog_sync_failed";
+
+    // Almacenamiento de usuarios (un shard por usuario)
+    public static final String USER_SHARDS_DIR = "users";
+    public static final int JOURNAL_COMPACTION_THRESHOLD = 64; // eventos antes de compactar
+    public static final long USER_FLUSH_DELAY_MS = 2000; // espera para agrupar escrituras
+    public static final String HERO_CATALOG_FILE = "heroes.catalog"; // datos de héroes compartidos
 
     // Sistema de oportunidades
     public static final int DAILY_OPPORTUNITIES = 5; // deven ser 5 por dia
@@ -20,17 +29,31 @@ public class AppConstants {
     // API
     public static final String SUPERHERO_API_BASE_URL = "https://superheroapi.com/api/";
     public static final String API_ACCESS_TOKEN = "497204daa803d1df886a17fd2485f1f4";
+    public static final int API_MAX_HERO_ID = 731; // la API tiene IDs desde 1 hasta 731
+    public static final int FETCH_MAX_CONCURRENT = 3; // peticiones a la API en paralelo
+    public static final int FETCH_QUEUE_CAPACITY = 16; // peticiones en espera antes de rechazar
+    public static final int API_TIMEOUT_MS = 15000;
+    public static final int HTTP_MAX_IDLE_CONNECTIONS = 4; // sockets keep-alive en el pool
+    public static final long HTTP_KEEP_ALIVE_MINUTES = 5;
+    public static final int HERO_MEMORY_CACHE_ENTRIES = 128; // héroes parseados en memoria
+    public static final long HERO_DISK_CACHE_TTL_MS = 7L * 24 * 60 * 60 * 1000; // 7 días
+    public static final long HERO_DISK_CACHE_MAX_BYTES = 1024 * 1024; // 1 MB
+    public static final int PREFETCH_QUEUE_DEPTH = 3; // héroes listos para la siguiente tirada
+    public static final String PREFETCH_QUEUE_FILE = "draw_queue.bin";
+
+    // Sincronización del catálogo completo de héroes
+    public static final int CATALOG_SYNC_PARALLELISM = 3; // descargas en curso a la vez
+    public static final long CATALOG_SYNC_INTERVAL_MS = 150; // separación mínima entre peticiones
+    public static final int CATALOG_SYNC_CHECKPOINT_EVERY = 25; // héroes entre checkpoints
+    public static final int CATALOG_SYNC_MAX_CONSECUTIVE_FAILURES = 5; // se pausa hasta el próximo arranque
+    public static final double CATALOG_SYNC_MIN_COVERAGE = 0.99; // ids que debe tener el catálogo si quedan fallidos
+
+    // Colección
+    public static final long SEARCH_DEBOUNCE_MS = 250; // espera tras la última tecla
 
     // Navegación
     public static final int ONBOARDING_SCREEN_COUNT = 3;
 
-    // Rarezas (SOLO UNA VEZ)
-    public static final String RARITY_COMMON = "COMMON";
-    public static final String RARITY_UNCOMMON = "UNCOMMON";
-    public static final String RARITY_RARE = "RARE";
-    public static final String RARITY_EPIC = "EPIC";
-    public static final String RARITY_LEGENDARY = "LEGENDARY";
-
     // Validación de credenciales
     public static final int MIN_USERNAME_LENGTH = 3;
     public static final int MIN_PASSWORD_LENGTH = 6;
@@ -0,0 +1,85 @@
+package com.example.epicquestcardcollection.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Singleton con los ejecutores compartidos por toda la aplicación.
+ * Centraliza el trabajo en segundo plano para no crear hilos sueltos.
+ */
+public class AppExecutors {
+
+    private static final int IO_CORE_THREADS = 2;
+    private static final int IO_MAX_THREADS = 4;
+    private static final int IO_QUEUE_CAPACITY = 64;
+    private static final long IO_KEEP_ALIVE_SECONDS = 30;
+
+    private static AppExecutors instance;
+
+    private final ScheduledExecutorService diskIO;
+    private final ExecutorService io;
+    private final Executor mainThread;
+
+    private AppExecutors() {
+        this.diskIO = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "EpicQuest-DiskIO");
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        AtomicInteger ioThreadCount = new AtomicInteger();
+        ThreadPoolExecutor ioExecutor = new ThreadPoolExecutor(
+                IO_CORE_THREADS, IO_MAX_THREADS,
+                IO_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(IO_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "EpicQuest-IO-" + ioThreadCount.incrementAndGet());
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+        ioExecutor.allowCoreThreadTimeOut(true);
+        this.io = ioExecutor;
+
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        this.mainThread = mainHandler::post;
+    }
+
+    public static synchronized AppExecutors getInstance() {
+        if (instance == null) {
+            instance = new AppExecutors();
+        }
+        return instance;
+    }
+
+    /**
+     * Ejecutor de un solo hilo para operaciones de disco en segundo plano.
+     * Permite programar tareas diferidas (escrituras agrupadas).
+     */
+    public ScheduledExecutorService diskIO() {
+        return diskIO;
+    }
+
+    /**
+     * Pool acotado para operaciones de repositorio pedidas por la UI.
+     * Si la cola se llena, submit lanza RejectedExecutionException.
+     */
+    public ExecutorService io() {
+        return io;
+    }
+
+    /**
+     * Ejecuta tareas en el hilo principal
+     */
+    public Executor mainThread() {
+        return mainThread;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.epicquestcardcollection.benchmark;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Datos sintéticos con la forma de los de la SuperHero API para los benchmarks.
+ * Con la misma semilla se obtienen siempre los mismos héroes.
+ */
+final class BenchmarkData {
+
+    private static final String[] PUBLISHERS = {
+            "Marvel Comics", "DC Comics", "Dark Horse Comics", "George Lucas", "Image Comics", "NBC - Heroes"
+    };
+    private static final long FIRST_OBTAINED_AT = 1_700_000_000_000L;
+
+    private BenchmarkData() {
+        // Clase de utilidades
+    }
+
+    /**
+     * Héroe con id {@code "bench-" + index} y estadísticas pseudoaleatorias
+     */
+    static HeroCard hero(int index, Random random) {
+        HeroCard card = new HeroCard(
+                "bench-" + index,
+                "Hero " + index,
+                "Full Name " + index + " - " + PUBLISHERS[random.nextInt(PUBLISHERS.length)],
+                "https://www.superherodb.com/pictures2/portraits/10/100/" + index + ".jpg",
+                new PowerStats(random.nextInt(101), random.nextInt(101), random.nextInt(101),
+                        random.nextInt(101), random.nextInt(101), random.nextInt(101)));
+        card.setObtainedAt(FIRST_OBTAINED_AT + index * 60_000L);
+        return card;
+    }
+
+    static List<HeroCard> heroes(int count, long seed) {
+        Random random = new Random(seed);
+        List<HeroCard> heroes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            heroes.add(hero(i, random));
+        }
+        return heroes;
+    }
+
+    /**
+     * Usuario con {@code cards} héroes distintos, para medir colecciones de ese tamaño
+     * (con héroes repetidos la colección se agruparía en menos entradas)
+     */
+    static User user(int cards, long seed) {
+        User user = new User("benchmark", "secret", "benchmark@example.com");
+        user.setCollection(heroes(cards, seed));
+        return user;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.epicquestcardcollection.benchmark;
+
+import com.example.epicquestcardcollection.data.remote.HeroResponseParser;
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parseo de una respuesta de héroe de la SuperHero API (src/test/resources/superhero)
+ * con {@link HeroResponseParser} frente al camino anterior: leer todo el cuerpo a un
+ * String y construir el árbol completo. org.json solo existe en Android, así que
+ * el árbol se construye con el JsonParser de Gson.
+ *
+ * Los dos lados leen de un InputStreamReader sobre los bytes del cuerpo, como el
+ * charStream de OkHttp. main() añade el GCProfiler: gc.alloc.rate.norm es lo que
+ * se asigna por respuesta.
+ *
+ * Ejecutar con el main de esta clase desde el IDE (classpath de pruebas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeroResponseParserBenchmark {
+
+    @Param({"batman_70.json", "adam_monroe_6.json"})
+    public String fixture;
+
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        body = read("/superhero/" + fixture);
+    }
+
+    @Benchmark
+    public HeroCard tree() throws IOException {
+        String json = readFully(charStream());
+        JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+        if (!"success".equals(root.get("response").getAsString())) {
+            return null;
+        }
+        JsonObject biography = root.getAsJsonObject("biography");
+        JsonObject stats = root.getAsJsonObject("powerstats");
+        String imageUrl = root.getAsJsonObject("image").get("url").getAsString();
+        return new HeroCard("70", root.get("name").getAsString(),
+                biography.get("full-name").getAsString() + " - " + biography.get("publisher").getAsString(),
+                imageUrl.equals("null") ? "" : imageUrl,
+                new PowerStats(stat(stats, "intelligence"), stat(stats, "strength"), stat(stats, "speed"),
+                        stat(stats, "durability"), stat(stats, "power"), stat(stats, "combat")));
+    }
+
+    @Benchmark
+    public HeroCard streaming() throws IOException {
+        return HeroResponseParser.parse(charStream(), 70);
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private Reader charStream() {
+        return new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8);
+    }
+
+    private static int stat(JsonObject stats, String name) {
+        String value = stats.get(name).getAsString();
+        try {
+            return value.equals("null") ? 0 : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String readFully(Reader reader) throws IOException {
+        StringBuilder out = new StringBuilder();
+        char[] buffer = new char[2048];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            out.append(buffer, 0, read);
+        }
+        return out.toString();
+    }
+
+    private static byte[] read(String resource) throws IOException {
+        try (InputStream in = HeroResponseParserBenchmark.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Falta el recurso " + resource);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HeroResponseParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.epicquestcardcollection.benchmark;
+
+import com.example.epicquestcardcollection.data.local.GsonProvider;
+import com.example.epicquestcardcollection.data.local.LegacyRegistryReader;
+import com.example.epicquestcardcollection.model.User;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de login sobre el registro antiguo (KEY_USERS_DATA) a medida que crece
+ * hasta 1.000 usuarios: el mapa completo por TypeToken, como hacía getUserFromRegistry,
+ * frente a las búsquedas en streaming de {@link LegacyRegistryReader}.
+ *
+ * Se busca siempre al último usuario del registro, el peor caso para el streaming.
+ * Ejecutar con el main de esta clase desde el IDE (classpath de pruebas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LegacyRegistryBenchmark {
+
+    private static final int CARDS_PER_USER = 30;
+    private static final Type REGISTRY_TYPE = new TypeToken<HashMap<String, User>>() {}.getType();
+
+    @Param({"10", "100", "1000"})
+    public int users;
+
+    private Gson gson;
+    private LegacyRegistryReader reader;
+    private String registryJson;
+    private String lastUsername;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gson = GsonProvider.getGson();
+        reader = new LegacyRegistryReader(gson);
+        Map<String, User> registry = new LinkedHashMap<>();
+        for (int i = 0; i < users; i++) {
+            User user = BenchmarkData.user(CARDS_PER_USER, i);
+            lastUsername = "user" + i;
+            user.setUsername(lastUsername);
+            registry.put(lastUsername, user);
+        }
+        registryJson = gson.toJson(registry);
+    }
+
+    @Benchmark
+    public User fullMapLogin() {
+        Map<String, User> registry = gson.fromJson(registryJson, REGISTRY_TYPE);
+        return registry.get(lastUsername);
+    }
+
+    @Benchmark
+    public User streamingLogin() throws IOException {
+        return reader.findUser(registryJson, lastUsername);
+    }
+
+    @Benchmark
+    public boolean streamingUsernameTaken() throws IOException {
+        return reader.containsUser(registryJson, lastUsername);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LegacyRegistryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
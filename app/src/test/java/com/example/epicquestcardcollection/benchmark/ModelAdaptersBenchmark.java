@@ -0,0 +1,146 @@
+package com.example.epicquestcardcollection.benchmark;
+
+import com.example.epicquestcardcollection.data.local.GsonProvider;
+import com.example.epicquestcardcollection.data.local.ModelTypeAdapters;
+import com.example.epicquestcardcollection.data.local.ReflectiveModels.ReflectiveHeroCard;
+import com.example.epicquestcardcollection.data.local.ReflectiveModels.ReflectiveUser;
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.User;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson reflexivo ({@code new Gson()} sobre los campos originales de los modelos,
+ * ver ReflectiveModels) frente a los {@link ModelTypeAdapters} de GsonProvider.
+ * Los dos lados leen y escriben el mismo JSON (lo comprueba ModelTypeAdaptersTest).
+ *
+ * - cards*: lista de 1.000 HeroCard, donde solo cuenta el (de)serializado.
+ * - user*: usuario de 1.000 cartas; leer un User con adapters incluye además
+ *   construir sus índices de colección, que el POJO reflexivo no tiene.
+ * - firstUse*: un Gson nuevo por operación, como en el arranque en frío: con
+ *   reflexión se construyen los adapters de cada clase en el primer uso.
+ *
+ * Ejecutar con el main de esta clase desde el IDE (classpath de pruebas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelAdaptersBenchmark {
+
+    private static final int CARDS = 1000;
+    private static final Type REFLECTIVE_CARDS = new TypeToken<List<ReflectiveHeroCard>>() {}.getType();
+    private static final Type ADAPTER_CARDS = new TypeToken<List<HeroCard>>() {}.getType();
+
+    private Gson reflective;
+    private Gson adapters;
+    private List<HeroCard> cards;
+    private List<ReflectiveHeroCard> reflectiveCards;
+    private User user;
+    private ReflectiveUser reflectiveUser;
+    private String cardsJson;
+    private String userJson;
+    private String singleCardJson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        reflective = new Gson();
+        adapters = GsonProvider.getGson();
+        user = BenchmarkData.user(CARDS, 7);
+        reflectiveUser = ReflectiveUser.of(user);
+        cards = new ArrayList<>(user.getCollection());
+        reflectiveCards = new ArrayList<>(cards.size());
+        for (HeroCard card : cards) {
+            reflectiveCards.add(ReflectiveHeroCard.of(card));
+        }
+        cardsJson = adapters.toJson(cards, ADAPTER_CARDS);
+        userJson = adapters.toJson(user);
+        singleCardJson = adapters.toJson(cards.get(0));
+    }
+
+    @Benchmark
+    public String cardsWriteReflective() {
+        return reflective.toJson(reflectiveCards, REFLECTIVE_CARDS);
+    }
+
+    @Benchmark
+    public String cardsWriteAdapters() {
+        return adapters.toJson(cards, ADAPTER_CARDS);
+    }
+
+    @Benchmark
+    public List<ReflectiveHeroCard> cardsReadReflective() {
+        return reflective.fromJson(cardsJson, REFLECTIVE_CARDS);
+    }
+
+    @Benchmark
+    public List<HeroCard> cardsReadAdapters() {
+        return adapters.fromJson(cardsJson, ADAPTER_CARDS);
+    }
+
+    @Benchmark
+    public String userWriteReflective() {
+        return reflective.toJson(reflectiveUser);
+    }
+
+    @Benchmark
+    public String userWriteAdapters() {
+        return adapters.toJson(user);
+    }
+
+    @Benchmark
+    public ReflectiveUser userReadReflective() {
+        return reflective.fromJson(userJson, ReflectiveUser.class);
+    }
+
+    @Benchmark
+    public User userReadAdapters() {
+        return adapters.fromJson(userJson, User.class);
+    }
+
+    @Benchmark
+    public ReflectiveHeroCard firstUseReflective() {
+        return new Gson().fromJson(singleCardJson, ReflectiveHeroCard.class);
+    }
+
+    @Benchmark
+    public HeroCard firstUseAdapters() {
+        // Mismo registro que GsonProvider.getGson()
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapter(PowerStats.class, ModelTypeAdapters.POWER_STATS)
+                .registerTypeAdapter(HeroCard.class, ModelTypeAdapters.HERO_CARD)
+                .registerTypeAdapter(User.class, ModelTypeAdapters.USER)
+                .create();
+        return gson.fromJson(singleCardJson, HeroCard.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ModelAdaptersBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
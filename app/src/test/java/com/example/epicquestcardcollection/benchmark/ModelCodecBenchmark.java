@@ -0,0 +1,111 @@
+package com.example.epicquestcardcollection.benchmark;
+
+import com.example.epicquestcardcollection.data.local.BinaryModelCodec;
+import com.example.epicquestcardcollection.data.local.GsonProvider;
+import com.example.epicquestcardcollection.data.local.ObjectCodec;
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.HeroCatalog;
+import com.example.epicquestcardcollection.model.User;
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el snapshot binario de {@link BinaryModelCodec} con el JSON de Gson
+ * (el formato de SharedPreferencesHelper.putObject) para colecciones de 1k, 10k y 100k cartas.
+ *
+ * El shard binario solo guarda ids de héroe; los datos del héroe van una vez al
+ * catálogo compartido. main() imprime además el tamaño de los dos formatos y del
+ * catálogo, que JMH no mide.
+ *
+ * Ejecutar con el main de esta clase desde el IDE (classpath de pruebas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelCodecBenchmark {
+
+    /** BenchmarkData interna los héroes en el catálogo global */
+    private static final ObjectCodec<User> USER = BinaryModelCodec.userCodec(HeroCatalog.getInstance());
+
+    @Param({"1000", "10000", "100000"})
+    public int cards;
+
+    private User user;
+    private Gson gson;
+    private byte[] binary;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        user = BenchmarkData.user(cards, 42);
+        gson = GsonProvider.getGson();
+        binary = USER.encode(user);
+        json = gson.toJson(user);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() throws IOException {
+        return USER.encode(user);
+    }
+
+    @Benchmark
+    public User binaryDecode() throws IOException {
+        return USER.decode(binary);
+    }
+
+    @Benchmark
+    public String gsonEncode() {
+        return gson.toJson(user);
+    }
+
+    @Benchmark
+    public User gsonDecode() {
+        return gson.fromJson(json, User.class);
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        printSizes();
+        new Runner(new OptionsBuilder()
+                .include(ModelCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static void printSizes() throws IOException {
+        Gson gson = GsonProvider.getGson();
+        System.out.printf("%8s %14s %14s %14s%n", "cartas", "JSON", "shard binario", "catálogo");
+        for (int cards : new int[] {1000, 10000, 100000}) {
+            User user = BenchmarkData.user(cards, 42);
+            long catalogBytes = 0;
+            for (HeroCard hero : user.getCollection()) {
+                // Mismo registro que anexa HeroCatalogStore: [longitud][HeroCard]
+                catalogBytes += 4 + BinaryModelCodec.HERO_CARD.encode(hero.copyWithObtainedAt(0)).length;
+            }
+            System.out.printf("%8d %14d %14d %14d%n", cards,
+                    gson.toJson(user).getBytes(StandardCharsets.UTF_8).length,
+                    USER.encode(user).length,
+                    catalogBytes);
+        }
+    }
+}
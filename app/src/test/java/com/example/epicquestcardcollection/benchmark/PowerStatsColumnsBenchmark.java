@@ -0,0 +1,108 @@
+package com.example.epicquestcardcollection.benchmark;
+
+import com.example.epicquestcardcollection.model.OwnedCard;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.PowerStatsColumns;
+import com.example.epicquestcardcollection.model.Stat;
+import com.example.epicquestcardcollection.model.User;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Promedio/máximo de las seis estadísticas y top-10 por fuerza sobre
+ * {@link PowerStatsColumns} frente al grafo de objetos de la colección
+ * (OwnedCard -> HeroCard -> PowerStats), como se calculaban antes.
+ *
+ * Ejecutar con el main de esta clase desde el IDE (classpath de pruebas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PowerStatsColumnsBenchmark {
+
+    private static final int TOP = 10;
+
+    @Param({"1000", "100000"})
+    public int cards;
+
+    private List<OwnedCard> ownedCards;
+    private PowerStatsColumns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User user = BenchmarkData.user(cards, 11);
+        ownedCards = user.getOwnedCards();
+        columns = user.getStatsColumns();
+    }
+
+    @Benchmark
+    public void averageAndMaxObjects(Blackhole blackhole) {
+        long[] sums = new long[Stat.count()];
+        int[] maxes = new int[Stat.count()];
+        for (OwnedCard owned : ownedCards) {
+            PowerStats stats = owned.getHero().getPowerStats();
+            if (stats == null) {
+                continue;
+            }
+            int[] values = {stats.getIntelligence(), stats.getStrength(), stats.getSpeed(),
+                    stats.getDurability(), stats.getPower(), stats.getCombat()};
+            for (int s = 0; s < values.length; s++) {
+                sums[s] += values[s];
+                maxes[s] = Math.max(maxes[s], values[s]);
+            }
+        }
+        for (int s = 0; s < sums.length; s++) {
+            blackhole.consume(sums[s] / ownedCards.size());
+            blackhole.consume(maxes[s]);
+        }
+    }
+
+    @Benchmark
+    public void averageAndMaxColumns(Blackhole blackhole) {
+        for (Stat stat : Stat.values()) {
+            blackhole.consume(columns.average(stat));
+            blackhole.consume(columns.max(stat));
+        }
+    }
+
+    @Benchmark
+    public List<OwnedCard> topKObjects() {
+        List<OwnedCard> sorted = new ArrayList<>(ownedCards);
+        sorted.sort((a, b) -> Integer.compare(
+                b.getHero().getPowerStats().getStrength(), a.getHero().getPowerStats().getStrength()));
+        return new ArrayList<>(sorted.subList(0, Math.min(TOP, sorted.size())));
+    }
+
+    @Benchmark
+    public int[] topKColumns() {
+        return columns.topK(Stat.STRENGTH, TOP);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PowerStatsColumnsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,727 @@
+package com.example.epicquestcardcollection.data.local;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.HeroCatalog;
+import com.example.epicquestcardcollection.model.OwnedCard;
+import com.example.epicquestcardcollection.model.PackedPowerStats;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.Rarity;
+import com.example.epicquestcardcollection.model.User;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Pruebas de ida y vuelta del codec binario, incluidas las versiones anteriores
+ * del formato, que se construyen aquí a mano porque el codec solo escribe la actual.
+ */
+public class BinaryModelCodecTest {
+
+    private static final byte TYPE_POWER_STATS = 1;
+    private static final byte TYPE_HERO_CARD = 2;
+    private static final byte TYPE_USER = 3;
+
+    /** Los usuarios de estas pruebas internan sus héroes en el catálogo global */
+    private static final ObjectCodec<User> USER = BinaryModelCodec.userCodec(HeroCatalog.getInstance());
+
+    // ==================== POWER STATS ====================
+
+    @Test
+    public void powerStats_roundTrip() throws IOException {
+        PowerStats stats = new PowerStats(100, 26, 47, 64, 100, 85);
+
+        PowerStats decoded = BinaryModelCodec.POWER_STATS.decode(BinaryModelCodec.POWER_STATS.encode(stats));
+
+        assertStatsEquals(stats, decoded);
+    }
+
+    @Test
+    public void powerStats_absentStaysAbsent() throws IOException {
+        byte[] encoded = BinaryModelCodec.POWER_STATS.encode(null);
+
+        assertNull(BinaryModelCodec.POWER_STATS.decode(encoded));
+    }
+
+    @Test
+    public void powerStats_allZeroIsNotAbsent() throws IOException {
+        PowerStats decoded = BinaryModelCodec.POWER_STATS.decode(
+                BinaryModelCodec.POWER_STATS.encode(new PowerStats()));
+
+        assertStatsEquals(new PowerStats(), decoded);
+    }
+
+    @Test
+    public void powerStats_valuesAboveNarrowLaneRoundTrip() throws IOException {
+        // 127 cabe en un carril de 7 bits; 128 y 255 obligan a la forma ancha
+        PowerStats stats = new PowerStats(127, 128, 255, 0, 1, 254);
+
+        PowerStats decoded = BinaryModelCodec.POWER_STATS.decode(BinaryModelCodec.POWER_STATS.encode(stats));
+
+        assertStatsEquals(stats, decoded);
+    }
+
+    // ==================== HERO CARD ====================
+
+    @Test
+    public void heroCard_roundTrip() throws IOException {
+        HeroCard card = hero("70", "Batman", "Bruce Wayne - DC Comics",
+                "https://www.superherodb.com/pictures2/portraits/10/100/639.jpg",
+                new PowerStats(100, 26, 27, 50, 47, 100));
+        card.setObtainedAt(1_700_000_000_123L);
+
+        HeroCard decoded = BinaryModelCodec.HERO_CARD.decode(BinaryModelCodec.HERO_CARD.encode(card));
+
+        assertCardEquals(card, decoded);
+    }
+
+    @Test
+    public void heroCard_nullFieldsRoundTrip() throws IOException {
+        HeroCard card = new HeroCard();
+        card.setObtainedAt(0);
+
+        HeroCard decoded = BinaryModelCodec.HERO_CARD.decode(BinaryModelCodec.HERO_CARD.encode(card));
+
+        assertNull(decoded.getId());
+        assertNull(decoded.getName());
+        assertNull(decoded.getBiography());
+        assertNull(decoded.getImageUrl());
+        assertNull(decoded.getPowerStats());
+        assertCardEquals(card, decoded);
+    }
+
+    @Test
+    public void heroCard_imageUrlWithoutDirectoryRoundTrips() throws IOException {
+        HeroCard card = hero("1", "A-Bomb", "Richard Milhouse Jones - Marvel Comics", "", null);
+
+        HeroCard decoded = BinaryModelCodec.HERO_CARD.decode(BinaryModelCodec.HERO_CARD.encode(card));
+
+        assertEquals("", decoded.getImageUrl());
+    }
+
+    @Test
+    public void heroCard_zigzagEdgeValuesRoundTrip() throws IOException {
+        long[] instants = {0, 1, -1, 63, -64, 64, -65, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE};
+        int[] powers = {0, 1, -1, 63, -64, 64, -65, 8191, -8192, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int i = 0; i < instants.length; i++) {
+            HeroCard card = hero("7", "Edge", null, null, new PowerStats(1, 2, 3, 4, 5, 6));
+            card.setTotalPower(powers[i]);
+            card.setObtainedAt(instants[i]);
+
+            HeroCard decoded = BinaryModelCodec.HERO_CARD.decode(BinaryModelCodec.HERO_CARD.encode(card));
+
+            assertEquals("totalPower " + powers[i], powers[i], decoded.getTotalPower());
+            assertEquals("obtainedAt " + instants[i], instants[i], decoded.getObtainedAt());
+        }
+    }
+
+    @Test
+    public void heroCard_smallSignedValuesUseOneByte() throws IOException {
+        // Con zigzag -1 y 1 ocupan un byte; sin él -1 serían cinco
+        HeroCard negative = hero(null, null, null, null, null);
+        negative.setTotalPower(-1);
+        negative.setObtainedAt(-1);
+        HeroCard positive = hero(null, null, null, null, null);
+        positive.setTotalPower(1);
+        positive.setObtainedAt(1);
+
+        assertEquals(BinaryModelCodec.HERO_CARD.encode(positive).length,
+                BinaryModelCodec.HERO_CARD.encode(negative).length);
+    }
+
+    @Test
+    public void heroCard_everyRarityRoundTripsByOrdinal() throws IOException {
+        for (Rarity rarity : Rarity.values()) {
+            HeroCard card = hero("9", "Hero", null, null, null);
+            card.setRarityLevel(rarity);
+
+            byte[] encoded = BinaryModelCodec.HERO_CARD.encode(card);
+            HeroCard decoded = BinaryModelCodec.HERO_CARD.decode(encoded);
+
+            assertEquals(rarity, decoded.getRarityLevel());
+            assertEquals(rarity.getStorageName(), decoded.getRarity());
+            // Solo se guarda el ordinal, nunca el nombre
+            assertEquals(0, occurrences(encoded, rarity.getStorageName()));
+        }
+    }
+
+    @Test
+    public void heroCard_nullAndCustomRarityRoundTrip() throws IOException {
+        HeroCard none = hero("9", "Hero", null, null, null);
+        none.setRarityLevel(null);
+        HeroCard custom = hero("9", "Hero", null, null, null);
+        custom.setRarity("MYTHIC");
+
+        HeroCard decodedNone = BinaryModelCodec.HERO_CARD.decode(BinaryModelCodec.HERO_CARD.encode(none));
+        HeroCard decodedCustom = BinaryModelCodec.HERO_CARD.decode(BinaryModelCodec.HERO_CARD.encode(custom));
+
+        assertNull(decodedNone.getRarity());
+        assertNull(decodedNone.getRarityLevel());
+        assertEquals("MYTHIC", decodedCustom.getRarity());
+        assertNull(decodedCustom.getRarityLevel());
+    }
+
+    @Test
+    public void heroCard_repeatedStringsAreStoredOnce() throws IOException {
+        HeroCard card = hero("Superman", "Superman", "Superman",
+                "https://img.example/portraits/1.jpg", null);
+
+        byte[] encoded = BinaryModelCodec.HERO_CARD.encode(card);
+
+        assertEquals(1, occurrences(encoded, "Superman"));
+        assertCardEquals(card, BinaryModelCodec.HERO_CARD.decode(encoded));
+    }
+
+    @Test
+    public void heroCard_nonAsciiStringsRoundTrip() throws IOException {
+        HeroCard card = hero("42", "Ñandú — 超人", "José Pérez - Édition 🦸", null, null);
+
+        HeroCard decoded = BinaryModelCodec.HERO_CARD.decode(BinaryModelCodec.HERO_CARD.encode(card));
+
+        assertEquals(card.getName(), decoded.getName());
+        assertEquals(card.getBiography(), decoded.getBiography());
+    }
+
+    // ==================== USER ====================
+
+    @Test
+    public void user_roundTripCurrentVersion() throws IOException {
+        User user = sampleUser();
+
+        byte[] encoded = USER.encode(user);
+        assertEquals(BinaryModelCodec.VERSION, encoded[1]);
+
+        assertUserEquals(user, USER.decode(encoded));
+    }
+
+    @Test
+    public void user_emptyCollectionAndNullsRoundTrip() throws IOException {
+        User user = new User();
+        user.setAchievements(null);
+        user.setDailyOpportunities(-3);
+        user.setLastCardTime(Long.MIN_VALUE);
+        user.setCreatedAt(Long.MAX_VALUE);
+
+        User decoded = USER.decode(USER.encode(user));
+
+        assertNull(decoded.getUsername());
+        assertEquals(-3, decoded.getDailyOpportunities());
+        assertEquals(Long.MIN_VALUE, decoded.getLastCardTime());
+        assertEquals(Long.MAX_VALUE, decoded.getCreatedAt());
+        assertTrue(decoded.getAchievements().isEmpty());
+        assertTrue(decoded.getOwnedCards().isEmpty());
+    }
+
+    @Test
+    public void user_obtainedAtDeltasSurviveExtremeOrder() throws IOException {
+        // Las fechas se guardan como diferencias con la entrada anterior, que pueden desbordar
+        User user = new User("extreme", "pw", null);
+        long[] instants = {Long.MAX_VALUE, Long.MIN_VALUE, 0, -1, Long.MAX_VALUE - 1};
+        for (int i = 0; i < instants.length; i++) {
+            HeroCard card = hero("edge-" + i, "Edge " + i, null, null, null);
+            card.setObtainedAt(instants[i]);
+            user.addCardToCollection(card);
+        }
+
+        assertUserEquals(user, USER.decode(USER.encode(user)));
+    }
+
+    @Test
+    public void user_heroWithoutIdIsWrittenInline() throws IOException {
+        User user = new User("inline", "pw", null);
+        HeroCard anonymous = hero(null, "Sin id", "Nadie - Nadie", null, new PowerStats(1, 1, 1, 1, 1, 1));
+        anonymous.setObtainedAt(55);
+        user.addCardToCollection(anonymous);
+
+        User decoded = USER.decode(USER.encode(user));
+
+        assertEquals(1, decoded.getOwnedCards().size());
+        assertCardEquals(anonymous, decoded.getCollection().get(0));
+    }
+
+    @Test
+    public void user_publisherAndImageDirectoryAreStoredOnce() throws IOException {
+        User user = new User("table", "pw", null);
+        HeroCard anonymous = hero(null, "Uno", "Uno - Shared Publisher", "https://img.example/dir/1.jpg", null);
+        user.addCardToCollection(anonymous);
+        user.addCardToCollection(hero(null, "Dos", "Uno - Shared Publisher", "https://img.example/dir/2.jpg", null));
+
+        byte[] encoded = USER.encode(user);
+
+        assertEquals(1, occurrences(encoded, "Uno - Shared Publisher"));
+        assertEquals(1, occurrences(encoded, "https://img.example/dir/"));
+    }
+
+    @Test
+    public void user_readsVersion1CardList() throws IOException {
+        // Versión 1: una carta por obtención; las repetidas se agrupan al leer
+        LegacyWriter writer = new LegacyWriter(1);
+        writeUserHeader(writer, "legacy1");
+        writer.varInt(3);
+        long previous = 0;
+        long[] obtainedAt = {1000, 2000, 3000};
+        String[] ids = {"v1-a", "v1-b", "v1-a"};
+        for (int i = 0; i < ids.length; i++) {
+            writeLegacyCard(writer, ids[i], "Hero " + ids[i], new PowerStats(10, 20, 30, 40, 50, 60),
+                    obtainedAt[i] - previous);
+            previous = obtainedAt[i];
+        }
+
+        User decoded = USER.decode(writer.toRecord(TYPE_USER));
+
+        assertLegacyUser(decoded, "legacy1");
+        assertEquals(2, decoded.getOwnedCards().size());
+        OwnedCard first = decoded.getOwnedCard("v1-a");
+        assertEquals(2, first.getCount());
+        assertEquals(1000, first.getFirstObtainedAt());
+        assertEquals(3000, first.getLastObtainedAt());
+        assertEquals(1, decoded.getOwnedCard("v1-b").getCount());
+        assertStatsEquals(new PowerStats(10, 20, 30, 40, 50, 60), decoded.getCollection().get(0).getPowerStats());
+    }
+
+    @Test
+    public void user_readsVersion2GroupedEntries() throws IOException {
+        // Versión 2: una entrada por héroe con copias; estadísticas como seis varints
+        LegacyWriter writer = new LegacyWriter(2);
+        writeUserHeader(writer, "legacy2");
+        writer.varInt(2);
+        writeLegacyCard(writer, "v2-a", "Hero A", new PowerStats(99, 1, 2, 3, 4, 5), 1000);
+        writer.varInt(3);
+        writer.signedVarLong(500);
+        writeLegacyCard(writer, "v2-b", "Hero B", null, 250);
+        writer.varInt(1);
+        writer.signedVarLong(0);
+
+        User decoded = USER.decode(writer.toRecord(TYPE_USER));
+
+        assertLegacyUser(decoded, "legacy2");
+        OwnedCard a = decoded.getOwnedCard("v2-a");
+        assertEquals(3, a.getCount());
+        assertEquals(1000, a.getFirstObtainedAt());
+        assertEquals(1500, a.getLastObtainedAt());
+        assertStatsEquals(new PowerStats(99, 1, 2, 3, 4, 5), a.getHero().getPowerStats());
+        OwnedCard b = decoded.getOwnedCard("v2-b");
+        assertEquals(1250, b.getFirstObtainedAt());
+        assertNull(b.getHero().getPowerStats());
+    }
+
+    @Test
+    public void user_readsVersion3CompactStats() throws IOException {
+        // Versión 3: como la 2 pero con la forma compacta de PackedPowerStats
+        LegacyWriter writer = new LegacyWriter(3);
+        writeUserHeader(writer, "legacy3");
+        writer.varInt(1);
+        PowerStats stats = new PowerStats(100, 200, 7, 0, 127, 128);
+        writeLegacyCard(writer, "v3-a", "Hero A", stats, 42);
+        writer.varInt(2);
+        writer.signedVarLong(8);
+
+        User decoded = USER.decode(writer.toRecord(TYPE_USER));
+
+        assertLegacyUser(decoded, "legacy3");
+        OwnedCard a = decoded.getOwnedCard("v3-a");
+        assertEquals(2, a.getCount());
+        assertEquals(42, a.getFirstObtainedAt());
+        assertEquals(50, a.getLastObtainedAt());
+        assertStatsEquals(stats, a.getHero().getPowerStats());
+    }
+
+    // ==================== CATÁLOGO ====================
+
+    @Test
+    public void user_resolvesHeroesInTheGivenCatalog() throws IOException {
+        HeroCard batman = hero("catalog-70", "Batman", "Bruce Wayne - DC Comics", null, new PowerStats(1, 2, 3, 4, 5, 6));
+        User user = new User("catalog", "pw", null);
+        user.addCardToCollection(batman);
+        HeroCatalog catalog = new HeroCatalog();
+        HeroCard entry = catalog.intern(batman);
+
+        User decoded = BinaryModelCodec.userCodec(catalog).decode(USER.encode(user));
+
+        assertSame(entry, decoded.getOwnedCard("catalog-70").getHero());
+    }
+
+    @Test
+    public void user_legacyHeroesAreInternedInTheGivenCatalog() throws IOException {
+        LegacyWriter writer = new LegacyWriter(3);
+        writeUserHeader(writer, "legacy-catalog");
+        writer.varInt(1);
+        writeLegacyCard(writer, "catalog-v3", "Hero", new PowerStats(5, 5, 5, 5, 5, 5), 10);
+        writer.varInt(1);
+        writer.signedVarLong(0);
+        HeroCatalog catalog = new HeroCatalog();
+
+        User decoded = BinaryModelCodec.userCodec(catalog).decode(writer.toRecord(TYPE_USER));
+
+        assertSame(catalog.get("catalog-v3"), decoded.getOwnedCard("catalog-v3").getHero());
+        assertFalse(HeroCatalog.getInstance().contains("catalog-v3"));
+    }
+
+    @Test
+    public void user_missingHeroKeepsEntryWithPlaceholder() throws IOException {
+        User user = new User("missing", "pw", null);
+        HeroCard card = hero("missing-1", "Perdido", "Nadie - Marvel Comics", null, new PowerStats(9, 9, 9, 9, 9, 9));
+        card.setObtainedAt(1000);
+        user.addCardToCollection(card);
+        card.setObtainedAt(4000);
+        user.addCardToCollection(card);
+        HeroCatalog catalog = new HeroCatalog();
+        int[] notified = new int[1];
+        catalog.setMissingHeroListener(() -> notified[0]++);
+
+        User decoded = BinaryModelCodec.userCodec(catalog).decode(USER.encode(user));
+
+        OwnedCard owned = decoded.getOwnedCard("missing-1");
+        assertNotNull(owned);
+        assertEquals(2, owned.getCount());
+        assertEquals(1000, owned.getFirstObtainedAt());
+        assertEquals(4000, owned.getLastObtainedAt());
+        assertNull(owned.getHero().getName());
+        assertEquals(1, notified[0]);
+        assertEquals(Arrays.asList("missing-1"), catalog.drainMissing());
+        // La entrada provisional no entra al catálogo ni queda pendiente de guardar
+        assertFalse(catalog.contains("missing-1"));
+        assertTrue(catalog.drainUnsaved().isEmpty());
+    }
+
+    @Test
+    public void user_placeholderIsNeverPersisted() throws IOException {
+        User user = new User("missing", "pw", null);
+        HeroCard card = hero("missing-2", "Perdido", "Nadie - DC Comics", null, new PowerStats(7, 7, 7, 7, 7, 7));
+        user.addCardToCollection(card);
+        HeroCatalog empty = new HeroCatalog();
+        User decoded = BinaryModelCodec.userCodec(empty).decode(USER.encode(user));
+
+        // Reinternar la carta vacía (p. ej. al copiar la colección) no la agrega
+        empty.intern(decoded.getCollection().get(0));
+        assertFalse(empty.contains("missing-2"));
+        assertTrue(empty.drainUnsaved().isEmpty());
+
+        // El shard reescrito solo guarda la referencia: con el héroe de vuelta se resuelve
+        HeroCatalog recovered = new HeroCatalog();
+        recovered.intern(card);
+        User reloaded = BinaryModelCodec.userCodec(recovered).decode(USER.encode(decoded));
+        assertCardEquals(user.getCollection().get(0), reloaded.getCollection().get(0));
+    }
+
+    @Test
+    public void placeholder_isReplacedWhenTheHeroIsFetchedAgain() throws IOException {
+        User user = new User("missing", "pw", null);
+        HeroCard card = hero("missing-3", "Perdido", "Nadie - Image Comics", null, new PowerStats(3, 3, 3, 3, 3, 3));
+        user.addCardToCollection(card);
+        byte[] encoded = USER.encode(user);
+        HeroCatalog catalog = new HeroCatalog();
+        BinaryModelCodec.userCodec(catalog).decode(encoded);
+        assertTrue(catalog.hasMissing());
+
+        HeroCard fetched = catalog.intern(card);
+
+        assertFalse(catalog.hasMissing());
+        assertEquals(Arrays.asList(fetched), catalog.drainUnsaved());
+        assertSame(fetched, BinaryModelCodec.userCodec(catalog).decode(encoded).getOwnedCard("missing-3").getHero());
+    }
+
+    // ==================== DATOS INVÁLIDOS ====================
+
+    @Test
+    public void decode_rejectsJsonAndForeignBytes() {
+        assertFalse(BinaryModelCodec.isBinaryRecord("{\"name\":\"x\"}".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(BinaryModelCodec.isBinaryRecord(null));
+        assertFalse(BinaryModelCodec.isBinaryRecord(new byte[] {BinaryModelCodec.MAGIC}));
+        assertDecodeFails(BinaryModelCodec.HERO_CARD, "{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void decode_rejectsWrongTypeAndUnknownVersion() throws IOException {
+        byte[] card = BinaryModelCodec.HERO_CARD.encode(hero("1", "x", null, null, null));
+        assertDecodeFails(USER, card);
+
+        byte[] future = card.clone();
+        future[1] = (byte) (BinaryModelCodec.VERSION + 1);
+        assertDecodeFails(BinaryModelCodec.HERO_CARD, future);
+
+        byte[] ancient = card.clone();
+        ancient[1] = 0;
+        assertDecodeFails(BinaryModelCodec.HERO_CARD, ancient);
+    }
+
+    @Test
+    public void decode_rejectsEveryTruncation() throws IOException {
+        byte[] encoded = USER.encode(sampleUser());
+        for (int length = 0; length < encoded.length; length++) {
+            assertDecodeFails(USER, Arrays.copyOf(encoded, length));
+        }
+    }
+
+    @Test
+    public void decode_rejectsUnknownRarityOrdinal() throws IOException {
+        LegacyWriter writer = new LegacyWriter(BinaryModelCodec.VERSION);
+        writer.string("1");
+        writer.string(null);
+        writer.string(null);
+        writer.string(null);
+        writer.string(null);
+        writer.varLong(0);
+        writer.varInt(Rarity.count() + 2);
+        writer.signedVarInt(0);
+        writer.signedVarLong(0);
+
+        assertDecodeFails(BinaryModelCodec.HERO_CARD, writer.toRecord(TYPE_HERO_CARD));
+    }
+
+    @Test
+    public void decode_rejectsOutOfRangeStringReference() throws IOException {
+        LegacyWriter writer = new LegacyWriter(BinaryModelCodec.VERSION);
+        writer.varInt(7); // No hay ningún string en la tabla
+        byte[] record = writer.toRecord(TYPE_HERO_CARD);
+
+        assertDecodeFails(BinaryModelCodec.HERO_CARD, record);
+    }
+
+    @Test
+    public void decode_rejectsOverlongVarint() throws IOException {
+        LegacyWriter writer = new LegacyWriter(BinaryModelCodec.VERSION);
+        byte[] record = writer.toRecord(TYPE_POWER_STATS);
+        byte[] overlong = Arrays.copyOf(record, record.length + 11);
+        Arrays.fill(overlong, record.length, overlong.length, (byte) 0xFF);
+
+        assertDecodeFails(BinaryModelCodec.POWER_STATS, overlong);
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private static HeroCard hero(String id, String name, String biography, String imageUrl, PowerStats stats) {
+        HeroCard card = new HeroCard(id, name, biography, imageUrl, stats);
+        card.setObtainedAt(1_000);
+        return card;
+    }
+
+    private static User sampleUser() {
+        User user = new User("codec-user", "secret", "codec@example.com");
+        user.setDailyOpportunities(2);
+        user.setLastCardTime(1_700_000_100_000L);
+        user.setPlayerLevel(7);
+        user.setCreatedAt(1_690_000_000_000L);
+        user.setAchievements(new ArrayList<>(Arrays.asList("first", "tenth")));
+        for (int i = 0; i < 20; i++) {
+            HeroCard card = hero("codec-" + i, "Hero " + i, "Full Name " + i + " - Marvel Comics",
+                    "https://img.example/portraits/" + i + ".jpg",
+                    new PowerStats(i, i * 2, i * 3, 100 - i, 50, 200 + i));
+            card.setObtainedAt(1_700_000_000_000L + i * 60_000L);
+            user.addCardToCollection(card);
+        }
+        // Copias repetidas, una de ellas anterior a la primera
+        HeroCard copy = hero("codec-3", "Hero 3", "Full Name 3 - Marvel Comics",
+                "https://img.example/portraits/3.jpg", new PowerStats(3, 6, 9, 97, 50, 203));
+        copy.setObtainedAt(1_700_000_999_000L);
+        user.addCardToCollection(copy);
+        HeroCard earlier = copy.copyWithObtainedAt(1_600_000_000_000L);
+        user.addCardToCollection(earlier);
+        return user;
+    }
+
+    private static void writeUserHeader(LegacyWriter writer, String username) {
+        writer.string(username);
+        writer.string("pw");
+        writer.string(null);
+        writer.signedVarInt(4);
+        writer.signedVarLong(123);
+        writer.signedVarInt(2);
+        writer.signedVarLong(456);
+        writer.varInt(1);
+        writer.string("legacy");
+    }
+
+    /**
+     * HeroCard en el formato de las versiones 1 a 3
+     */
+    private static void writeLegacyCard(LegacyWriter writer, String id, String name, PowerStats stats,
+                                        long obtainedAtDelta) {
+        writer.string(id);
+        writer.string(name);
+        writer.string(name + " - Legacy Comics");
+        writer.string("https://img.example/legacy/");
+        writer.string(id + ".jpg");
+        long packed = PackedPowerStats.fromStats(stats);
+        if (writer.version <= 2) {
+            writer.varInt(stats != null ? 1 : 0);
+            if (stats != null) {
+                writer.signedVarInt(stats.getIntelligence());
+                writer.signedVarInt(stats.getStrength());
+                writer.signedVarInt(stats.getSpeed());
+                writer.signedVarInt(stats.getDurability());
+                writer.signedVarInt(stats.getPower());
+                writer.signedVarInt(stats.getCombat());
+            }
+        } else {
+            writer.varLong(PackedPowerStats.toCompact(packed));
+        }
+        Rarity rarity = PackedPowerStats.rarity(packed);
+        writer.varInt(rarity.ordinal() + 1);
+        writer.signedVarInt(PackedPowerStats.totalPower(packed));
+        writer.signedVarLong(obtainedAtDelta);
+    }
+
+    private static void assertLegacyUser(User user, String username) {
+        assertEquals(username, user.getUsername());
+        assertEquals("pw", user.getPassword());
+        assertNull(user.getEmail());
+        assertEquals(4, user.getDailyOpportunities());
+        assertEquals(123, user.getLastCardTime());
+        assertEquals(2, user.getPlayerLevel());
+        assertEquals(456, user.getCreatedAt());
+        assertEquals(Arrays.asList("legacy"), user.getAchievements());
+    }
+
+    private static void assertUserEquals(User expected, User actual) {
+        assertEquals(expected.getUsername(), actual.getUsername());
+        assertEquals(expected.getPassword(), actual.getPassword());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getDailyOpportunities(), actual.getDailyOpportunities());
+        assertEquals(expected.getLastCardTime(), actual.getLastCardTime());
+        assertEquals(expected.getPlayerLevel(), actual.getPlayerLevel());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getAchievements(), actual.getAchievements());
+
+        List<OwnedCard> expectedCards = expected.getOwnedCards();
+        List<OwnedCard> actualCards = actual.getOwnedCards();
+        assertEquals(expectedCards.size(), actualCards.size());
+        for (int i = 0; i < expectedCards.size(); i++) {
+            OwnedCard e = expectedCards.get(i);
+            OwnedCard a = actualCards.get(i);
+            assertEquals(e.getHeroId(), a.getHeroId());
+            assertEquals(e.getCount(), a.getCount());
+            assertEquals(e.getFirstObtainedAt(), a.getFirstObtainedAt());
+            assertEquals(e.getLastObtainedAt(), a.getLastObtainedAt());
+            assertCardEquals(e.getCard(), a.getCard());
+        }
+        assertEquals(expected.getAggregates().getTotalCopies(), actual.getAggregates().getTotalCopies());
+    }
+
+    private static void assertCardEquals(HeroCard expected, HeroCard actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getBiography(), actual.getBiography());
+        assertEquals(expected.getImageUrl(), actual.getImageUrl());
+        assertEquals(expected.getPackedStats(), actual.getPackedStats());
+        assertEquals(expected.getRarity(), actual.getRarity());
+        assertEquals(expected.getTotalPower(), actual.getTotalPower());
+        assertEquals(expected.getObtainedAt(), actual.getObtainedAt());
+    }
+
+    private static void assertStatsEquals(PowerStats expected, PowerStats actual) {
+        assertEquals(expected.getIntelligence(), actual.getIntelligence());
+        assertEquals(expected.getStrength(), actual.getStrength());
+        assertEquals(expected.getSpeed(), actual.getSpeed());
+        assertEquals(expected.getDurability(), actual.getDurability());
+        assertEquals(expected.getPower(), actual.getPower());
+        assertEquals(expected.getCombat(), actual.getCombat());
+    }
+
+    private static <T> void assertDecodeFails(ObjectCodec<T> codec, byte[] data) {
+        try {
+            codec.decode(data);
+            fail("Se esperaba IOException para " + data.length + " bytes");
+        } catch (IOException expected) {
+            // Correcto
+        }
+    }
+
+    private static int occurrences(byte[] data, String value) {
+        byte[] needle = value.getBytes(StandardCharsets.UTF_8);
+        int count = 0;
+        outer:
+        for (int i = 0; i + needle.length <= data.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (data[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Escritor mínimo del formato para construir registros de cualquier versión
+     */
+    private static final class LegacyWriter {
+        final int version;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+        LegacyWriter(int version) {
+            this.version = version;
+        }
+
+        void varInt(int value) {
+            varLong(value & 0xFFFFFFFFL);
+        }
+
+        void signedVarInt(int value) {
+            varInt((value << 1) ^ (value >> 31));
+        }
+
+        void signedVarLong(long value) {
+            varLong((value << 1) ^ (value >> 63));
+        }
+
+        void varLong(long value) {
+            writeVarLong(body, value);
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varInt(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index == null) {
+                index = strings.size();
+                strings.put(value, index);
+            }
+            varInt(index + 1);
+        }
+
+        byte[] toRecord(byte type) {
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            record.write(BinaryModelCodec.MAGIC);
+            record.write(version);
+            record.write(type);
+            writeVarLong(record, strings.size());
+            for (String value : strings.keySet()) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(record, bytes.length);
+                record.write(bytes, 0, bytes.length);
+            }
+            byte[] bodyBytes = body.toByteArray();
+            record.write(bodyBytes, 0, bodyBytes.length);
+            return record.toByteArray();
+        }
+
+        private static void writeVarLong(ByteArrayOutputStream out, long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+    }
+}
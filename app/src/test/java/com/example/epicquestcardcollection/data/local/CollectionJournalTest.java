@@ -0,0 +1,254 @@
+package com.example.epicquestcardcollection.data.local;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.HeroCatalog;
+import com.example.epicquestcardcollection.model.OwnedCard;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.User;
+import com.example.epicquestcardcollection.utils.AppConstants;
+import com.google.gson.Gson;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de reproducción del diario sobre un usuario cargado de su shard.
+ *
+ * android.util.Base64 no está disponible en las pruebas locales (devuelve valores
+ * por defecto), así que las cartas se escriben en el formato JSON de los diarios
+ * anteriores, que replay sigue aceptando; la lógica de reproducción es la misma.
+ */
+public class CollectionJournalTest {
+
+    private static final AtomicInteger RUNS = new AtomicInteger();
+    private static final ObjectCodec<User> USER = BinaryModelCodec.userCodec(HeroCatalog.getInstance());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Gson gson = GsonProvider.getGson();
+
+    /** HeroCatalog es compartido: cada prueba usa sus propios ids de héroe */
+    private final String idPrefix = "journal" + RUNS.incrementAndGet() + "-";
+
+    // ==================== REPRODUCCIÓN ====================
+
+    @Test
+    public void replay_appliesCardOpportunityAndResetEventsOntoLoadedShard() throws IOException {
+        User user = loadedShard();
+        CollectionJournal journal = journal();
+        write(journal.opportunityConsumed(4, 2000), cardLine(hero("2", 2000)),
+                journal.opportunityConsumed(3, 3000), cardLine(hero("1", 3000)));
+
+        assertEquals(4, journal.replay(user));
+
+        assertEquals(2, user.getOwnedCards().size());
+        assertTrue(user.ownsHero(idPrefix + "2"));
+        OwnedCard first = user.getOwnedCard(idPrefix + "1");
+        assertEquals(2, first.getCount());
+        assertEquals(1000, first.getFirstObtainedAt());
+        assertEquals(3000, first.getLastObtainedAt());
+        assertEquals(3, user.getDailyOpportunities());
+        assertEquals(3000, user.getLastCardTime());
+    }
+
+    @Test
+    public void replay_resetEventRestoresOpportunities() throws IOException {
+        User user = loadedShard();
+        CollectionJournal journal = journal();
+        write(journal.opportunityConsumed(0, 2000), journal.opportunitiesReset(AppConstants.DAILY_OPPORTUNITIES));
+
+        assertEquals(2, journal.replay(user));
+
+        assertEquals(AppConstants.DAILY_OPPORTUNITIES, user.getDailyOpportunities());
+        assertEquals(0, user.getLastCardTime());
+    }
+
+    @Test
+    public void replay_withoutJournalLeavesUserUntouched() throws IOException {
+        User user = loadedShard();
+
+        assertEquals(0, journal().replay(user));
+
+        assertEquals(1, user.getOwnedCards().size());
+        assertEquals(5, user.getDailyOpportunities());
+    }
+
+    // ==================== IDEMPOTENCIA ====================
+
+    @Test
+    public void replayAfterCompaction_doesNotDuplicateCopies() throws IOException {
+        User user = loadedShard();
+        CollectionJournal journal = journal();
+        write(journal.opportunityConsumed(4, 2000), cardLine(hero("2", 2000)),
+                journal.opportunityConsumed(3, 3000), cardLine(hero("1", 3000)),
+                journal.opportunityConsumed(2, 4000), cardLine(hero("2", 4000)));
+        journal.replay(user);
+
+        // Compactación interrumpida: el shard ya incluye el diario pero este no llegó a borrarse
+        User reloaded = USER.decode(USER.encode(user));
+        assertEquals(6, journal.replay(reloaded));
+
+        assertEquals(2, reloaded.getOwnedCards().size());
+        assertEquals(2, reloaded.getOwnedCard(idPrefix + "1").getCount());
+        assertEquals(2, reloaded.getOwnedCard(idPrefix + "2").getCount());
+        assertEquals(4000, reloaded.getOwnedCard(idPrefix + "2").getLastObtainedAt());
+        assertEquals(2, reloaded.getDailyOpportunities());
+        assertEquals(4000, reloaded.getLastCardTime());
+    }
+
+    @Test
+    public void replayTwice_onSameUserIsIdempotent() throws IOException {
+        User user = loadedShard();
+        CollectionJournal journal = journal();
+        write(cardLine(hero("1", 2000)), cardLine(hero("3", 2500)));
+
+        journal.replay(user);
+        journal.replay(user);
+
+        assertEquals(2, user.getOwnedCards().size());
+        assertEquals(2, user.getOwnedCard(idPrefix + "1").getCount());
+        assertEquals(1, user.getOwnedCard(idPrefix + "3").getCount());
+    }
+
+    @Test
+    public void copyObtainedAfterSnapshot_isStillApplied() throws IOException {
+        User user = loadedShard();
+        CollectionJournal journal = journal();
+        write(cardLine(hero("1", 2000)));
+        journal.replay(user);
+        User reloaded = USER.decode(USER.encode(user));
+
+        write(cardLine(hero("1", 2000)), cardLine(hero("1", 5000)));
+        journal.replay(reloaded);
+
+        assertEquals(3, reloaded.getOwnedCard(idPrefix + "1").getCount());
+        assertEquals(5000, reloaded.getOwnedCard(idPrefix + "1").getLastObtainedAt());
+    }
+
+    // ==================== LÍNEAS DAÑADAS ====================
+
+    @Test
+    public void tornLastLine_isIgnored() throws IOException {
+        User user = loadedShard();
+        CollectionJournal journal = journal();
+        String card = cardLine(hero("2", 2000));
+        writeRaw(journal.opportunityConsumed(4, 2000) + "\n" + card.substring(0, card.length() / 2));
+
+        assertEquals(1, journal.replay(user));
+
+        assertFalse(user.ownsHero(idPrefix + "2"));
+        assertEquals(4, user.getDailyOpportunities());
+    }
+
+    @Test
+    public void tornOpportunityLine_isIgnored() throws IOException {
+        User user = loadedShard();
+        CollectionJournal journal = journal();
+        writeRaw(cardLine(hero("2", 2000)) + "\nC|3");
+
+        assertEquals(1, journal.replay(user));
+
+        assertTrue(user.ownsHero(idPrefix + "2"));
+        assertEquals(5, user.getDailyOpportunities());
+    }
+
+    @Test
+    public void appendAfterTornLine_startsOnANewLine() throws IOException {
+        User user = loadedShard();
+        CollectionJournal journal = journal();
+        String card = cardLine(hero("2", 2000));
+        writeRaw(card.substring(0, card.length() - 3));
+
+        assertTrue(journal.append(journal.opportunityConsumed(2, 6000)));
+
+        assertEquals(1, journal.replay(user));
+        assertEquals(2, user.getDailyOpportunities());
+        assertEquals(6000, user.getLastCardTime());
+    }
+
+    @Test
+    public void corruptMiddleLine_doesNotStopReplay() throws IOException {
+        User user = loadedShard();
+        CollectionJournal journal = journal();
+        write(cardLine(hero("2", 2000)), "A|{\"id\":", "X|1", "C|x|y", cardLine(hero("3", 3000)));
+
+        assertEquals(2, journal.replay(user));
+
+        assertTrue(user.ownsHero(idPrefix + "2"));
+        assertTrue(user.ownsHero(idPrefix + "3"));
+    }
+
+    @Test
+    public void delete_removesJournal() throws IOException {
+        CollectionJournal journal = journal();
+        write(journal.opportunityConsumed(4, 2000));
+
+        journal.delete();
+
+        assertFalse(journalFile().exists());
+        assertEquals(0, journal.replay(loadedShard()));
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private File journalFile() {
+        return new File(folder.getRoot(), "user.journal");
+    }
+
+    private CollectionJournal journal() {
+        return new CollectionJournal(journalFile(), gson);
+    }
+
+    /**
+     * Usuario con una carta (obtenida en 1000) y 5 oportunidades, leído de su snapshot binario
+     */
+    private User loadedShard() throws IOException {
+        User user = new User("ana", "pw", "ana@example.com");
+        user.setDailyOpportunities(5);
+        user.addCardToCollection(hero("1", 1000));
+        User loaded = USER.decode(USER.encode(user));
+        assertNotNull(loaded);
+        return loaded;
+    }
+
+    private HeroCard hero(String id, long obtainedAt) {
+        HeroCard card = new HeroCard(idPrefix + id, "Hero " + id, "Full " + id + " - Marvel Comics",
+                "https://example.com/" + id + ".jpg", new PowerStats(50, 40, 30, 20, 10, 60));
+        card.setObtainedAt(obtainedAt);
+        return card;
+    }
+
+    private String cardLine(HeroCard card) {
+        return "A|" + gson.toJson(card);
+    }
+
+    /**
+     * Reemplaza el diario por las líneas dadas, cada una terminada en salto de línea
+     */
+    private void write(String... lines) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (String line : lines) {
+            content.append(line).append('\n');
+        }
+        writeRaw(content.toString());
+    }
+
+    private void writeRaw(String content) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(journalFile())) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
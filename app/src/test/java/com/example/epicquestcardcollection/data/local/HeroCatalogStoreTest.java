@@ -0,0 +1,150 @@
+package com.example.epicquestcardcollection.data.local;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.HeroCatalog;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.Rarity;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Carga del catálogo: un registro dañado no debe impedir leer los siguientes
+ * (ni hacer fallar cada arranque), y uno incompleto al final se recorta.
+ */
+public class HeroCatalogStoreTest {
+
+    private static final AtomicInteger RUNS = new AtomicInteger();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final HeroCatalog catalog = HeroCatalog.getInstance();
+
+    /** HeroCatalog es compartido: cada prueba usa sus propios ids de héroe */
+    private final String idPrefix = "catalog" + RUNS.incrementAndGet() + "-";
+
+    // ==================== REGISTROS DAÑADOS ====================
+
+    @Test
+    public void corruptMiddleRecord_runtimeExceptionSkipsOnlyThatRecord() throws IOException {
+        // Un ordinal de rareza negativo hace fallar Rarity.fromOrdinal con una RuntimeException
+        byte[] corrupt = withNegativeRarity(hero("2"));
+        File file = write(record(hero("1")), corrupt, record(hero("3")));
+        long length = file.length();
+
+        new HeroCatalogStore(file, catalog);
+
+        assertTrue(catalog.contains(idPrefix + "1"));
+        assertFalse(catalog.contains(idPrefix + "2"));
+        assertTrue(catalog.contains(idPrefix + "3"));
+        assertEquals("Hero 3", catalog.get(idPrefix + "3").getName());
+        assertEquals(length, file.length());
+    }
+
+    @Test
+    public void corruptMiddleRecord_invalidHeaderSkipsOnlyThatRecord() throws IOException {
+        byte[] corrupt = BinaryModelCodec.HERO_CARD.encode(hero("2"));
+        corrupt[2] = 99;
+        File file = write(record(hero("1")), corrupt, record(hero("3")));
+        long length = file.length();
+
+        new HeroCatalogStore(file, catalog);
+
+        assertTrue(catalog.contains(idPrefix + "1"));
+        assertFalse(catalog.contains(idPrefix + "2"));
+        assertTrue(catalog.contains(idPrefix + "3"));
+        assertEquals(length, file.length());
+    }
+
+    // ==================== REGISTROS INCOMPLETOS ====================
+
+    @Test
+    public void tornLastRecord_isTruncated() throws IOException {
+        byte[] first = record(hero("1"));
+        byte[] second = record(hero("2"));
+        File file = write(first, second);
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[] {0, 0, 0, 40, 1, 2, 3});
+        }
+
+        new HeroCatalogStore(file, catalog);
+
+        assertTrue(catalog.contains(idPrefix + "1"));
+        assertTrue(catalog.contains(idPrefix + "2"));
+        assertEquals(8 + first.length + second.length, file.length());
+    }
+
+    @Test
+    public void missingFile_loadsNothing() {
+        int before = catalog.size();
+
+        new HeroCatalogStore(new File(folder.getRoot(), "missing.bin"), catalog);
+
+        assertEquals(before, catalog.size());
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private HeroCard hero(String id) {
+        HeroCard card = new HeroCard(idPrefix + id, "Hero " + id, "Full " + id + " - Marvel Comics",
+                "https://example.com/" + id + ".jpg", new PowerStats(50, 40, 30, 20, 10, 60));
+        card.setObtainedAt(1000);
+        return card;
+    }
+
+    private static byte[] record(HeroCard hero) throws IOException {
+        return BinaryModelCodec.HERO_CARD.encode(hero);
+    }
+
+    /**
+     * Registro con la rareza reemplazada por el varint de -1. El byte de la rareza es
+     * el único que cambia entre dos codificaciones que solo difieren en ella
+     */
+    private static byte[] withNegativeRarity(HeroCard hero) throws IOException {
+        hero.setRarityLevel(Rarity.COMMON);
+        byte[] common = record(hero);
+        hero.setRarityLevel(Rarity.LEGENDARY);
+        byte[] legendary = record(hero);
+        int position = 0;
+        while (common[position] == legendary[position]) {
+            position++;
+        }
+
+        byte[] negative = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        byte[] corrupt = new byte[common.length - 1 + negative.length];
+        System.arraycopy(common, 0, corrupt, 0, position);
+        System.arraycopy(negative, 0, corrupt, position, negative.length);
+        System.arraycopy(common, position + 1, corrupt, position + negative.length, common.length - position - 1);
+        return corrupt;
+    }
+
+    /**
+     * Escribe los registros con su prefijo de longitud, como HeroCatalogStore.persist
+     */
+    private File write(byte[]... records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        for (byte[] record : records) {
+            data.writeInt(record.length);
+            data.write(record);
+        }
+        File file = new File(folder.getRoot(), "catalog.bin");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            bytes.writeTo(out);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.epicquestcardcollection.data.local;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.User;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LegacyRegistryReaderTest {
+
+    /**
+     * Subárbol que no se puede convertir en User: si el lector intentara
+     * deserializarlo, la prueba fallaría con una excepción de Gson
+     */
+    private static final String UNBINDABLE_USER =
+            "{\"dailyOpportunities\":\"no es un número\",\"collection\":{\"no\":\"es una lista\"},"
+                    + "\"powerStats\":[[[1,2,3]]],\"extra\":{\"deep\":{\"deeper\":[true,null,1.5]}}}";
+
+    private final LegacyRegistryReader reader = new LegacyRegistryReader(GsonProvider.getGson());
+
+    // ==================== containsUser ====================
+
+    @Test
+    public void containsUser_findsAnyPosition() throws IOException {
+        String registry = registry("ana", "bruno", "carla");
+
+        assertTrue(reader.containsUser(registry, "ana"));
+        assertTrue(reader.containsUser(registry, "bruno"));
+        assertTrue(reader.containsUser(registry, "carla"));
+        assertFalse(reader.containsUser(registry, "diego"));
+    }
+
+    @Test
+    public void containsUser_neverParsesUserData() throws IOException {
+        String registry = "{\"otro\":" + UNBINDABLE_USER + ",\"buscado\":" + UNBINDABLE_USER + "}";
+
+        assertTrue(reader.containsUser(registry, "buscado"));
+        assertFalse(reader.containsUser(registry, "nadie"));
+    }
+
+    @Test
+    public void containsUser_nullEntryDoesNotCount() throws IOException {
+        assertFalse(reader.containsUser("{\"fantasma\":null}", "fantasma"));
+    }
+
+    @Test
+    public void containsUser_isCaseSensitive() throws IOException {
+        assertFalse(reader.containsUser(registry("Ana"), "ana"));
+    }
+
+    // ==================== findUser ====================
+
+    @Test
+    public void findUser_returnsOnlyTheMatchingUser() throws IOException {
+        String registry = registry("ana", "bruno", "carla");
+
+        User user = reader.findUser(registry, "bruno");
+
+        assertNotNull(user);
+        assertEquals("bruno", user.getUsername());
+        assertEquals("bruno@example.com", user.getEmail());
+        assertEquals(3, user.getCollection().size());
+        assertEquals("bruno-hero-2", user.getCollection().get(2).getId());
+    }
+
+    @Test
+    public void findUser_skipsOtherSubtreesWithoutBindingThem() throws IOException {
+        String registry = "{\"antes\":" + UNBINDABLE_USER
+                + ",\"buscado\":" + GsonProvider.getGson().toJson(user("buscado"))
+                + ",\"despues\":" + UNBINDABLE_USER + "}";
+
+        User user = reader.findUser(registry, "buscado");
+
+        assertNotNull(user);
+        assertEquals("buscado", user.getUsername());
+    }
+
+    @Test
+    public void findUser_missingUserReturnsNull() throws IOException {
+        assertNull(reader.findUser(registry("ana"), "bruno"));
+        assertNull(reader.findUser("{\"fantasma\":null}", "fantasma"));
+    }
+
+    // ==================== forEachUser ====================
+
+    @Test
+    public void forEachUser_visitsUsersInOrderAndSkipsNulls() throws IOException {
+        String registry = "{\"ana\":" + GsonProvider.getGson().toJson(user("ana"))
+                + ",\"nadie\":null,\"bruno\":" + GsonProvider.getGson().toJson(user("bruno")) + "}";
+        List<String> visited = new ArrayList<>();
+
+        reader.forEachUser(registry, (username, user) -> {
+            assertEquals(username, user.getUsername());
+            visited.add(username);
+        });
+
+        assertEquals(2, visited.size());
+        assertEquals("ana", visited.get(0));
+        assertEquals("bruno", visited.get(1));
+    }
+
+    // ==================== REGISTRO AUSENTE O CORRUPTO ====================
+
+    @Test
+    public void missingRegistry_isEmpty() throws IOException {
+        for (String registry : new String[] {null, ""}) {
+            assertFalse(reader.containsUser(registry, "ana"));
+            assertNull(reader.findUser(registry, "ana"));
+            reader.forEachUser(registry, (username, user) -> fail("Registro vacío"));
+        }
+    }
+
+    @Test
+    public void nonObjectRegistry_isEmpty() throws IOException {
+        for (String registry : new String[] {"[]", "[{\"ana\":{}}]", "\"ana\"", "42", "null"}) {
+            assertFalse(registry, reader.containsUser(registry, "ana"));
+            assertNull(registry, reader.findUser(registry, "ana"));
+        }
+    }
+
+    @Test
+    public void corruptionAfterTheUser_stillFindsIt() throws IOException {
+        String registry = registry("ana");
+        // Registro truncado a mitad del siguiente usuario
+        String truncated = registry.substring(0, registry.length() - 1) + ",\"bruno\":{\"username\":\"bru";
+
+        assertTrue(reader.containsUser(truncated, "ana"));
+        assertEquals("ana", reader.findUser(truncated, "ana").getUsername());
+    }
+
+    @Test
+    public void corruptionBeforeTheUser_throwsIOException() {
+        String registry = "{\"ana\":{\"username\":\"ana\",,,}, \"bruno\":{}}";
+
+        assertThrowsIOException(() -> reader.containsUser(registry, "bruno"));
+        assertThrowsIOException(() -> reader.findUser(registry, "bruno"));
+    }
+
+    @Test
+    public void truncatedRegistry_throwsIOExceptionOnMiss() {
+        String truncated = registry("ana", "bruno").substring(0, 40);
+
+        assertThrowsIOException(() -> reader.containsUser(truncated, "zoe"));
+        assertThrowsIOException(() -> reader.findUser(truncated, "zoe"));
+    }
+
+    @Test
+    public void notJson_throwsIOException() {
+        assertThrowsIOException(() -> reader.containsUser("{esto no es json", "ana"));
+        assertThrowsIOException(() -> reader.findUser("{esto no es json", "ana"));
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private static User user(String username) {
+        User user = new User(username, "pw-" + username, username + "@example.com");
+        for (int i = 0; i < 3; i++) {
+            HeroCard card = new HeroCard(username + "-hero-" + i, "Hero " + i, "Full " + i + " - Marvel Comics",
+                    "https://img.example/" + i + ".jpg", new PowerStats(i, i, i, i, i, i));
+            card.setObtainedAt(1_000 + i);
+            user.addCardToCollection(card);
+        }
+        return user;
+    }
+
+    private static String registry(String... usernames) {
+        StringBuilder json = new StringBuilder("{");
+        for (String username : usernames) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"').append(username).append("\":").append(GsonProvider.getGson().toJson(user(username)));
+        }
+        return json.append('}').toString();
+    }
+
+    private interface Lookup {
+        Object run() throws IOException;
+    }
+
+    private static void assertThrowsIOException(Lookup lookup) {
+        try {
+            lookup.run();
+            fail("Se esperaba IOException");
+        } catch (IOException expected) {
+            // Correcto
+        }
+    }
+}
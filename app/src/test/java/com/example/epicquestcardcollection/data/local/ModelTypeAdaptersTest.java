@@ -0,0 +1,235 @@
+package com.example.epicquestcardcollection.data.local;
+
+import com.example.epicquestcardcollection.data.local.ReflectiveModels.ReflectiveHeroCard;
+import com.example.epicquestcardcollection.data.local.ReflectiveModels.ReflectiveUser;
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.User;
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Los adapters de {@link GsonProvider} deben leer y escribir exactamente el JSON
+ * que el Gson reflexivo ({@code new Gson()}) producía con los modelos originales.
+ *
+ * HeroCard y User ya no tienen esos campos, así que el formato reflexivo se obtiene
+ * de {@link ReflectiveModels}. PowerStats no cambió y se compara directamente.
+ */
+public class ModelTypeAdaptersTest {
+
+    private final Gson reflective = new Gson();
+    private final Gson adapters = GsonProvider.getGson();
+
+    // ==================== POWER STATS ====================
+
+    @Test
+    public void powerStats_writesSameJsonAsReflection() {
+        PowerStats stats = new PowerStats(100, 26, 27, 50, 47, 100);
+
+        assertEquals(reflective.toJson(stats), adapters.toJson(stats));
+    }
+
+    @Test
+    public void powerStats_readsBothWays() {
+        PowerStats stats = new PowerStats(1, 2, 3, 4, 5, 6);
+
+        assertStatsEquals(stats, adapters.fromJson(reflective.toJson(stats), PowerStats.class));
+        assertStatsEquals(stats, reflective.fromJson(adapters.toJson(stats), PowerStats.class));
+    }
+
+    @Test
+    public void powerStats_nullsAndUnknownFieldsMatchReflection() {
+        String json = "{\"intelligence\":null,\"strength\":7,\"unknown\":{\"a\":[1]}}";
+
+        assertStatsEquals(reflective.fromJson(json, PowerStats.class), adapters.fromJson(json, PowerStats.class));
+    }
+
+    // ==================== HERO CARD ====================
+
+    @Test
+    public void heroCard_writesSameJsonAsReflection() {
+        HeroCard card = card("70", "Batman", new PowerStats(100, 26, 27, 50, 47, 100));
+
+        assertEquals(reflective.toJson(ReflectiveHeroCard.of(card)), adapters.toJson(card));
+    }
+
+    @Test
+    public void heroCard_withoutStatsOrStringsWritesSameJsonAsReflection() {
+        HeroCard card = new HeroCard();
+        card.setObtainedAt(12345);
+
+        assertEquals(reflective.toJson(ReflectiveHeroCard.of(card)), adapters.toJson(card));
+    }
+
+    @Test
+    public void heroCard_readsReflectiveJson() {
+        HeroCard card = card("644", "Superman", new PowerStats(94, 100, 100, 100, 100, 85));
+
+        HeroCard read = adapters.fromJson(reflective.toJson(ReflectiveHeroCard.of(card)), HeroCard.class);
+
+        assertCardEquals(card, read);
+    }
+
+    @Test
+    public void heroCard_reflectionReadsAdapterJson() {
+        HeroCard card = card("644", "Superman", new PowerStats(94, 100, 100, 100, 100, 85));
+
+        ReflectiveHeroCard read = reflective.fromJson(adapters.toJson(card), ReflectiveHeroCard.class);
+
+        assertEquals(reflective.toJson(ReflectiveHeroCard.of(card)), reflective.toJson(read));
+    }
+
+    @Test
+    public void heroCard_storedRarityAndPowerWinOverStats() {
+        // Con reflexión los valores guardados se asignaban tal cual, sin recalcular
+        String json = "{\"id\":\"1\",\"powerStats\":{\"intelligence\":100,\"strength\":100,\"speed\":100,"
+                + "\"durability\":100,\"power\":100,\"combat\":100},\"rarity\":\"COMMON\",\"totalPower\":7}";
+
+        HeroCard read = adapters.fromJson(json, HeroCard.class);
+        ReflectiveHeroCard expected = reflective.fromJson(json, ReflectiveHeroCard.class);
+
+        assertEquals(expected.getRarity(), read.getRarity());
+        assertEquals(expected.getTotalPower(), read.getTotalPower());
+    }
+
+    // ==================== USER ====================
+
+    @Test
+    public void user_writesSameJsonAsReflection() {
+        User user = user();
+
+        assertEquals(reflective.toJson(ReflectiveUser.of(user)), adapters.toJson(user));
+    }
+
+    @Test
+    public void user_readsReflectiveJson() {
+        User user = user();
+
+        User read = adapters.fromJson(reflective.toJson(ReflectiveUser.of(user)), User.class);
+
+        assertEquals(reflective.toJson(ReflectiveUser.of(user)), reflective.toJson(ReflectiveUser.of(read)));
+    }
+
+    @Test
+    public void user_reflectionReadsAdapterJson() {
+        User user = user();
+
+        ReflectiveUser read = reflective.fromJson(adapters.toJson(user), ReflectiveUser.class);
+
+        assertEquals(reflective.toJson(ReflectiveUser.of(user)), reflective.toJson(read));
+    }
+
+    @Test
+    public void user_missingNullAndUnknownFieldsMatchReflection() {
+        String json = "{\"username\":\"ana\",\"email\":null,\"dailyOpportunities\":null,"
+                + "\"playerLevel\":3,\"future\":{\"nested\":[1,2,{\"x\":null}]}}";
+
+        User read = adapters.fromJson(json, User.class);
+        ReflectiveUser expected = reflective.fromJson(json, ReflectiveUser.class);
+
+        assertEquals(expected.getUsername(), read.getUsername());
+        assertNull(read.getEmail());
+        assertEquals(expected.getDailyOpportunities(), read.getDailyOpportunities());
+        assertEquals(expected.getPlayerLevel(), read.getPlayerLevel());
+        assertEquals(expected.getLastCardTime(), read.getLastCardTime());
+        assertEquals(expected.getCollection().size(), read.getCollection().size());
+        assertEquals(expected.getAchievements(), read.getAchievements());
+    }
+
+    // ==================== NÚMEROS MAL FORMADOS ====================
+
+    @Test
+    public void malformedNumbers_throwJsonSyntaxExceptionLikeReflection() {
+        String[] stats = {
+                "{\"strength\":\"abc\"}",
+                "{\"combat\":1.5}",
+                "{\"speed\":99999999999}",
+        };
+        for (String json : stats) {
+            assertBothReject(json, PowerStats.class, PowerStats.class);
+        }
+
+        String[] cards = {
+                "{\"id\":\"1\",\"totalPower\":\"mucho\"}",
+                "{\"id\":\"1\",\"obtainedAt\":\"ayer\"}",
+                "{\"id\":\"1\",\"powerStats\":{\"power\":\"x\"}}",
+        };
+        for (String json : cards) {
+            assertBothReject(json, ReflectiveHeroCard.class, HeroCard.class);
+        }
+
+        String[] users = {
+                "{\"username\":\"ana\",\"dailyOpportunities\":\"cinco\"}",
+                "{\"username\":\"ana\",\"createdAt\":1.5}",
+                "{\"username\":\"ana\",\"collection\":[{\"totalPower\":\"x\"}]}",
+        };
+        for (String json : users) {
+            assertBothReject(json, ReflectiveUser.class, User.class);
+        }
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private void assertBothReject(String json, Class<?> reflectiveType, Class<?> adapterType) {
+        assertRejects(reflective, json, reflectiveType);
+        assertRejects(adapters, json, adapterType);
+    }
+
+    private static void assertRejects(Gson gson, String json, Class<?> type) {
+        try {
+            gson.fromJson(json, type);
+            fail("Se esperaba JsonSyntaxException para " + json);
+        } catch (JsonSyntaxException expected) {
+            // Mismo tipo de error que capturan los llamadores
+        }
+    }
+
+    private static HeroCard card(String id, String name, PowerStats stats) {
+        HeroCard card = new HeroCard(id, name, name + " Full - DC Comics",
+                "https://www.superherodb.com/pictures2/portraits/10/100/" + id + ".jpg", stats);
+        card.setObtainedAt(1_700_000_000_000L + Integer.parseInt(id));
+        return card;
+    }
+
+    private static User user() {
+        User user = new User("adapter-user", "secret", "adapter@example.com");
+        user.setDailyOpportunities(3);
+        user.setLastCardTime(1_700_000_500_000L);
+        user.setPlayerLevel(4);
+        user.setCreatedAt(1_690_000_000_000L);
+        user.setAchievements(new ArrayList<>(Arrays.asList("primera", "décima")));
+        user.addCardToCollection(card("1", "A-Bomb", new PowerStats(38, 100, 17, 80, 24, 64)));
+        user.addCardToCollection(card("2", "Abe Sapien", new PowerStats(88, 28, 35, 65, 100, 85)));
+        user.addCardToCollection(card("3", "Sin stats", null));
+        return user;
+    }
+
+    private static void assertCardEquals(HeroCard expected, HeroCard actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getBiography(), actual.getBiography());
+        assertEquals(expected.getImageUrl(), actual.getImageUrl());
+        assertEquals(expected.getPackedStats(), actual.getPackedStats());
+        assertEquals(expected.getRarity(), actual.getRarity());
+        assertEquals(expected.getTotalPower(), actual.getTotalPower());
+        assertEquals(expected.getObtainedAt(), actual.getObtainedAt());
+    }
+
+    private static void assertStatsEquals(PowerStats expected, PowerStats actual) {
+        assertEquals(expected.getIntelligence(), actual.getIntelligence());
+        assertEquals(expected.getStrength(), actual.getStrength());
+        assertEquals(expected.getSpeed(), actual.getSpeed());
+        assertEquals(expected.getDurability(), actual.getDurability());
+        assertEquals(expected.getPower(), actual.getPower());
+        assertEquals(expected.getCombat(), actual.getCombat());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.epicquestcardcollection.data.local;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.PowerStats;
+import com.example.epicquestcardcollection.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copias de los campos de HeroCard y User tal como eran antes de los adapters,
+ * en el mismo orden y con los mismos valores por defecto. Con {@code new Gson()}
+ * producen el JSON reflexivo que guardan las instalaciones existentes.
+ */
+public final class ReflectiveModels {
+
+    private ReflectiveModels() {
+        // Clase de utilidades
+    }
+
+    public static final class ReflectiveHeroCard {
+        private String id;
+        private String name;
+        private String biography;
+        private String imageUrl;
+        private PowerStats powerStats;
+        private String rarity;
+        private int totalPower;
+        private long obtainedAt;
+
+        public static ReflectiveHeroCard of(HeroCard card) {
+            ReflectiveHeroCard copy = new ReflectiveHeroCard();
+            copy.id = card.getId();
+            copy.name = card.getName();
+            copy.biography = card.getBiography();
+            copy.imageUrl = card.getImageUrl();
+            copy.powerStats = card.getPowerStats();
+            copy.rarity = card.getRarity();
+            copy.totalPower = card.getTotalPower();
+            copy.obtainedAt = card.getObtainedAt();
+            return copy;
+        }
+
+        public String getRarity() { return rarity; }
+
+        public int getTotalPower() { return totalPower; }
+    }
+
+    public static final class ReflectiveUser {
+        private String username;
+        private String password;
+        private String email;
+        private List<ReflectiveHeroCard> collection = new ArrayList<>();
+        private int dailyOpportunities = 5;
+        private long lastCardTime = 0;
+        private int playerLevel = 1;
+        private List<String> achievements = new ArrayList<>();
+        private long createdAt = System.currentTimeMillis();
+
+        public static ReflectiveUser of(User user) {
+            ReflectiveUser copy = new ReflectiveUser();
+            copy.username = user.getUsername();
+            copy.password = user.getPassword();
+            copy.email = user.getEmail();
+            for (HeroCard card : user.getCollection()) {
+                copy.collection.add(ReflectiveHeroCard.of(card));
+            }
+            copy.dailyOpportunities = user.getDailyOpportunities();
+            copy.lastCardTime = user.getLastCardTime();
+            copy.playerLevel = user.getPlayerLevel();
+            copy.achievements = user.getAchievements();
+            copy.createdAt = user.getCreatedAt();
+            return copy;
+        }
+
+        public String getUsername() { return username; }
+
+        public List<ReflectiveHeroCard> getCollection() { return collection; }
+
+        public int getDailyOpportunities() { return dailyOpportunities; }
+
+        public long getLastCardTime() { return lastCardTime; }
+
+        public int getPlayerLevel() { return playerLevel; }
+
+        public List<String> getAchievements() { return achievements; }
+    }
+}
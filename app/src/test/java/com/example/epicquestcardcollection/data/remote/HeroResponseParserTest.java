@@ -0,0 +1,204 @@
+package com.example.epicquestcardcollection.data.remote;
+
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.PowerStats;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Pruebas del parser en streaming sobre respuestas con la forma de la SuperHero API
+ * (src/test/resources/superhero).
+ */
+public class HeroResponseParserTest {
+
+    // ==================== RESPUESTAS VÁLIDAS ====================
+
+    @Test
+    public void fullResponse_readsNameBiographyImageAndStats() throws IOException {
+        HeroCard hero = parse(fixture("batman_70.json"), 70);
+
+        assertNotNull(hero);
+        assertEquals("70", hero.getId());
+        assertEquals("Batman", hero.getName());
+        assertEquals("Bruce Wayne - DC Comics", hero.getBiography());
+        assertEquals("https://www.superherodb.com/pictures2/portraits/10/100/639.jpg", hero.getImageUrl());
+        assertStats(hero, 100, 26, 27, 50, 47, 100);
+    }
+
+    @Test
+    public void nullStatStrings_becomeZero() throws IOException {
+        HeroCard hero = parse(fixture("adam_monroe_6.json"), 6);
+
+        assertNotNull(hero);
+        assertEquals("Adam Monroe", hero.getName());
+        assertEquals(" - NBC - Heroes", hero.getBiography());
+        assertStats(hero, 63, 10, 12, 100, 0, 0);
+    }
+
+    @Test
+    public void nonNumericAndJsonNullStats_becomeZero() throws IOException {
+        String body = fixture("batman_70.json")
+                .replace("\"strength\":\"26\"", "\"strength\":null")
+                .replace("\"speed\":\"27\"", "\"speed\":\"-\"")
+                .replace("\"power\":\"47\"", "\"power\":47");
+
+        HeroCard hero = parse(body, 70);
+
+        assertNotNull(hero);
+        assertStats(hero, 100, 0, 0, 50, 47, 100);
+    }
+
+    @Test
+    public void nestedSubtrees_areSkippedWithoutReadingTheirFields() throws IOException {
+        // Los campos con nombres conocidos dentro de appearance, connections, etc. son señuelos
+        HeroCard hero = parse(fixture("nested_subtrees_70.json"), 70);
+
+        assertNotNull(hero);
+        assertEquals("Batman", hero.getName());
+        assertEquals("Bruce Wayne - DC Comics", hero.getBiography());
+        assertEquals("https://www.superherodb.com/pictures2/portraits/10/100/639.jpg", hero.getImageUrl());
+        assertStats(hero, 100, 26, 27, 50, 47, 100);
+    }
+
+    @Test
+    public void invalidImageUrl_becomesEmpty() throws IOException {
+        String url = "https://www.superherodb.com/pictures2/portraits/10/100/639.jpg";
+
+        HeroCard nullText = parse(fixture("batman_70.json").replace("\"" + url + "\"", "\"null\""), 70);
+        HeroCard jsonNull = parse(fixture("batman_70.json").replace("\"" + url + "\"", "null"), 70);
+        HeroCard empty = parse(fixture("batman_70.json").replace("\"" + url + "\"", "\"\""), 70);
+
+        assertEquals("", nullText.getImageUrl());
+        assertEquals("", jsonNull.getImageUrl());
+        assertEquals("", empty.getImageUrl());
+    }
+
+    // ==================== RESPUESTAS NO VÁLIDAS ====================
+
+    @Test
+    public void errorResponse_returnsNull() throws IOException {
+        assertNull(parse(fixture("error_invalid_id.json"), 999));
+    }
+
+    @Test
+    public void errorAfterOtherFields_returnsNull() throws IOException {
+        assertNull(parse("{\"name\":\"Batman\",\"response\":\"error\",\"error\":\"invalid id\"}", 70));
+    }
+
+    @Test
+    public void missingStat_returnsNull() throws IOException {
+        assertNull(parse(fixture("missing_combat_70.json"), 70));
+    }
+
+    @Test
+    public void missingRequiredFields_returnNull() throws IOException {
+        String body = fixture("batman_70.json");
+
+        assertNull(parse(body.replace("\"name\":\"Batman\",", ""), 70));
+        assertNull(parse(body.replace("\"publisher\":\"DC Comics\",", ""), 70));
+        assertNull(parse(body.replace("\"full-name\":\"Bruce Wayne\",", ""), 70));
+        assertNull(parse(body.replace("\"response\":\"success\",", ""), 70));
+    }
+
+    @Test
+    public void objectWhereStringExpected_countsAsMissing() throws IOException {
+        String body = fixture("batman_70.json").replace("\"name\":\"Batman\"", "\"name\":{\"en\":\"Batman\"}");
+
+        assertNull(parse(body, 70));
+    }
+
+    @Test
+    public void unexpectedShapes_returnNull() throws IOException {
+        assertNull(parse("[" + fixture("batman_70.json") + "]", 70));
+        assertNull(parse("\"success\"", 70));
+        assertNull(parse(fixture("batman_70.json").replace("\"biography\":{", "\"biography\":[{")
+                .replace("\"alignment\":\"good\"}", "\"alignment\":\"good\"}]"), 70));
+    }
+
+    @Test
+    public void malformedBodies_returnNull() throws IOException {
+        assertNull(parse("", 70));
+        assertNull(parse("<html><body>502 Bad Gateway</body></html>", 70));
+        assertNull(parse("{\"response\":\"success\",,}", 70));
+        assertNull(parse("{\"response\" \"success\"}", 70));
+    }
+
+    @Test
+    public void everyTruncation_returnsNull() throws IOException {
+        String body = fixture("batman_70.json").trim();
+
+        for (int length = 0; length < body.length(); length++) {
+            try {
+                assertNull("longitud " + length, parse(body.substring(0, length), 70));
+            } catch (IOException e) {
+                fail("longitud " + length + ": " + e);
+            }
+        }
+    }
+
+    @Test
+    public void readError_isPropagated() {
+        Reader broken = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("connection reset");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        try {
+            HeroResponseParser.parse(broken, 70);
+            fail("Se esperaba IOException");
+        } catch (IOException e) {
+            assertEquals("connection reset", e.getMessage());
+        }
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private static HeroCard parse(String body, int heroId) throws IOException {
+        return HeroResponseParser.parse(new StringReader(body), heroId);
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = HeroResponseParserTest.class.getResourceAsStream("/superhero/" + name)) {
+            if (in == null) {
+                throw new IOException("Falta el recurso de prueba " + name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void assertStats(HeroCard hero, int intelligence, int strength, int speed,
+                                    int durability, int power, int combat) {
+        PowerStats stats = hero.getPowerStats();
+        assertNotNull(stats);
+        assertEquals(intelligence, stats.getIntelligence());
+        assertEquals(strength, stats.getStrength());
+        assertEquals(speed, stats.getSpeed());
+        assertEquals(durability, stats.getDurability());
+        assertEquals(power, stats.getPower());
+        assertEquals(combat, stats.getCombat());
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.epicquestcardcollection.data.repository;
+
+import com.example.epicquestcardcollection.data.repository.UserRepository.OperationResult;
+import com.example.epicquestcardcollection.model.HeroCard;
+import com.example.epicquestcardcollection.model.SessionHeader;
+import com.example.epicquestcardcollection.model.User;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * El repositorio síncrono abre el almacén de usuarios al construirse, así que
+ * no debe crearse en el hilo que crea el repositorio asíncrono (el principal).
+ */
+public class AsyncUserRepositoryImplTest {
+
+    private final ExecutorService io = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-io"));
+    private final List<Thread> factoryThreads = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void tearDown() {
+        io.shutdownNow();
+    }
+
+    @Test
+    public void constructor_doesNotCreateDelegate() {
+        new AsyncUserRepositoryImpl(this::fakeRepository, io, Runnable::run);
+
+        assertTrue(factoryThreads.isEmpty());
+    }
+
+    @Test
+    public void firstOperation_createsDelegateOnIoThread() throws Exception {
+        AsyncUserRepositoryImpl repository = new AsyncUserRepositoryImpl(this::fakeRepository, io, Runnable::run);
+        AtomicReference<SessionHeader> delivered = new AtomicReference<>();
+
+        await(repository.getSessionHeader(delivered::set));
+
+        assertEquals(1, factoryThreads.size());
+        assertNotSame(Thread.currentThread(), factoryThreads.get(0));
+        assertEquals("test-io", factoryThreads.get(0).getName());
+        assertEquals("ana", delivered.get().getUsername());
+    }
+
+    @Test
+    public void laterOperations_reuseDelegate() throws Exception {
+        AsyncUserRepositoryImpl repository = new AsyncUserRepositoryImpl(this::fakeRepository, io, Runnable::run);
+
+        await(repository.isUserLoggedIn(null));
+        await(repository.isUsernameTaken("ana", null));
+        await(repository.logoutUser(null));
+
+        assertEquals(1, factoryThreads.size());
+    }
+
+    @Test
+    public void failingFactory_deliversFallback() throws Exception {
+        AsyncUserRepositoryImpl repository = new AsyncUserRepositoryImpl(() -> {
+            throw new IllegalStateException("disco no disponible");
+        }, io, Runnable::run);
+        AtomicReference<OperationResult> delivered = new AtomicReference<>();
+
+        await(repository.logoutUser(delivered::set));
+
+        assertFalse(delivered.get().isSuccess());
+    }
+
+    @Test
+    public void results_areDeliveredThroughMainExecutor() throws Exception {
+        List<Runnable> mainQueue = Collections.synchronizedList(new ArrayList<>());
+        AsyncUserRepositoryImpl repository = new AsyncUserRepositoryImpl(this::fakeRepository, io, mainQueue::add);
+        AtomicReference<Boolean> delivered = new AtomicReference<>();
+
+        await(repository.isUsernameTaken("ana", delivered::set));
+        assertEquals(null, delivered.get());
+        mainQueue.get(0).run();
+
+        assertSame(Boolean.TRUE, delivered.get());
+    }
+
+    // ==================== AUXILIARES ====================
+
+    /**
+     * done() entrega el resultado después de despertar a quien espera en get(); la
+     * siguiente tarea del pool de un hilo solo corre cuando la entrega terminó
+     */
+    private void await(Future<?> operation) throws Exception {
+        io.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private UserRepository fakeRepository() {
+        factoryThreads.add(Thread.currentThread());
+        return new FakeUserRepository();
+    }
+
+    private static class FakeUserRepository implements UserRepository {
+        @Override
+        public OperationResult registerUser(String username, String password, String email) {
+            return new OperationResult(true, "ok");
+        }
+
+        @Override
+        public OperationResult loginUser(String username, String password) {
+            return new OperationResult(true, "ok");
+        }
+
+        @Override
+        public OperationResult logoutUser() {
+            return new OperationResult(true, "ok");
+        }
+
+        @Override
+        public User getCurrentUser() {
+            return null;
+        }
+
+        @Override
+        public SessionHeader getSessionHeader() {
+            return new SessionHeader("ana", 1, 5, 0);
+        }
+
+        @Override
+        public OperationResult updateUser(User user) {
+            return new OperationResult(true, "ok");
+        }
+
+        @Override
+        public OperationResult recordCardObtained(User user, HeroCard card) {
+            return new OperationResult(true, "ok");
+        }
+
+        @Override
+        public boolean isUsernameTaken(String username) {
+            return "ana".equals(username);
+        }
+
+        @Override
+        public boolean isUserLoggedIn() {
+            return true;
+        }
+
+        @Override
+        public OperationResult resetDailyOpportunities() {
+            return new OperationResult(true, "ok");
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.epicquestcardcollection.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Los filtros por rareza y editorial (posting lists e intersección por mezcla)
+ * deben devolver lo mismo que recorrer la colección, en cualquier orden.
+ */
+public class CollectionIndexTest {
+
+    private static final String UNKNOWN_PUBLISHER = "Image Comics";
+
+    // ==================== FILTROS ====================
+
+    @Test
+    public void filter_matchesNaiveScanOnRandomCollections() {
+        for (int seed = 0; seed < 15; seed++) {
+            Random random = new Random(seed);
+            User user = NaiveCollection.randomUser(random, random.nextInt(250));
+
+            assertAllFiltersMatch(user, random);
+        }
+    }
+
+    @Test
+    public void filter_afterRemovalsMatchesNaiveScan() {
+        for (int seed = 100; seed < 110; seed++) {
+            Random random = new Random(seed);
+            User user = NaiveCollection.randomUser(random, 120);
+            // Las permutaciones y listas ya construidas deben descartarse al reconstruir
+            assertAllFiltersMatch(user, random);
+
+            for (int removals = 0; removals < 15 && !user.getOwnedCards().isEmpty(); removals++) {
+                List<OwnedCard> owned = user.getOwnedCards();
+                user.removeHeroFromCollection(owned.get(random.nextInt(owned.size())).getHeroId());
+                assertAllFiltersMatch(user, random);
+            }
+        }
+    }
+
+    @Test
+    public void filter_afterAddsOnBuiltIndexMatchesNaiveScan() {
+        Random random = new Random(7);
+        User user = NaiveCollection.randomUser(random, 60);
+        assertAllFiltersMatch(user, random);
+
+        User more = NaiveCollection.randomUser(new Random(8), 80);
+        for (HeroCard card : more.getCollection()) {
+            user.addCardToCollection(card);
+            if (random.nextInt(10) == 0) {
+                assertAllFiltersMatch(user, random);
+            }
+        }
+        assertAllFiltersMatch(user, random);
+    }
+
+    @Test
+    public void unknownPublisher_returnsEmpty() {
+        User user = NaiveCollection.randomUser(new Random(3), 50);
+
+        assertTrue(user.getCollectionIndex().filter(null, UNKNOWN_PUBLISHER).isEmpty());
+        assertTrue(user.getCollectionIndex().filter(Rarity.COMMON, UNKNOWN_PUBLISHER,
+                CollectionSortIndex.Order.POWER, new int[] {0, 1}).isEmpty());
+    }
+
+    @Test
+    public void view_doesNotChangeWhenCardsAreAdded() {
+        User user = NaiveCollection.randomUser(new Random(4), 40);
+        CollectionIndex index = user.getCollectionIndex();
+        List<HeroCard> before = index.filter(null, "Marvel Comics");
+        List<String> ids = ids(before);
+
+        for (HeroCard card : NaiveCollection.randomUser(new Random(5), 40).getCollection()) {
+            user.addCardToCollection(card);
+        }
+
+        assertEquals(ids, ids(before));
+        assertArrayEquals(NaiveCollection.filter(user, null, "Marvel Comics", CollectionSortIndex.Order.COLLECTION, null),
+                NaiveCollection.positionsOf(user, index.filter(null, "Marvel Comics")));
+    }
+
+    // ==================== EDITORIALES ====================
+
+    @Test
+    public void publishersAndCounts_matchNaiveScan() {
+        User user = NaiveCollection.randomUser(new Random(9), 200);
+        user.removeHeroFromCollection(user.getOwnedCards().get(0).getHeroId());
+
+        Set<String> expected = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (OwnedCard owned : user.getOwnedCards()) {
+            String publisher = owned.getHero().getPublisher();
+            if (publisher != null) {
+                expected.add(publisher);
+            }
+        }
+
+        CollectionIndex index = user.getCollectionIndex();
+        assertEquals(new ArrayList<>(expected), index.getPublishers());
+        for (String publisher : expected) {
+            assertEquals(publisher, NaiveCollection.filter(user, null, publisher,
+                    CollectionSortIndex.Order.COLLECTION, null).length, index.countByPublisher(publisher));
+        }
+        assertEquals(0, index.countByPublisher(UNKNOWN_PUBLISHER));
+    }
+
+    // ==================== AUXILIARES ====================
+
+    /**
+     * Compara cada combinación de rareza, editorial, orden y restricción de búsqueda
+     */
+    private static void assertAllFiltersMatch(User user, Random random) {
+        CollectionIndex index = user.getCollectionIndex();
+        List<Rarity> rarities = new ArrayList<>(Arrays.asList(Rarity.values()));
+        rarities.add(null);
+        List<String> publishers = new ArrayList<>(index.getPublishers());
+        publishers.add(null);
+        publishers.add(UNKNOWN_PUBLISHER);
+        int[][] searches = {null, randomSubset(random, user.getOwnedCards().size()), new int[0]};
+
+        for (Rarity rarity : rarities) {
+            for (String publisher : publishers) {
+                for (CollectionSortIndex.Order order : CollectionSortIndex.Order.values()) {
+                    for (int[] matches : searches) {
+                        int[] expected = NaiveCollection.filter(user, rarity, publisher, order, matches);
+                        int[] actual = NaiveCollection.positionsOf(user, index.filter(rarity, publisher, order, matches));
+                        assertArrayEquals(rarity + " / " + publisher + " / " + order
+                                + (matches != null ? " / búsqueda" : ""), expected, actual);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Posiciones ascendentes, como las devuelve HeroSearchIndex.search
+     */
+    private static int[] randomSubset(Random random, int size) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (random.nextInt(3) == 0) {
+                positions.add(i);
+            }
+        }
+        int[] result = new int[positions.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = positions.get(i);
+        }
+        return result;
+    }
+
+    private static List<String> ids(List<HeroCard> cards) {
+        List<String> ids = new ArrayList<>();
+        for (HeroCard card : cards) {
+            ids.add(card.getId());
+        }
+        return ids;
+    }
+}
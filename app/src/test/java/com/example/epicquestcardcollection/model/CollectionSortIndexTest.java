@@ -0,0 +1,204 @@
+package com.example.epicquestcardcollection.model;
+
+import com.example.epicquestcardcollection.model.CollectionSortIndex.Order;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * Las permutaciones (rangos empaquetados en long[], inserción incremental y orden
+ * de subconjuntos) deben coincidir con ordenar la colección con un comparador.
+ */
+public class CollectionSortIndexTest {
+
+    private final List<OwnedCard> owned = new ArrayList<>();
+    private final CollectionSortIndex index = new CollectionSortIndex(owned);
+
+    // ==================== CONSTRUCCIÓN ====================
+
+    @Test
+    public void power_extremeTotalsSortLikeComparator() {
+        // ~totalPower deja rangos negativos; los extremos no deben desbordar el empaquetado
+        int[] totals = {0, Integer.MAX_VALUE, -1, 600, Integer.MIN_VALUE, 0, 1, Integer.MAX_VALUE, -600, 1};
+        for (int total : totals) {
+            HeroCard hero = hero("Hero", 1000);
+            hero.setTotalPower(total);
+            owned.add(new OwnedCard(hero, 1000, 1000, 1));
+        }
+
+        assertMatchesComparator(Order.POWER);
+    }
+
+    @Test
+    public void obtained_duplicateTimesKeepCollectionOrder() {
+        long[] times = {5, 1, 5, 0, 9, 1, 1, Long.MAX_VALUE, 0, 9};
+        for (long time : times) {
+            owned.add(new OwnedCard(hero("Hero", time), time, time, 1));
+        }
+
+        assertMatchesComparator(Order.OBTAINED);
+    }
+
+    @Test
+    public void name_equalCollationKeysKeepCollectionOrder() {
+        // Con Collator.PRIMARY estos nombres empatan por grupos
+        String[] names = {"batman", "Zoë", "Bátman", "zoe", "BATMAN", "Ángel", "angel", "", "Zoe", null, "Batman"};
+        for (String name : names) {
+            owned.add(new OwnedCard(hero(name, 1000), 1000, 1000, 1));
+        }
+
+        assertMatchesComparator(Order.NAME);
+    }
+
+    @Test
+    public void randomCollections_matchComparatorSort() {
+        for (int seed = 0; seed < 30; seed++) {
+            Random random = new Random(seed);
+            User user = NaiveCollection.randomUser(random, random.nextInt(300));
+            List<OwnedCard> cards = user.getOwnedCards();
+            CollectionSortIndex sorted = new CollectionSortIndex(cards);
+
+            for (Order order : Order.values()) {
+                assertArrayEquals(order + " semilla " + seed,
+                        expected(cards, order), sorted.getPermutation(order));
+            }
+        }
+    }
+
+    // ==================== ACTUALIZACIÓN ====================
+
+    @Test
+    public void insertAfterBuild_matchesFreshSort() {
+        Random random = new Random(21);
+        User source = NaiveCollection.randomUser(random, 200);
+        List<OwnedCard> cards = source.getOwnedCards();
+        for (int i = 0; i < 20; i++) {
+            owned.add(cards.get(i));
+        }
+        for (Order order : Order.values()) {
+            index.getPermutation(order);
+        }
+
+        for (int i = 20; i < cards.size(); i++) {
+            owned.add(cards.get(i));
+            index.onHeroAdded(i);
+            for (Order order : Order.values()) {
+                assertArrayEquals(order + " tras agregar " + i, expected(owned, order), index.getPermutation(order));
+            }
+        }
+    }
+
+    @Test
+    public void insert_returnsNewArrayLeavingPreviousPermutationIntact() {
+        for (int i = 0; i < 5; i++) {
+            owned.add(new OwnedCard(hero("Hero " + i, 1000 + i), 1000 + i, 1000 + i, 1));
+        }
+        int[] before = index.getPermutation(Order.OBTAINED);
+        int[] snapshot = before.clone();
+
+        owned.add(new OwnedCard(hero("Nuevo", 5000), 5000, 5000, 1));
+        index.onHeroAdded(5);
+
+        assertArrayEquals(snapshot, before);
+        assertNotSame(before, index.getPermutation(Order.OBTAINED));
+        assertArrayEquals(new int[] {5, 4, 3, 2, 1, 0}, index.getPermutation(Order.OBTAINED));
+    }
+
+    @Test
+    public void earlierCopy_rebuildsObtainedOrder() {
+        for (int i = 0; i < 6; i++) {
+            owned.add(new OwnedCard(hero("Hero " + i, 1000 + i), 1000 + i, 1000 + i, 1));
+        }
+        index.getPermutation(Order.OBTAINED);
+
+        owned.get(5).addCopy(10);
+        index.onObtainedAtChanged();
+
+        assertMatchesComparator(Order.OBTAINED);
+    }
+
+    @Test
+    public void clear_rebuildsOnNextRequest() {
+        for (int i = 0; i < 6; i++) {
+            owned.add(new OwnedCard(hero("Hero " + i, 1000 + i), 1000 + i, 1000 + i, 1));
+        }
+        index.getPermutation(Order.NAME);
+        owned.remove(2);
+        owned.add(0, new OwnedCard(hero("Aaron", 1), 1, 1, 1));
+
+        index.clear();
+
+        for (Order order : Order.values()) {
+            assertMatchesComparator(order);
+        }
+    }
+
+    // ==================== SUBCONJUNTOS ====================
+
+    @Test
+    public void sortSubset_matchesComparatorSortOfSubset() {
+        Random random = new Random(33);
+        User user = NaiveCollection.randomUser(random, 250);
+        List<OwnedCard> cards = user.getOwnedCards();
+        CollectionSortIndex sorted = new CollectionSortIndex(cards);
+
+        for (int round = 0; round < 20; round++) {
+            List<Integer> subset = new ArrayList<>();
+            for (int i = 0; i < cards.size(); i++) {
+                if (random.nextInt(4) == 0) {
+                    subset.add(i);
+                }
+            }
+            int[] positions = new int[subset.size() + 3];
+            for (int i = 0; i < subset.size(); i++) {
+                positions[i] = subset.get(i);
+            }
+            for (Order order : Order.values()) {
+                List<Integer> expected = new ArrayList<>(subset);
+                expected.sort(NaiveCollection.comparator(cards, order));
+
+                // Solo cuentan las primeras size posiciones del arreglo
+                assertArrayEquals(order.name(), toArray(expected), sorted.sortSubset(order, positions, subset.size()));
+            }
+        }
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private void assertMatchesComparator(Order order) {
+        assertArrayEquals(order.name(), expected(owned, order), index.getPermutation(order));
+    }
+
+    private static int[] expected(List<OwnedCard> cards, Order order) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < cards.size(); i++) {
+            positions.add(i);
+        }
+        positions.sort(NaiveCollection.comparator(cards, order));
+        return toArray(positions);
+    }
+
+    /**
+     * Entrada de catálogo sin internar: las pruebas controlan poder y nombre
+     */
+    private static HeroCard hero(String name, long obtainedAt) {
+        HeroCard hero = new HeroCard("sort-" + name, name, "Full - Marvel Comics", "url",
+                new PowerStats(10, 20, 30, 40, 50, 60));
+        hero.setObtainedAt(obtainedAt);
+        return hero;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.epicquestcardcollection.model;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Los candidatos por trigramas y su confirmación deben devolver lo mismo que
+ * buscar las palabras en el texto normalizado de cada carta.
+ */
+public class HeroSearchIndexTest {
+
+    private static final AtomicInteger HEROES = new AtomicInteger();
+    private static final String[] QUERIES = {
+            "b", "ba", "BAT", "man", "an", "spi man", "spider-man peter", "ángel", "ANGEL", "zo",
+            "zoe", "iii", "null", "emma fro", "e", "x", "bruce batman", "  -- ", "",
+    };
+
+    private final ExecutorService io = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-io"));
+    private final User user = new User("ana", "pw", "ana@example.com");
+
+    @After
+    public void tearDown() {
+        io.shutdownNow();
+    }
+
+    // ==================== PREFIJOS ====================
+
+    @Test
+    public void shortTokens_matchOnlyWordStarts() {
+        add("Batman", "Bruce Wayne");
+        add("Robin", "Dick Grayson");
+        add("Bane", "");
+        add("Abe Sapien", "Langdon Caul");
+        add("Ant-Man", "Scott Lang");
+
+        // "^^b" y "^ba": la b de Robin y de Abe no está al inicio de una palabra
+        assertArrayEquals(new int[] {0, 2}, search("b"));
+        assertArrayEquals(new int[] {0, 2}, search("ba"));
+        // "an" dentro de Batman o Langdon no cuenta; "lang" sí es subcadena de Langdon
+        assertArrayEquals(new int[] {4}, search("an"));
+        assertArrayEquals(new int[] {3, 4}, search("lang"));
+    }
+
+    @Test
+    public void longTokens_matchSubstrings() {
+        add("Batman", "Bruce Wayne");
+        add("Superman", "Clark Kent");
+        add("Ant-Man", "Scott Lang");
+        add("Robin", "Dick Grayson");
+
+        assertArrayEquals(new int[] {0, 1, 2}, search("man"));
+        assertArrayEquals(new int[] {0}, search("ayn"));
+        assertArrayEquals(new int[] {3}, search("ays"));
+    }
+
+    @Test
+    public void candidatesWithTrigramsOutOfOrder_areDiscarded() {
+        add("Aaa", "");
+        add("Abab", "");
+
+        // Comparten todos los trigramas de la consulta pero no la contienen
+        assertArrayEquals(new int[0], search("aaaa"));
+        assertArrayEquals(new int[0], search("babab"));
+        assertArrayEquals(new int[] {1}, search("abab"));
+    }
+
+    // ==================== VARIAS PALABRAS ====================
+
+    @Test
+    public void multipleTokens_mustAllMatch() {
+        add("Spider-Man", "Peter Parker");
+        add("Batman", "Bruce Wayne");
+        add("Spider-Woman", "Jessica Drew");
+
+        assertArrayEquals(new int[] {0, 2}, search("spider"));
+        // "man" también está dentro de "woman"
+        assertArrayEquals(new int[] {0, 2}, search("spi man"));
+        assertArrayEquals(new int[] {0}, search("spider pe"));
+        assertArrayEquals(new int[] {0}, search("man peter"));
+        assertArrayEquals(new int[] {2}, search("woman j"));
+        assertArrayEquals(new int[0], search("bat peter"));
+    }
+
+    @Test
+    public void emptyQuery_returnsNullWithoutRestriction() {
+        add("Batman", "Bruce Wayne");
+
+        assertNull(search(""));
+        assertNull(search(null));
+        assertNull(search(" -- !"));
+    }
+
+    // ==================== NORMALIZACIÓN ====================
+
+    @Test
+    public void normalize_foldsCaseAccentsAndSeparators() {
+        assertEquals("emma frost", HeroSearchIndex.normalize("Émma Frost"));
+        assertEquals("zoe", HeroSearchIndex.normalize("Zoë"));
+        assertEquals("spider man", HeroSearchIndex.normalize("Spider-Man"));
+        assertEquals("angel", HeroSearchIndex.normalize("  ÁNGEL!! "));
+        assertEquals("warren worthington iii", HeroSearchIndex.normalize("Warren  Worthington III"));
+        assertEquals("", HeroSearchIndex.normalize(null));
+    }
+
+    @Test
+    public void accentedQueries_matchUnaccentedNamesAndBack() {
+        add("Émma Frost", "Emma Grace Frost");
+        add("Angel", "Warren Worthington III");
+        add("Zoë", "");
+
+        assertArrayEquals(new int[] {0}, search("EMMÄ"));
+        assertArrayEquals(new int[] {1}, search("ángel"));
+        assertArrayEquals(new int[] {2}, search("zoe"));
+        assertArrayEquals(new int[] {2}, search("zö"));
+    }
+
+    // ==================== CONSTRUCCIÓN DIFERIDA ====================
+
+    @Test
+    public void cardsAddedAfterFirstSearch_areIndexedByNextSearch() {
+        add("Batman", "Bruce Wayne");
+        assertArrayEquals(new int[] {0}, search("bat"));
+
+        add("Batgirl", "Barbara Gordon");
+        add("Robin", "Dick Grayson");
+
+        assertArrayEquals(new int[] {0, 1}, search("bat"));
+        assertArrayEquals(new int[] {1}, search("gor"));
+    }
+
+    @Test
+    public void removal_reindexesShiftedPositions() {
+        add("Batman", "Bruce Wayne");
+        add("Robin", "Dick Grayson");
+        add("Batgirl", "Barbara Gordon");
+        assertArrayEquals(new int[] {0, 2}, search("bat"));
+
+        user.removeHeroFromCollection(user.getOwnedCards().get(0).getHeroId());
+
+        assertArrayEquals(new int[] {1}, search("bat"));
+        assertArrayEquals(new int[] {0}, search("rob"));
+    }
+
+    @Test
+    public void randomCollections_matchNaiveSearch() {
+        for (int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            User collection = NaiveCollection.randomUser(random, random.nextInt(200));
+            HeroSearchIndex index = collection.getCollectionIndex().getSearchIndex();
+
+            for (String query : queries(collection, random)) {
+                assertArrayEquals("\"" + query + "\" semilla " + seed,
+                        NaiveCollection.search(collection, query), index.search(query));
+            }
+        }
+    }
+
+    // ==================== BÚSQUEDA Y FILTROS ====================
+
+    /**
+     * Mismo camino que CardCollectionActivity: search en el pool de io y sus
+     * posiciones como restricción de CollectionIndex.filter
+     */
+    @Test
+    public void searchOnIoThenFilter_matchesNaiveScan() throws Exception {
+        Random random = new Random(42);
+        User collection = NaiveCollection.randomUser(random, 150);
+        CollectionIndex index = collection.getCollectionIndex();
+        List<Rarity> rarities = new ArrayList<>(Arrays.asList(Rarity.values()));
+        rarities.add(null);
+        List<String> publishers = new ArrayList<>(index.getPublishers());
+        publishers.add(null);
+
+        for (String query : queries(collection, random)) {
+            int[] matches = io.submit(() -> index.getSearchIndex().search(query)).get(5, TimeUnit.SECONDS);
+            int[] expectedMatches = NaiveCollection.search(collection, query);
+
+            for (Rarity rarity : rarities) {
+                for (String publisher : publishers) {
+                    for (CollectionSortIndex.Order order : CollectionSortIndex.Order.values()) {
+                        assertArrayEquals("\"" + query + "\" / " + rarity + " / " + publisher + " / " + order,
+                                NaiveCollection.filter(collection, rarity, publisher, order, expectedMatches),
+                                NaiveCollection.positionsOf(collection,
+                                        index.filter(rarity, publisher, order, matches)));
+                    }
+                }
+            }
+        }
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private int[] search(String query) {
+        return user.getCollectionIndex().getSearchIndex().search(query);
+    }
+
+    /**
+     * Agrega un héroe con id propio; HeroCatalog es compartido entre pruebas
+     */
+    private void add(String name, String fullName) {
+        int id = HEROES.incrementAndGet();
+        HeroCard card = new HeroCard("search-" + id, name, fullName + " - Marvel Comics",
+                "https://example.com/" + id + ".jpg", new PowerStats(10, 20, 30, 40, 50, 60));
+        card.setObtainedAt(1000 + id);
+        user.addCardToCollection(card);
+    }
+
+    /**
+     * Consultas fijas más fragmentos de nombres de la colección
+     */
+    private static List<String> queries(User collection, Random random) {
+        List<String> queries = new ArrayList<>(Arrays.asList(QUERIES));
+        List<HeroCard> cards = collection.getCollection();
+        for (int i = 0; i < 10 && !cards.isEmpty(); i++) {
+            String name = cards.get(random.nextInt(cards.size())).getName();
+            if (name.isEmpty()) {
+                continue;
+            }
+            int start = random.nextInt(name.length());
+            queries.add(name.substring(start, start + 1 + random.nextInt(name.length() - start)));
+        }
+        return queries;
+    }
+}
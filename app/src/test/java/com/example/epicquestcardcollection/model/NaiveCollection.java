@@ -0,0 +1,192 @@
+package com.example.epicquestcardcollection.model;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Versión de referencia de los índices de la colección: recorre y ordena la lista
+ * completa con comparadores, como se hacía antes de los índices. Las pruebas comparan
+ * los índices contra estos resultados sobre colecciones aleatorias.
+ */
+final class NaiveCollection {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    /** Nombres que empatan con Collator.PRIMARY (mayúsculas, acentos) y que no */
+    private static final String[] NAMES = {
+            "Batman", "batman", "Bátman", "Superman", "Spider-Man", "spider man", "Ángel", "Angel",
+            "Zoë", "Zoe", "Ant-Man", "Iron Man", "Ironman", "Émma Frost", "Wolverine", "",
+    };
+    private static final String[] FULL_NAMES = {
+            "Bruce Wayne", "Clark Kent", "Peter Parker", "Warren Worthington III", "Logan", "null", "",
+    };
+    private static final String[] PUBLISHERS = {
+            "Marvel Comics", "DC Comics", "Dark Horse Comics", "NBC - Heroes", "-", null,
+    };
+
+    private NaiveCollection() {
+        // Clase de utilidades
+    }
+
+    // ==================== DATOS ====================
+
+    /**
+     * Usuario con cartas aleatorias: héroes repetidos (copias, a veces con fecha
+     * anterior), empates de poder, nombre y fecha, héroes sin estadísticas o sin editorial.
+     * Cada usuario usa sus propios ids porque HeroCatalog es compartido.
+     */
+    static User randomUser(Random random, int draws) {
+        String prefix = "naive" + USERS.incrementAndGet() + "-";
+        int heroes = Math.max(1, draws * 2 / 3);
+        User user = new User("ana", "pw", "ana@example.com");
+        for (int i = 0; i < draws; i++) {
+            int hero = random.nextInt(heroes);
+            user.addCardToCollection(card(prefix, hero, 1000 + random.nextInt(20)));
+        }
+        return user;
+    }
+
+    /**
+     * Los datos de un héroe dependen solo de su número, como los de la API
+     */
+    static HeroCard card(String prefix, int hero, long obtainedAt) {
+        Random data = new Random(hero);
+        String publisher = PUBLISHERS[data.nextInt(PUBLISHERS.length)];
+        String fullName = FULL_NAMES[data.nextInt(FULL_NAMES.length)];
+        String biography = publisher != null ? fullName + " - " + publisher : fullName;
+        PowerStats stats = data.nextInt(10) == 0 ? null : new PowerStats(
+                stat(data), stat(data), stat(data), stat(data), stat(data), stat(data));
+        HeroCard card = new HeroCard(prefix + hero, NAMES[data.nextInt(NAMES.length)], biography,
+                "https://example.com/" + hero + ".jpg", stats);
+        card.setObtainedAt(obtainedAt);
+        return card;
+    }
+
+    /**
+     * Pocos valores distintos para que haya empates de poder total
+     */
+    private static int stat(Random random) {
+        return random.nextInt(11) * 10;
+    }
+
+    // ==================== REFERENCIA ====================
+
+    /**
+     * Posiciones que cumplen los filtros, ordenadas con un comparador
+     */
+    static int[] filter(User user, Rarity rarity, String publisher, CollectionSortIndex.Order order,
+                        int[] matches) {
+        List<OwnedCard> owned = user.getOwnedCards();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < owned.size(); i++) {
+            HeroCard hero = owned.get(i).getHero();
+            if (rarity != null && hero.getRarityLevel() != rarity) {
+                continue;
+            }
+            if (publisher != null && !publisher.equals(hero.getPublisher())) {
+                continue;
+            }
+            if (matches != null && Arrays.binarySearch(matches, i) < 0) {
+                continue;
+            }
+            positions.add(i);
+        }
+        positions.sort(comparator(owned, order));
+        return toArray(positions);
+    }
+
+    /**
+     * Comparador de cada orden; a igual clave manda la posición en la colección
+     */
+    static Comparator<Integer> comparator(List<OwnedCard> owned, CollectionSortIndex.Order order) {
+        Collator collator = Collator.getInstance();
+        collator.setStrength(Collator.PRIMARY);
+        Comparator<Integer> byKey;
+        switch (order) {
+            case POWER:
+                byKey = (a, b) -> Integer.compare(
+                        owned.get(b).getHero().getTotalPower(), owned.get(a).getHero().getTotalPower());
+                break;
+            case NAME:
+                byKey = (a, b) -> collator.compare(name(owned.get(a)), name(owned.get(b)));
+                break;
+            case OBTAINED:
+                byKey = (a, b) -> Long.compare(
+                        owned.get(b).getFirstObtainedAt(), owned.get(a).getFirstObtainedAt());
+                break;
+            default:
+                byKey = (a, b) -> 0;
+                break;
+        }
+        return byKey.thenComparing(Comparator.naturalOrder());
+    }
+
+    /**
+     * Posiciones de la colección cuyo nombre o nombre completo contiene todas las
+     * palabras (las de una o dos letras, como prefijo de palabra)
+     */
+    static int[] search(User user, String query) {
+        String normalized = HeroSearchIndex.normalize(query);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        List<OwnedCard> owned = user.getOwnedCards();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < owned.size(); i++) {
+            HeroCard hero = owned.get(i).getHero();
+            String text = " " + HeroSearchIndex.normalize(hero.getName()) + " "
+                    + HeroSearchIndex.normalize(hero.getFullName()) + " ";
+            boolean all = true;
+            for (String token : normalized.split(" ")) {
+                boolean found = token.length() < 3 ? text.contains(" " + token) : text.contains(token);
+                if (!found) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                positions.add(i);
+            }
+        }
+        return toArray(positions);
+    }
+
+    // ==================== AUXILIARES ====================
+
+    /**
+     * Posición en la colección de cada carta de una vista de filtro
+     */
+    static int[] positionsOf(User user, List<HeroCard> cards) {
+        List<OwnedCard> owned = user.getOwnedCards();
+        Map<String, Integer> positionById = new HashMap<>();
+        for (int p = 0; p < owned.size(); p++) {
+            positionById.put(owned.get(p).getHeroId(), p);
+        }
+        int[] positions = new int[cards.size()];
+        for (int i = 0; i < positions.length; i++) {
+            Integer position = positionById.get(cards.get(i).getId());
+            positions[i] = position != null ? position : -1;
+        }
+        return positions;
+    }
+
+    private static String name(OwnedCard owned) {
+        String name = owned.getHero().getName();
+        return name != null ? name : "";
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+}
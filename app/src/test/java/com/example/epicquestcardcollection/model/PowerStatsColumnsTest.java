@@ -0,0 +1,247 @@
+package com.example.epicquestcardcollection.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PowerStatsColumnsTest {
+
+    private static final AtomicInteger RUNS = new AtomicInteger();
+
+    /**
+     * HeroCatalog es compartido y conserva el primer héroe visto con cada id:
+     * cada prueba usa sus propios ids para no heredar estadísticas de otra
+     */
+    private final String idPrefix = "columns" + RUNS.incrementAndGet() + "-";
+
+    // ==================== SINCRONÍA CON USER ====================
+
+    @Test
+    public void newHeroes_areAppendedInCollectionOrder() {
+        User user = new User("ana", "pw", "ana@example.com");
+        user.addCardToCollection(hero("1", 10, 20, 30, 40, 50, 60));
+        user.addCardToCollection(hero("2", 1, 2, 3, 4, 5, 6));
+
+        assertColumnsMatchCollection(user);
+        assertEquals(60, user.getStatsColumns().get(Stat.COMBAT, 0));
+        assertEquals(2, user.getStatsColumns().get(Stat.STRENGTH, 1));
+    }
+
+    @Test
+    public void repeatedHero_doesNotAddARow() {
+        User user = new User("ana", "pw", "ana@example.com");
+        user.addCardToCollection(hero("1", 10, 20, 30, 40, 50, 60));
+        user.addCardToCollection(hero("1", 10, 20, 30, 40, 50, 60));
+
+        assertEquals(1, user.getStatsColumns().size());
+        assertColumnsMatchCollection(user);
+    }
+
+    @Test
+    public void removedHero_shiftsFollowingRows() {
+        User user = userWithHeroes(5);
+
+        user.removeHeroFromCollection(idPrefix + "h2");
+        assertColumnsMatchCollection(user);
+        user.removeHeroFromCollection(idPrefix + "h0");
+        assertColumnsMatchCollection(user);
+        user.removeHeroFromCollection(idPrefix + "h4");
+        assertColumnsMatchCollection(user);
+
+        assertEquals(2, user.getStatsColumns().size());
+        assertEquals(idPrefix + "h1", user.getStatsColumns().getHeroId(0));
+        assertEquals(idPrefix + "h3", user.getStatsColumns().getHeroId(1));
+    }
+
+    @Test
+    public void removingUnknownHero_leavesColumnsUntouched() {
+        User user = userWithHeroes(3);
+
+        user.removeHeroFromCollection("nadie");
+
+        assertEquals(3, user.getStatsColumns().size());
+        assertColumnsMatchCollection(user);
+    }
+
+    @Test
+    public void replacingCollection_rebuildsColumns() {
+        User user = userWithHeroes(4);
+
+        user.setCollection(Arrays.asList(hero("x", 9, 9, 9, 9, 9, 9), hero("y", 1, 1, 1, 1, 1, 1)));
+        assertEquals(2, user.getStatsColumns().size());
+        assertColumnsMatchCollection(user);
+
+        user.setOwnedCards(new ArrayList<>(userWithHeroes(3).getOwnedCards()));
+        assertEquals(3, user.getStatsColumns().size());
+        assertColumnsMatchCollection(user);
+
+        user.setCollection(null);
+        assertEquals(0, user.getStatsColumns().size());
+    }
+
+    @Test
+    public void heroWithoutStats_hasZeroRow() {
+        User user = new User("ana", "pw", "ana@example.com");
+        user.addCardToCollection(new HeroCard(idPrefix + "1", "Sin stats", "bio", "url", null));
+
+        for (Stat stat : Stat.values()) {
+            assertEquals(0, user.getStatsColumns().get(stat, 0));
+        }
+    }
+
+    @Test
+    public void randomAddsAndRemoves_stayInSync() {
+        Random random = new Random(42);
+        User user = new User("ana", "pw", "ana@example.com");
+        for (int step = 0; step < 2000; step++) {
+            String id = "h" + random.nextInt(200);
+            if (random.nextInt(3) == 0) {
+                user.removeHeroFromCollection(idPrefix + id);
+            } else {
+                user.addCardToCollection(hero(id, random));
+            }
+        }
+
+        assertColumnsMatchCollection(user);
+    }
+
+    // ==================== AGREGADOS ====================
+
+    @Test
+    public void emptyColumns_averageMaxAndTopKAreZero() {
+        PowerStatsColumns columns = new PowerStatsColumns();
+
+        for (Stat stat : Stat.values()) {
+            assertEquals(0, columns.average(stat));
+            assertEquals(0, columns.max(stat));
+            assertEquals(0L, columns.sum(stat));
+            assertEquals(0, columns.topK(stat, 5).length);
+        }
+    }
+
+    @Test
+    public void averageTruncatesAndMaxMatchesBruteForce() {
+        User user = userWithHeroes(37);
+        List<HeroCard> collection = user.getCollection();
+
+        for (Stat stat : Stat.values()) {
+            long sum = 0;
+            int max = 0;
+            for (HeroCard card : collection) {
+                sum += card.getStat(stat);
+                max = Math.max(max, card.getStat(stat));
+            }
+            assertEquals(stat.name(), sum, user.getStatsColumns().sum(stat));
+            assertEquals(stat.name(), (int) (sum / collection.size()), user.getStatsColumns().average(stat));
+            assertEquals(stat.name(), max, user.getStatsColumns().max(stat));
+        }
+    }
+
+    @Test
+    public void averageAndMax_followRemovals() {
+        PowerStatsColumns columns = new PowerStatsColumns();
+        columns.append(hero("1", 100, 0, 0, 0, 0, 0));
+        columns.append(hero("2", 10, 0, 0, 0, 0, 0));
+        columns.append(hero("3", 5, 0, 0, 0, 0, 0));
+
+        columns.remove(0);
+
+        assertEquals(7, columns.average(Stat.INTELLIGENCE));
+        assertEquals(10, columns.max(Stat.INTELLIGENCE));
+    }
+
+    @Test
+    public void topK_returnsHighestValuesInDescendingOrder() {
+        PowerStatsColumns columns = new PowerStatsColumns();
+        int[] strengths = {40, 90, 10, 70, 90, 0, 55};
+        for (int i = 0; i < strengths.length; i++) {
+            columns.append(hero("h" + i, 0, strengths[i], 0, 0, 0, 0));
+        }
+
+        int[] top = columns.topK(Stat.STRENGTH, 3);
+
+        assertArrayEquals(new int[] {90, 90, 70}, values(columns, Stat.STRENGTH, top));
+        assertEquals(3, top[2]);
+    }
+
+    @Test
+    public void topK_largerThanSizeReturnsEverythingSorted() {
+        PowerStatsColumns columns = new PowerStatsColumns();
+        columns.append(hero("a", 0, 0, 5, 0, 0, 0));
+        columns.append(hero("b", 0, 0, 50, 0, 0, 0));
+        columns.append(hero("c", 0, 0, 20, 0, 0, 0));
+
+        assertArrayEquals(new int[] {1, 2, 0}, columns.topK(Stat.SPEED, 10));
+        assertEquals(0, columns.topK(Stat.SPEED, 0).length);
+    }
+
+    @Test
+    public void topK_matchesFullSortOnRandomData() {
+        User user = userWithHeroes(500);
+        PowerStatsColumns columns = user.getStatsColumns();
+
+        for (Stat stat : Stat.values()) {
+            int[] sorted = new int[columns.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = columns.get(stat, i);
+            }
+            Arrays.sort(sorted);
+            int[] expected = new int[25];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = sorted[sorted.length - 1 - i];
+            }
+
+            assertArrayEquals(stat.name(), expected, values(columns, stat, columns.topK(stat, 25)));
+        }
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private HeroCard hero(String id, int intelligence, int strength, int speed,
+                          int durability, int power, int combat) {
+        return new HeroCard(idPrefix + id, "Hero " + id, "Full " + id + " - Marvel Comics", "url",
+                new PowerStats(intelligence, strength, speed, durability, power, combat));
+    }
+
+    private HeroCard hero(String id, Random random) {
+        return hero(id, random.nextInt(101), random.nextInt(101), random.nextInt(101),
+                random.nextInt(101), random.nextInt(101), random.nextInt(101));
+    }
+
+    private User userWithHeroes(int count) {
+        Random random = new Random(count);
+        User user = new User("ana", "pw", "ana@example.com");
+        for (int i = 0; i < count; i++) {
+            user.addCardToCollection(hero("h" + i, random));
+        }
+        return user;
+    }
+
+    private static int[] values(PowerStatsColumns columns, Stat stat, int[] positions) {
+        int[] values = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            values[i] = columns.get(stat, positions[i]);
+        }
+        return values;
+    }
+
+    private static void assertColumnsMatchCollection(User user) {
+        List<HeroCard> collection = user.getCollection();
+        PowerStatsColumns columns = user.getStatsColumns();
+        assertEquals(collection.size(), columns.size());
+        for (int i = 0; i < collection.size(); i++) {
+            HeroCard card = collection.get(i);
+            assertEquals(card.getId(), columns.getHeroId(i));
+            for (Stat stat : Stat.values()) {
+                assertEquals(card.getId() + " " + stat, card.getStat(stat), columns.get(stat, i));
+            }
+        }
+    }
+}